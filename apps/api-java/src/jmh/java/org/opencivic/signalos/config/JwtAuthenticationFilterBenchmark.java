@@ -0,0 +1,81 @@
+package org.opencivic.signalos.config;
+
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.opencivic.signalos.security.PrincipalCache;
+import org.opencivic.signalos.service.JwtService;
+import org.opencivic.signalos.service.JwtServiceBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Full filter pass for a bearer-token request: parse, user lookup, validation and security context setup, with
+ * and without the principal cache. The user lookup is an in-memory lambda, so the uncached numbers exclude the
+ * database round trip the cache saves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = JwtServiceBenchmark.jwtService();
+        UserDetails user = User.withUsername("citizen").password("unused").roles("CITIZEN").build();
+        filter = new JwtAuthenticationFilter(jwtService, username -> user, new PrincipalCache(10_000, 900_000));
+        // A zero-sized cache never stores an entry.
+        uncachedFilter = new JwtAuthenticationFilter(jwtService, username -> user, new PrincipalCache(0, 900_000));
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws ServletException, IOException {
+        return run(filter, authorization);
+    }
+
+    @Benchmark
+    public int uncachedRequest() throws ServletException, IOException {
+        return run(uncachedFilter, authorization);
+    }
+
+    @Benchmark
+    public int rejectedToken() throws ServletException, IOException {
+        return run(filter, authorization + "x");
+    }
+
+    private int run(JwtAuthenticationFilter filter, String header) throws ServletException, IOException {
+        // A fresh request each time: OncePerRequestFilter marks the request as already filtered.
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/signals/prioritized");
+        request.setServletPath("/api/signals/prioritized");
+        request.addHeader("Authorization", header);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.opencivic.signalos.service;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.repository.SignalRepository;
+
+/**
+ * Deterministic signal fixtures and an in-memory {@link SignalRepository} for benchmarks that
+ * exercise services without a database. Only the read methods the benchmarked paths call are backed.
+ */
+public final class BenchmarkSignals {
+
+    private static final String[] PLACES = {
+        "Main Street", "Elm Avenue", "Calle 45", "Parque Central", "School Road", "Río Bogotá bridge",
+        "Carrera 7", "Harbor Lane", "Plaza Mayor", "North Market"
+    };
+    private static final String[] ISSUES = {
+        "Pothole", "Broken streetlight", "Flooded drain", "Missing crosswalk paint", "Fallen tree", "Garbage pile",
+        "Damaged bench", "Blocked sidewalk"
+    };
+    private static final String[] QUALIFIERS = {
+        "near the school", "since last week", "blocking traffic", "again!", "(urgent)", "at night"
+    };
+    private static final String[] CATEGORIES = {"infrastructure", "safety", "environment", "mobility"};
+    private static final String[] STATUSES = {"NEW", "NEW", "IN_PROGRESS", "RESOLVED"};
+
+    private BenchmarkSignals() {
+    }
+
+    public static List<Signal> generate(int count, int communities, long seed) {
+        Random random = new Random(seed);
+        UUID[] communityIds = new UUID[communities];
+        for (int i = 0; i < communities; i++) {
+            communityIds[i] = new UUID(0x5167L, i);
+        }
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        List<Signal> signals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = ISSUES[random.nextInt(ISSUES.length)] + " on "
+                + PLACES[random.nextInt(PLACES.length)] + " #" + (1 + random.nextInt(Math.max(1, count / 4))) + " "
+                + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+            Signal signal = new Signal(
+                new UUID(seed, i), title, "Reported by a neighbour, \"needs attention\"",
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                1 + random.nextInt(5), 1 + random.nextInt(5), random.nextInt(500), random.nextInt(100),
+                0.0, null, STATUSES[random.nextInt(STATUSES.length)], new ArrayList<>(),
+                null, base.plusMinutes(i), communityIds[random.nextInt(communities)]
+            );
+            signals.add(signal);
+        }
+        return signals;
+    }
+
+    public static SignalRepository repository(List<Signal> signals) {
+        Map<UUID, Signal> byId = new LinkedHashMap<>();
+        signals.forEach(signal -> byId.put(signal.getId(), signal));
+        return (SignalRepository) Proxy.newProxyInstance(
+            SignalRepository.class.getClassLoader(),
+            new Class<?>[] {SignalRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findAll" -> {
+                    if (args != null && args.length > 0) {
+                        throw new UnsupportedOperationException("findAll(" + method.getParameterTypes()[0].getSimpleName() + ")");
+                    }
+                    yield new ArrayList<>(byId.values());
+                }
+                case "findById" -> Optional.ofNullable(byId.get((UUID) args[0]));
+                case "findAllById" -> {
+                    List<Signal> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        Signal signal = byId.get((UUID) id);
+                        if (signal != null) {
+                            found.add(signal);
+                        }
+                    }
+                    yield found;
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "BenchmarkSignalRepository(" + byId.size() + ")";
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package org.opencivic.signalos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opencivic.signalos.domain.Signal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-row cost of the CSV export (scoring, trust hash and formatting) with the rows already loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvExportBenchmark {
+
+    static final int ROWS = 1000;
+
+    private ExportService exportService;
+    private List<Signal> signals;
+
+    @Setup
+    public void setUp() {
+        signals = BenchmarkSignals.generate(ROWS, 4, 13L);
+        exportService = new ExportService(
+            null, new PrioritizationServiceBuilder().build(), null, new ObjectMapper(), null, 1, 5000
+        );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long exportRow() throws IOException {
+        return exportService.writeCsv(signals.stream(), OutputStream.nullOutputStream(), signal -> { });
+    }
+}
@@ -0,0 +1,54 @@
+package org.opencivic.signalos.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.opencivic.signalos.domain.Signal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end duplicate search over an in-memory repository: candidate index, batch load, fingerprinting
+ * and clustering. Signals are spread over eight communities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FindDuplicatesBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int signals;
+
+    private DuplicateDetectionEngine engine;
+    private UUID communityId;
+
+    @Setup
+    public void setUp() {
+        List<Signal> fixtures = BenchmarkSignals.generate(signals, 8, 11L);
+        engine = new DuplicateDetectionEngine(BenchmarkSignals.repository(fixtures));
+        fixtures.forEach(engine::index);
+        communityId = fixtures.get(0).getCommunityId();
+    }
+
+    @Benchmark
+    public Object global() {
+        return engine.findDuplicates(null);
+    }
+
+    @Benchmark
+    public Object community() {
+        return engine.findDuplicates(communityId);
+    }
+}
@@ -0,0 +1,56 @@
+package org.opencivic.signalos.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opencivic.signalos.domain.Signal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-signal cost of the prioritization formula, as paid by every page served and every index update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    static final int SIGNALS = 1024;
+
+    private ScoringFormula formula;
+    private List<Signal> signals;
+
+    @Setup
+    public void setUp() {
+        signals = BenchmarkSignals.generate(SIGNALS, 4, 7L);
+        formula = ScoringFormula.defaults();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIGNALS)
+    public void calculateScore(Blackhole blackhole) {
+        for (Signal signal : signals) {
+            blackhole.consume(formula.score(signal));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIGNALS)
+    public void getBreakdown(Blackhole blackhole) {
+        for (Signal signal : signals) {
+            blackhole.consume(formula.breakdown(signal));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.opencivic.signalos.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.opencivic.signalos.domain.Signal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-pair cost of the duplicate check: the original regex + full-matrix implementation
+ * against the fingerprint kernel in {@link TitleSimilarity}. Recorded scores live in src/jmh/baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TitleSimilarityBenchmark {
+
+    static final int TITLES = 64;
+    static final int PAIRS = TITLES * (TITLES - 1) / 2;
+
+    private static final String[] PLACES = {
+        "Main Street", "Elm Avenue", "Calle 45", "Parque Central", "School Road", "Río Bogotá bridge"
+    };
+    private static final String[] ISSUES = {
+        "Pothole", "Broken streetlight", "Flooded drain", "Missing crosswalk paint", "Fallen tree", "Garbage pile"
+    };
+    private static final String[] QUALIFIERS = {
+        "near the school", "since last week", "blocking traffic", "again!", "(urgent)", "at night"
+    };
+
+    private Signal[] signals;
+    private TitleSimilarity.Fingerprint[] fingerprints;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        signals = new Signal[TITLES];
+        fingerprints = new TitleSimilarity.Fingerprint[TITLES];
+        for (int i = 0; i < TITLES; i++) {
+            String title = ISSUES[random.nextInt(ISSUES.length)] + " on "
+                + PLACES[random.nextInt(PLACES.length)] + " "
+                + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+            signals[i] = signal(title);
+            fingerprints[i] = TitleSimilarity.fingerprint(signals[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void legacyPerPair(Blackhole blackhole) {
+        for (int i = 0; i < TITLES; i++) {
+            for (int j = i + 1; j < TITLES; j++) {
+                blackhole.consume(LegacyTitleRules.isSimilar(signals[i], signals[j]));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void kernelPerPair(Blackhole blackhole) {
+        for (int i = 0; i < TITLES; i++) {
+            for (int j = i + 1; j < TITLES; j++) {
+                blackhole.consume(TitleSimilarity.isSimilar(fingerprints[i], fingerprints[j]));
+            }
+        }
+    }
+
+    // Includes fingerprinting every title once, as findDuplicates does for each candidate set.
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void kernelPerPairWithFingerprinting(Blackhole blackhole) {
+        TitleSimilarity.Fingerprint[] fresh = new TitleSimilarity.Fingerprint[TITLES];
+        for (int i = 0; i < TITLES; i++) {
+            fresh[i] = TitleSimilarity.fingerprint(signals[i]);
+        }
+        for (int i = 0; i < TITLES; i++) {
+            for (int j = i + 1; j < TITLES; j++) {
+                blackhole.consume(TitleSimilarity.isSimilar(fresh[i], fresh[j]));
+            }
+        }
+    }
+
+    static Signal signal(String title) {
+        return new Signal(
+            UUID.randomUUID(), title, "benchmark", "infrastructure",
+            3, 3, 10, 0, 0.0, null, "NEW", new ArrayList<>(), UUID.randomUUID(), LocalDateTime.now()
+        );
+    }
+}
@@ -4,7 +4,12 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.opencivic.signalos.security.AccessClaims;
+import org.opencivic.signalos.security.AccessClaimsAuthenticationToken;
+import org.opencivic.signalos.security.AccountDetails;
+import org.opencivic.signalos.security.PrincipalCache;
 import org.opencivic.signalos.service.JwtService;
+import org.opencivic.signalos.service.VerifiedToken;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,6 +27,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     // P1-7: Definición explícita de rutas públicas para evitar bypass
     private static final List<String> PUBLIC_URLS = List.of(
@@ -33,9 +39,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         "/actuator/health"
     );
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, PrincipalCache principalCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -55,7 +62,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -64,15 +70,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            username = jwtService.extractUsername(jwt);
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+            String key = PrincipalCache.key(jwt);
+            if (principalCache.isRevoked(key)) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Steady state: a cached token skips both the signature check and the users query.
+                PrincipalCache.Entry entry = principalCache.get(key);
+                if (entry == null) {
+                    long generation = principalCache.generation();
+                    VerifiedToken token = jwtService.verify(jwt);
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
+                    entry = principalCache.put(key, token.claims(), userDetails, generation);
+                }
+                UserDetails userDetails = entry.principal();
+                AccessClaims access = entry.access();
+                if (access != null && !(userDetails instanceof AccountDetails account
+                        && account.getMembershipVersion() == access.membershipVersion())) {
+                    // Memberships changed since the token was minted; the client refreshes it to get current claims.
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    return;
+                }
+                if (userDetails.isEnabled()) {
+                    UsernamePasswordAuthenticationToken authToken = access == null
+                            ? new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())
+                            : new AccessClaimsAuthenticationToken(userDetails, userDetails.getAuthorities(), access);
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -0,0 +1,92 @@
+package org.opencivic.signalos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.opencivic.signalos.security.RateLimitPolicy;
+import org.opencivic.signalos.service.RateLimitService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Applies the path-based rate limit policies. Runs after JwtAuthenticationFilter so per-user policies see the
+ * authenticated username; every matching policy must allow the request, otherwise it is answered with 429 and a
+ * Retry-After in seconds. The client address is the servlet's remote address, so deployments behind a proxy rely on
+ * server.forward-headers-strategy rather than on headers clients could forge.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+    private final boolean enabled;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitService rateLimitService,
+                           @Value("${application.rate-limit.enabled:true}") boolean enabled) {
+        this.rateLimitService = rateLimitService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitPolicy> entry : rateLimitService.policies().entrySet()) {
+            RateLimitPolicy policy = entry.getValue();
+            if (!matches(policy, request.getMethod(), path)) {
+                continue;
+            }
+            long wait = rateLimitService.acquire(entry.getKey(), key(policy, request));
+            if (wait > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitService.retryAfterSeconds(wait)));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\","
+                    + "\"message\":\"Too many requests. Please wait.\"}");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitPolicy policy, String method, String path) {
+        if (policy.method() != null && !policy.method().equalsIgnoreCase(method)) {
+            return false;
+        }
+        return policy.paths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private static String key(RateLimitPolicy policy, HttpServletRequest request) {
+        String ip = "ip:" + request.getRemoteAddr();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String user = authentication == null || authentication instanceof AnonymousAuthenticationToken
+            ? null
+            : "user:" + authentication.getName();
+        return switch (policy.key()) {
+            case IP -> ip;
+            case USER -> user != null ? user : ip;
+            case USER_AND_IP -> user != null ? user + "|" + ip : ip;
+        };
+    }
+}
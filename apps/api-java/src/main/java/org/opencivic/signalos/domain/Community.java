@@ -1,6 +1,8 @@
 package org.opencivic.signalos.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -27,6 +29,10 @@ public class Community {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Null until a coordinator sets one; signals then score with ScoringProfile.DEFAULT.
+    @Embedded
+    private ScoringProfile scoringProfile;
+
     public UUID getId() {
         return id;
     }
@@ -62,4 +68,13 @@ public class Community {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    @JsonIgnore
+    public ScoringProfile getScoringProfile() {
+        return scoringProfile;
+    }
+
+    public void setScoringProfile(ScoringProfile scoringProfile) {
+        this.scoringProfile = scoringProfile;
+    }
 }
@@ -0,0 +1,66 @@
+package org.opencivic.signalos.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One community feed entry, written in the same transaction as the change it records. Rows are only appended
+ * (and removed with their subject), so a feed page is a single range scan on (community_id, happened_at, id).
+ */
+@Entity
+@Table(name = "community_activity")
+public class CommunityActivity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID communityId;
+
+    @Column(nullable = false)
+    private LocalDateTime happenedAt;
+
+    // Feed item type as clients know it: "signal", "blog" or "thread-update".
+    @Column(nullable = false, length = 32)
+    private String activityType;
+
+    @Column(nullable = false)
+    private UUID subjectId;
+
+    @Column(nullable = false)
+    private String title;
+
+    private String summary;
+
+    protected CommunityActivity() {}
+
+    public CommunityActivity(
+        UUID communityId,
+        LocalDateTime happenedAt,
+        String activityType,
+        UUID subjectId,
+        String title,
+        String summary
+    ) {
+        this.communityId = communityId;
+        this.happenedAt = happenedAt;
+        this.activityType = activityType;
+        this.subjectId = subjectId;
+        this.title = title;
+        this.summary = summary;
+    }
+
+    public UUID getId() { return id; }
+    public UUID getCommunityId() { return communityId; }
+    public LocalDateTime getHappenedAt() { return happenedAt; }
+    public String getActivityType() { return activityType; }
+    public UUID getSubjectId() { return subjectId; }
+    public String getTitle() { return title; }
+    public String getSummary() { return summary; }
+}
@@ -0,0 +1,6 @@
+package org.opencivic.signalos.domain;
+
+// Published inside the transaction that appended the activity row.
+public record CommunityActivityEvent(
+    CommunityActivity activity
+) {}
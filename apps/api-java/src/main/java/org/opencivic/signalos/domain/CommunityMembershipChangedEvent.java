@@ -0,0 +1,11 @@
+package org.opencivic.signalos.domain;
+
+import java.util.UUID;
+
+// Published inside the transaction that created or changed the membership; role is the user's role from now on.
+public record CommunityMembershipChangedEvent(
+    UUID userId,
+    String username,
+    UUID communityId,
+    CommunityRole role
+) {}
@@ -0,0 +1,38 @@
+package org.opencivic.signalos.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Weights and caps of the prioritization formula, stored per community:
+ * urgency * urgencyWeight + impact * impactWeight + min(people / peopleDivisor, peopleCap) + min(votes / votesDivisor, votesCap).
+ */
+@Embeddable
+public record ScoringProfile(
+    @Column(name = "scoring_profile_name", length = 64) String name,
+    @Column(name = "scoring_urgency_weight") double urgencyWeight,
+    @Column(name = "scoring_impact_weight") double impactWeight,
+    @Column(name = "scoring_people_divisor") double peopleDivisor,
+    @Column(name = "scoring_people_cap") double peopleCap,
+    @Column(name = "scoring_votes_divisor") double votesDivisor,
+    @Column(name = "scoring_votes_cap") double votesCap
+) {
+    public static final ScoringProfile DEFAULT = new ScoringProfile("default", 30, 25, 10, 30, 5, 15);
+
+    public ScoringProfile {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Scoring profile name is required");
+        }
+        if (!(peopleDivisor > 0) || !(votesDivisor > 0)) {
+            throw new IllegalArgumentException("Scoring profile divisors must be positive");
+        }
+        if (!(urgencyWeight >= 0) || !(impactWeight >= 0) || !(peopleCap >= 0) || !(votesCap >= 0)) {
+            throw new IllegalArgumentException("Scoring profile weights and caps must be zero or positive");
+        }
+    }
+
+    public ScoringProfile() {
+        this(DEFAULT.name, DEFAULT.urgencyWeight, DEFAULT.impactWeight, DEFAULT.peopleDivisor, DEFAULT.peopleCap,
+            DEFAULT.votesDivisor, DEFAULT.votesCap);
+    }
+}
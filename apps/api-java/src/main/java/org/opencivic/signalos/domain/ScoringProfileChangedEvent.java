@@ -0,0 +1,9 @@
+package org.opencivic.signalos.domain;
+
+import java.util.UUID;
+
+// Published after a community's scoring profile is replaced; a null profile means the default applies again.
+public record ScoringProfileChangedEvent(
+    UUID communityId,
+    ScoringProfile profile
+) {}
@@ -8,6 +8,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "signals")
+@EntityListeners(SignalLifecycleListener.class)
 public class Signal {
     @Id
     private UUID id;
@@ -29,6 +30,9 @@ public class Signal {
         @AttributeOverride(name = "communityVotes", column = @Column(name = "score_community_votes"))
     })
     private ScoreBreakdown scoreBreakdown;
+
+    @Column(name = "score_version")
+    private int scoreVersion;
     
     private String status;
     
@@ -96,6 +100,7 @@ public class Signal {
     public int getCommunityVotes() { return communityVotes; }
     public String getCategory() { return category; }
     public ScoreBreakdown getScoreBreakdown() { return scoreBreakdown; }
+    public int getScoreVersion() { return scoreVersion; }
     public String getModerationReason() { return moderationReason; }
     public UUID getAuthorId() { return authorId; }
     public UUID getCommunityId() { return communityId; }
@@ -118,14 +123,20 @@ public class Signal {
     public void setStatus(String status) { this.status = status; }
     public void setPriorityScore(double priorityScore) { this.priorityScore = priorityScore; }
     public void setScoreBreakdown(ScoreBreakdown scoreBreakdown) { this.scoreBreakdown = scoreBreakdown; }
+    public void setScoreVersion(int scoreVersion) { this.scoreVersion = scoreVersion; }
     public void setCommunityVotes(int communityVotes) { this.communityVotes = communityVotes; }
     public void setModerationReason(String moderationReason) { this.moderationReason = moderationReason; }
     public void setAuthorId(UUID authorId) { this.authorId = authorId; }
     public void setCommunityId(UUID communityId) { this.communityId = communityId; }
 
-    public Signal withScore(double score, ScoreBreakdown breakdown) {
-        this.priorityScore = score;
-        this.scoreBreakdown = breakdown;
-        return this;
+    // Copies the scalar columns only; lazy collections are never touched so this is safe inside a flush.
+    public Signal detachedCopy() {
+        Signal copy = new Signal(
+            id, title, description, category, urgency, impact, affectedPeople,
+            communityVotes, priorityScore, scoreBreakdown, status, null, authorId, createdAt, communityId
+        );
+        copy.setModerationReason(moderationReason);
+        copy.setScoreVersion(scoreVersion);
+        return copy;
     }
 }
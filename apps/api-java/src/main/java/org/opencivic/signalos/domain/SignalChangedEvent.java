@@ -0,0 +1,15 @@
+package org.opencivic.signalos.domain;
+
+import java.util.UUID;
+
+public record SignalChangedEvent(
+    Type type,
+    UUID signalId,
+    Signal snapshot
+) {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
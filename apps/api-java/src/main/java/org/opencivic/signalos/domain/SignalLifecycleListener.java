@@ -0,0 +1,38 @@
+package org.opencivic.signalos.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Instantiated by Hibernate through Spring's bean container, so every write path
+// (services, repositories, tests) feeds the same in-process read models.
+public class SignalLifecycleListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SignalLifecycleListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void onPersist(Signal signal) {
+        eventPublisher.publishEvent(new SignalChangedEvent(
+            SignalChangedEvent.Type.CREATED, signal.getId(), signal.detachedCopy()
+        ));
+    }
+
+    @PostUpdate
+    public void onUpdate(Signal signal) {
+        eventPublisher.publishEvent(new SignalChangedEvent(
+            SignalChangedEvent.Type.UPDATED, signal.getId(), signal.detachedCopy()
+        ));
+    }
+
+    @PostRemove
+    public void onRemove(Signal signal) {
+        eventPublisher.publishEvent(new SignalChangedEvent(
+            SignalChangedEvent.Type.DELETED, signal.getId(), signal.detachedCopy()
+        ));
+    }
+}
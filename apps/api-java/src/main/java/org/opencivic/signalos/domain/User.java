@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserLifecycleListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -31,6 +32,10 @@ public class User {
     private String verificationCode;
     private boolean isVerified = false;
 
+    // Bumped on membership changes; access tokens carrying an older value must be refreshed.
+    @Column(name = "membership_version", nullable = false)
+    private long membershipVersion;
+
     public User() {}
 
     public User(String username, String password, String email, String roles) {
@@ -64,4 +69,5 @@ public class User {
     public void setVerificationCode(String verificationCode) { this.verificationCode = verificationCode; }
     public boolean isVerified() { return isVerified; }
     public void setVerified(boolean verified) { isVerified = verified; }
+    public long getMembershipVersion() { return membershipVersion; }
 }
@@ -0,0 +1,9 @@
+package org.opencivic.signalos.domain;
+
+import java.util.UUID;
+
+// Published inside the transaction that updated or deleted the user row.
+public record UserChangedEvent(
+    UUID userId,
+    String username
+) {}
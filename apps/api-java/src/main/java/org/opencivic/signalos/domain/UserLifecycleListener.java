@@ -0,0 +1,21 @@
+package org.opencivic.signalos.domain;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Lets caches of authenticated principals drop a user whose roles or enabled flag may have changed.
+public class UserLifecycleListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserLifecycleListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
+    }
+}
@@ -18,6 +18,10 @@ public class Vote {
     @Column(name = "signal_id", nullable = false)
     private UUID signalId;
 
+    // Set only on votes entered through the bulk import: the account that imported them.
+    @Column(name = "imported_by")
+    private UUID importedBy;
+
     public Vote() {}
 
     public Vote(UUID userId, UUID signalId) {
@@ -28,4 +32,5 @@ public class Vote {
     public UUID getId() { return id; }
     public UUID getUserId() { return userId; }
     public UUID getSignalId() { return signalId; }
+    public UUID getImportedBy() { return importedBy; }
 }
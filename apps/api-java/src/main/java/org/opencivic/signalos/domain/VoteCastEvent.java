@@ -0,0 +1,10 @@
+package org.opencivic.signalos.domain;
+
+import java.util.UUID;
+
+// Published inside the transaction that inserted the vote row.
+public record VoteCastEvent(
+    UUID signalId,
+    UUID communityId,
+    UUID userId
+) {}
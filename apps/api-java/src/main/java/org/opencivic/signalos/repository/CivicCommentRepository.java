@@ -1,10 +1,34 @@
 package org.opencivic.signalos.repository;
 
 import org.opencivic.signalos.domain.CivicComment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface CivicCommentRepository extends JpaRepository<CivicComment, UUID> {
-    List<CivicComment> findByParentIdAndParentTypeOrderByCreatedAtAsc(UUID parentId, String parentType);
+    @Query("SELECT new org.opencivic.signalos.repository.CivicCommentView("
+        + "c.id, c.parentId, c.parentType, c.authorId, u.username, u.roles, c.content, c.createdAt) "
+        + "FROM CivicComment c LEFT JOIN User u ON u.id = c.authorId "
+        + "WHERE c.parentId = :parentId AND c.parentType = :parentType "
+        + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CivicCommentView> findViewsByParent(@Param("parentId") UUID parentId, @Param("parentType") String parentType);
+
+    // Keyset pagination on (created_at, id); pass PageRequest.of(0, size + 1) to detect a next slice.
+    @Query("SELECT new org.opencivic.signalos.repository.CivicCommentView("
+        + "c.id, c.parentId, c.parentType, c.authorId, u.username, u.roles, c.content, c.createdAt) "
+        + "FROM CivicComment c LEFT JOIN User u ON u.id = c.authorId "
+        + "WHERE c.parentId = :parentId AND c.parentType = :parentType "
+        + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+        + "ORDER BY c.createdAt ASC, c.id ASC")
+    List<CivicCommentView> findViewsAfter(
+        @Param("parentId") UUID parentId,
+        @Param("parentType") String parentType,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Pageable limit
+    );
 }
@@ -0,0 +1,16 @@
+package org.opencivic.signalos.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A comment joined with its author's name and roles; the author fields are null when the user no longer exists.
+public record CivicCommentView(
+    UUID id,
+    UUID parentId,
+    String parentType,
+    UUID authorId,
+    String authorUsername,
+    String authorRoles,
+    String content,
+    LocalDateTime createdAt
+) {}
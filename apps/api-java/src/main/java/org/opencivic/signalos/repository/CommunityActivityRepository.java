@@ -0,0 +1,31 @@
+package org.opencivic.signalos.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.opencivic.signalos.domain.CommunityActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CommunityActivityRepository extends JpaRepository<CommunityActivity, UUID> {
+
+    // Keyset pagination, newest first; pass PageRequest.of(0, size + 1) to detect a next slice.
+    @Query("SELECT a FROM CommunityActivity a WHERE a.communityId = :communityId AND a.happenedAt > :since "
+        + "AND (a.happenedAt < :beforeAt OR (a.happenedAt = :beforeAt AND a.id < :beforeId)) "
+        + "ORDER BY a.happenedAt DESC, a.id DESC")
+    List<CommunityActivity> findFeedPage(
+        @Param("communityId") UUID communityId,
+        @Param("since") LocalDateTime since,
+        @Param("beforeAt") LocalDateTime beforeAt,
+        @Param("beforeId") UUID beforeId,
+        Pageable limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM CommunityActivity a WHERE a.subjectId IN :subjectIds")
+    int deleteBySubjectIdIn(@Param("subjectIds") Collection<UUID> subjectIds);
+}
@@ -1,10 +1,25 @@
 package org.opencivic.signalos.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import org.opencivic.signalos.domain.CommunityThreadMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommunityThreadMessageRepository extends JpaRepository<CommunityThreadMessage, UUID> {
     List<CommunityThreadMessage> findByThreadIdOrderByCreatedAtAsc(UUID threadId);
+
+    // Keyset pagination on (created_at, id); pass PageRequest.of(0, size + 1) to detect a next slice.
+    @Query("SELECT m FROM CommunityThreadMessage m WHERE m.threadId = :threadId "
+        + "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) "
+        + "ORDER BY m.createdAt ASC, m.id ASC")
+    List<CommunityThreadMessage> findByThreadIdAfter(
+        @Param("threadId") UUID threadId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") UUID id,
+        Pageable limit
+    );
 }
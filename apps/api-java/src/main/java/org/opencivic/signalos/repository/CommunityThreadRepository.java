@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.UUID;
 import org.opencivic.signalos.domain.CommunityThread;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommunityThreadRepository extends JpaRepository<CommunityThread, UUID> {
     List<CommunityThread> findBySourceCommunityIdOrTargetCommunityIdOrderByUpdatedAtDesc(
@@ -17,4 +19,23 @@ public interface CommunityThreadRepository extends JpaRepository<CommunityThread
         UUID targetCommunityId,
         Pageable pageable
     );
+
+    // One row per thread: the newest message is the one no later message beats on (created_at, id).
+    // The preview is cut one character past PREVIEW_LENGTH so callers can tell it was truncated.
+    @Query(
+        value = "SELECT new org.opencivic.signalos.repository.CommunityThreadSummaryView("
+            + "t.id, t.sourceCommunityId, t.targetCommunityId, t.relatedSignalId, t.title, t.createdBy, "
+            + "t.createdAt, t.updatedAt, "
+            + "(SELECT COUNT(m) FROM CommunityThreadMessage m WHERE m.threadId = t.id), "
+            + "lm.id, lm.authorId, substring(lm.content, 1, 141), lm.hidden, lm.createdAt) "
+            + "FROM CommunityThread t "
+            + "LEFT JOIN CommunityThreadMessage lm ON lm.threadId = t.id "
+            + "WHERE (t.sourceCommunityId = :communityId OR t.targetCommunityId = :communityId) "
+            + "AND (lm.id IS NULL OR NOT EXISTS (SELECT n.id FROM CommunityThreadMessage n WHERE n.threadId = t.id "
+            + "AND (n.createdAt > lm.createdAt OR (n.createdAt = lm.createdAt AND n.id > lm.id)))) "
+            + "ORDER BY t.updatedAt DESC, t.id ASC",
+        countQuery = "SELECT COUNT(t) FROM CommunityThread t "
+            + "WHERE t.sourceCommunityId = :communityId OR t.targetCommunityId = :communityId"
+    )
+    Page<CommunityThreadSummaryView> findSummariesByCommunityId(@Param("communityId") UUID communityId, Pageable pageable);
 }
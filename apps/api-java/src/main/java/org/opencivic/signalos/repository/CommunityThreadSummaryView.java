@@ -0,0 +1,22 @@
+package org.opencivic.signalos.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A thread with its message count and newest message; the last-message fields are null for an empty thread.
+public record CommunityThreadSummaryView(
+    UUID id,
+    UUID sourceCommunityId,
+    UUID targetCommunityId,
+    UUID relatedSignalId,
+    String title,
+    UUID createdBy,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    long messageCount,
+    UUID lastMessageId,
+    UUID lastMessageAuthorId,
+    String lastMessagePreview,
+    Boolean lastMessageHidden,
+    LocalDateTime lastMessageAt
+) {}
@@ -1,15 +1,23 @@
 package org.opencivic.signalos.repository;
 
 import org.opencivic.signalos.domain.Signal;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface SignalRepository extends JpaRepository<Signal, UUID> {
     Page<Signal> findByStatusNotIn(Collection<String> statuses, Pageable pageable);
@@ -34,9 +42,141 @@ public interface SignalRepository extends JpaRepository<Signal, UUID> {
     Optional<Signal> findByIdAndCommunityId(UUID id, UUID communityId);
     List<Signal> findByCommunityId(UUID communityId);
     Page<Signal> findByCommunityIdOrderByCreatedAtDesc(UUID communityId, Pageable pageable);
-    long countByCommunityId(UUID communityId);
-    long countByStatusNotIn(Collection<String> statuses);
-    long countByStatusNotInAndCommunityId(Collection<String> statuses, UUID communityId);
     Optional<Signal> findTopByOrderByCreatedAtDesc();
     Optional<Signal> findTopByCommunityIdOrderByCreatedAtDesc(UUID communityId);
+
+    // Keyset pagination for the prioritized feed; pass PageRequest.of(0, size + 1) to detect a next slice.
+    @Query("SELECT s FROM Signal s WHERE s.status IN :statuses "
+        + "AND (s.priorityScore < :score OR (s.priorityScore = :score AND s.id > :id)) "
+        + "ORDER BY s.priorityScore DESC, s.id ASC")
+    List<Signal> findPrioritizedAfterByStatusIn(
+        @Param("statuses") Collection<String> statuses,
+        @Param("score") double score,
+        @Param("id") UUID id,
+        Pageable limit
+    );
+
+    @Query("SELECT s FROM Signal s WHERE s.status NOT IN :statuses "
+        + "AND (s.priorityScore < :score OR (s.priorityScore = :score AND s.id > :id)) "
+        + "ORDER BY s.priorityScore DESC, s.id ASC")
+    List<Signal> findPrioritizedAfterByStatusNotIn(
+        @Param("statuses") Collection<String> statuses,
+        @Param("score") double score,
+        @Param("id") UUID id,
+        Pageable limit
+    );
+
+    @Query("SELECT s FROM Signal s WHERE s.communityId = :communityId AND s.status IN :statuses "
+        + "AND (s.priorityScore < :score OR (s.priorityScore = :score AND s.id > :id)) "
+        + "ORDER BY s.priorityScore DESC, s.id ASC")
+    List<Signal> findPrioritizedAfterByStatusInAndCommunityId(
+        @Param("statuses") Collection<String> statuses,
+        @Param("communityId") UUID communityId,
+        @Param("score") double score,
+        @Param("id") UUID id,
+        Pageable limit
+    );
+
+    @Query("SELECT s FROM Signal s WHERE s.communityId = :communityId AND s.status NOT IN :statuses "
+        + "AND (s.priorityScore < :score OR (s.priorityScore = :score AND s.id > :id)) "
+        + "ORDER BY s.priorityScore DESC, s.id ASC")
+    List<Signal> findPrioritizedAfterByStatusNotInAndCommunityId(
+        @Param("statuses") Collection<String> statuses,
+        @Param("communityId") UUID communityId,
+        @Param("score") double score,
+        @Param("id") UUID id,
+        Pageable limit
+    );
+
+    // Rows of (id, communityId) for the given ids that exist.
+    @Query("SELECT s.id, s.communityId FROM Signal s WHERE s.id IN :ids")
+    List<Object[]> findCommunityIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT s.communityId, s.status, COUNT(s) FROM Signal s GROUP BY s.communityId, s.status")
+    List<Object[]> countGroupedByCommunityIdAndStatus();
+
+    @Query("SELECT s.communityId, MAX(s.createdAt) FROM Signal s WHERE s.status IS NOT NULL GROUP BY s.communityId")
+    List<Object[]> findLatestCreatedAtGroupedByCommunityId();
+
+    @Query("SELECT s.status, COUNT(s) FROM Signal s GROUP BY s.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT s.status, COUNT(s) FROM Signal s WHERE s.communityId = :communityId GROUP BY s.status")
+    List<Object[]> countGroupedByStatusForCommunity(@Param("communityId") UUID communityId);
+
+    // Server-side cursor for exports: must be consumed inside a transaction and closed by the caller.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Signal s ORDER BY s.id")
+    Stream<Signal> streamAllOrderById();
+
+    // Export partition keys, in export order: (created_at, id) of the dated signals, then ids of the undated ones.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000")
+    })
+    @Query("SELECT s.createdAt, s.id FROM Signal s WHERE s.createdAt IS NOT NULL ORDER BY s.createdAt, s.id")
+    Stream<Object[]> streamCreatedAtKeys();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000")
+    })
+    @Query("SELECT s.id FROM Signal s WHERE s.createdAt IS NULL ORDER BY s.id")
+    Stream<UUID> streamUndatedIds();
+
+    // Dated signals from key (firstAt, firstId) through (lastAt, lastId), both inclusive, in export order.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Signal s "
+        + "WHERE (s.createdAt > :firstAt OR (s.createdAt = :firstAt AND s.id >= :firstId)) "
+        + "AND (s.createdAt < :lastAt OR (s.createdAt = :lastAt AND s.id <= :lastId)) "
+        + "ORDER BY s.createdAt, s.id")
+    Stream<Signal> streamByCreatedAtKeyRange(@Param("firstAt") LocalDateTime firstAt, @Param("firstId") UUID firstId,
+                                             @Param("lastAt") LocalDateTime lastAt, @Param("lastId") UUID lastId);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Signal s WHERE s.createdAt IS NULL AND s.id >= :firstId AND s.id <= :lastId ORDER BY s.id")
+    Stream<Signal> streamUndatedByIdRange(@Param("firstId") UUID firstId, @Param("lastId") UUID lastId);
+
+    // Rows scored by another formula version, walked in id order; locked so a concurrent vote cannot be overwritten.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Signal s WHERE s.scoreVersion <> :version AND s.id > :after ORDER BY s.id")
+    List<Signal> findOutdatedScoresAfter(@Param("after") UUID after, @Param("version") int version, Pageable limit);
+
+    long countByScoreVersionNot(int version);
+
+    /**
+     * Adds delta votes in a single statement: the count, the capped vote term (min(votes / divisor, cap)) and the
+     * total move together under the row lock, with no read-modify-write in Java. Read the new values back with
+     * {@link #findVoteTotals} in the same transaction.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Signal s SET "
+        + "s.communityVotes = s.communityVotes + :delta, "
+        + "s.scoreBreakdown.communityVotes = least((s.communityVotes + :delta) * 1.0 / :divisor, :cap), "
+        + "s.priorityScore = s.priorityScore - coalesce(s.scoreBreakdown.communityVotes, 0) "
+        + "+ least((s.communityVotes + :delta) * 1.0 / :divisor, :cap) "
+        + "WHERE s.id = :id")
+    int incrementCommunityVotes(
+        @Param("id") UUID id,
+        @Param("delta") int delta,
+        @Param("divisor") double votesDivisor,
+        @Param("cap") double votesCap
+    );
+
+    @Query("SELECT new org.opencivic.signalos.repository.SignalVoteTotals("
+        + "s.communityVotes, coalesce(s.scoreBreakdown.communityVotes, 0.0), s.priorityScore) "
+        + "FROM Signal s WHERE s.id = :id")
+    Optional<SignalVoteTotals> findVoteTotals(@Param("id") UUID id);
+
+    // Hands a community's rows back to ScoreRecomputeJob; scores stay readable until each row is re-scored.
+    @Modifying
+    @Query("UPDATE Signal s SET s.scoreVersion = 0 WHERE s.communityId = :communityId")
+    int markScoresOutdatedByCommunityId(@Param("communityId") UUID communityId);
 }
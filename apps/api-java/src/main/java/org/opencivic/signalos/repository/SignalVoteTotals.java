@@ -0,0 +1,8 @@
+package org.opencivic.signalos.repository;
+
+// Vote-dependent columns of a signal as they stand after an in-place increment.
+public record SignalVoteTotals(
+    int communityVotes,
+    double scoreCommunityVotes,
+    double priorityScore
+) {}
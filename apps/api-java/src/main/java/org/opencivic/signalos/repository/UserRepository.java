@@ -2,10 +2,26 @@ package org.opencivic.signalos.repository;
 
 import org.opencivic.signalos.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<UUID> findIdByUsername(@Param("username") String username);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Atomic so concurrent membership changes never reuse a version.
+    @Modifying
+    @Query("UPDATE User u SET u.membershipVersion = u.membershipVersion + 1 WHERE u.id = :id")
+    int incrementMembershipVersion(@Param("id") UUID id);
 }
@@ -0,0 +1,48 @@
+package org.opencivic.signalos.security;
+
+import io.jsonwebtoken.Claims;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.opencivic.signalos.domain.CommunityRole;
+
+/**
+ * Who the access token was minted for and their community roles at that moment. Valid only while membershipVersion
+ * matches the user's current one; community checks can then be answered without touching the database.
+ */
+public record AccessClaims(UUID userId, long membershipVersion, Map<UUID, CommunityRole> communities) {
+
+    static final String USER_ID = "uid";
+    static final String MEMBERSHIP_VERSION = "mv";
+    static final String COMMUNITIES = "communities";
+
+    public AccessClaims {
+        communities = Map.copyOf(communities);
+    }
+
+    public Map<String, Object> toClaims() {
+        Map<String, String> roles = new LinkedHashMap<>();
+        communities.forEach((communityId, role) -> roles.put(communityId.toString(), role.name()));
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID, userId.toString());
+        claims.put(MEMBERSHIP_VERSION, membershipVersion);
+        claims.put(COMMUNITIES, roles);
+        return claims;
+    }
+
+    /** Reads the claims back, or returns null for tokens minted without them (e.g. refresh tokens). */
+    public static AccessClaims from(Claims claims) {
+        Object userId = claims.get(USER_ID);
+        Object version = claims.get(MEMBERSHIP_VERSION);
+        if (!(userId instanceof String id) || !(version instanceof Number number)) {
+            return null;
+        }
+        Map<UUID, CommunityRole> communities = new HashMap<>();
+        if (claims.get(COMMUNITIES) instanceof Map<?, ?> roles) {
+            roles.forEach((communityId, role) ->
+                communities.put(UUID.fromString(String.valueOf(communityId)), CommunityRole.valueOf(String.valueOf(role))));
+        }
+        return new AccessClaims(UUID.fromString(id), number.longValue(), communities);
+    }
+}
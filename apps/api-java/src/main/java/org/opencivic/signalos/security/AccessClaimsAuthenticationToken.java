@@ -0,0 +1,21 @@
+package org.opencivic.signalos.security;
+
+import java.util.Collection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+/** Authentication from an access token whose community claims were checked against the current membership version. */
+public class AccessClaimsAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final AccessClaims accessClaims;
+
+    public AccessClaimsAuthenticationToken(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                           AccessClaims accessClaims) {
+        super(principal, null, authorities);
+        this.accessClaims = accessClaims;
+    }
+
+    public AccessClaims getAccessClaims() {
+        return accessClaims;
+    }
+}
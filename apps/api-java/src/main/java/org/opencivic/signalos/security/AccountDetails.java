@@ -0,0 +1,29 @@
+package org.opencivic.signalos.security;
+
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/** The authenticated principal, plus what is needed to tell whether a token's access claims are still current. */
+public class AccountDetails extends User {
+
+    private final UUID userId;
+    private final long membershipVersion;
+
+    public AccountDetails(String username, String password, boolean enabled,
+                          Collection<? extends GrantedAuthority> authorities,
+                          UUID userId, long membershipVersion) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+        this.membershipVersion = membershipVersion;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public long getMembershipVersion() {
+        return membershipVersion;
+    }
+}
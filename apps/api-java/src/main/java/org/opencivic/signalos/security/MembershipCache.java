@@ -0,0 +1,189 @@
+package org.opencivic.signalos.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.opencivic.signalos.domain.CommunityMembershipChangedEvent;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-node cache behind CommunityAccessService: community role by (user, community), including "not a member", and
+ * user id by username. Membership changes are written through once their transaction commits, and never before: the
+ * transaction that changed a role reads it from the database and never caches it, so a rollback leaves nothing
+ * behind. User changes drop the user's entries. Both maps are bounded and entries expire after the TTL, which also
+ * caps staleness from writes made on other nodes.
+ */
+@Component
+public class MembershipCache {
+
+    private record Key(UUID userId, UUID communityId) {
+    }
+
+    // value is null for a cached "not a member".
+    private record Cached<V>(V value, long expiresAtMillis) {
+    }
+
+    private final Map<Key, Cached<CommunityRole>> roles = new ConcurrentHashMap<>();
+    private final Map<String, Cached<UUID>> userIds = new ConcurrentHashMap<>();
+    // Bumped by every write or invalidation; a value loaded before a bump is not cached, since it may be stale.
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxSize;
+    private final long ttlMs;
+    private final Counter roleHits;
+    private final Counter roleMisses;
+    private final Counter userHits;
+    private final Counter userMisses;
+
+    public MembershipCache(@Value("${application.community.access-cache.max-size:50000}") int maxSize,
+                           @Value("${application.community.access-cache.ttl-ms:300000}") long ttlMs,
+                           MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.roleHits = counter(meterRegistry, "role", "hit");
+        this.roleMisses = counter(meterRegistry, "role", "miss");
+        this.userHits = counter(meterRegistry, "user", "hit");
+        this.userMisses = counter(meterRegistry, "user", "miss");
+        Gauge.builder("signalos.community.access.cache.size", roles, Map::size).tag("cache", "role").register(meterRegistry);
+        Gauge.builder("signalos.community.access.cache.size", userIds, Map::size).tag("cache", "user").register(meterRegistry);
+    }
+
+    public Optional<CommunityRole> role(UUID userId, UUID communityId, Supplier<Optional<CommunityRole>> loader) {
+        Key key = new Key(userId, communityId);
+        // The changing transaction reads its own uncommitted role, which is neither served from nor kept in the cache.
+        if (changedInCurrentTransaction(key)) {
+            return loader.get();
+        }
+        Cached<CommunityRole> cached = fresh(roles, key);
+        if (cached != null) {
+            roleHits.increment();
+            return Optional.ofNullable(cached.value());
+        }
+        roleMisses.increment();
+        long loadedAtGeneration = generation.get();
+        Optional<CommunityRole> role = loader.get();
+        store(roles, key, role.orElse(null), loadedAtGeneration);
+        return role;
+    }
+
+    /** Unknown usernames are not cached; the caller fails the request anyway. */
+    public Optional<UUID> userId(String username, Supplier<Optional<UUID>> loader) {
+        Cached<UUID> cached = fresh(userIds, username);
+        if (cached != null) {
+            userHits.increment();
+            return Optional.of(cached.value());
+        }
+        userMisses.increment();
+        long loadedAtGeneration = generation.get();
+        Optional<UUID> userId = loader.get();
+        userId.ifPresent(id -> store(userIds, username, id, loadedAtGeneration));
+        return userId;
+    }
+
+    // Runs inside the changing transaction: only remembers the key, the cache itself is updated after commit.
+    @EventListener
+    @SuppressWarnings("unchecked")
+    public void onMembershipChanging(CommunityMembershipChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Set<Key> changed = (Set<Key>) TransactionSynchronizationManager.getResource(this);
+        if (changed == null) {
+            changed = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MembershipCache.this);
+                }
+            });
+        }
+        changed.add(new Key(event.userId(), event.communityId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(CommunityMembershipChangedEvent event) {
+        Key key = new Key(event.userId(), event.communityId());
+        long current = generation.incrementAndGet();
+        roles.remove(key);
+        store(roles, key, event.role(), current);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+        userIds.remove(event.username());
+        roles.keySet().removeIf(key -> key.userId().equals(event.userId()));
+    }
+
+    public int size() {
+        return roles.size() + userIds.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean changedInCurrentTransaction(Key key) {
+        Set<Key> changed = (Set<Key>) TransactionSynchronizationManager.getResource(this);
+        return changed != null && changed.contains(key);
+    }
+
+    private <K, V> Cached<V> fresh(Map<K, Cached<V>> map, K key) {
+        Cached<V> cached = map.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            map.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    private <K, V> void store(Map<K, Cached<V>> map, K key, V value, long loadedAtGeneration) {
+        if (maxSize <= 0 || generation.get() != loadedAtGeneration) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (map.size() >= maxSize) {
+            evict(map, now);
+        }
+        Cached<V> cached = new Cached<>(value, now + ttlMs);
+        map.put(key, cached);
+        // A write or invalidation that raced the put may have missed the new entry.
+        if (generation.get() != loadedAtGeneration) {
+            map.remove(key, cached);
+        }
+    }
+
+    // Expired entries go first; if the map is still full, arbitrary entries make room for a tenth of it.
+    private <K, V> void evict(Map<K, Cached<V>> map, long now) {
+        map.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<K> keys = map.keySet().iterator();
+        while (map.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder("signalos.community.access.cache.requests")
+            .tag("cache", cache)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
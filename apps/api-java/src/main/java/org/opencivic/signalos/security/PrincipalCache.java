@@ -0,0 +1,149 @@
+package org.opencivic.signalos.security;
+
+import io.jsonwebtoken.Claims;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opencivic.signalos.domain.CommunityMembershipChangedEvent;
+import org.opencivic.signalos.domain.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Verified access tokens and the principal they resolved to, keyed by a SHA-256 of the token. A hit skips both the
+ * signature check and the users query. Entries live for the configured TTL, never past the token's own expiry, and
+ * are dropped as soon as the user row changes (roles, enabled flag, memberships) or is deleted. Logged-out tokens are remembered
+ * as revoked until they expire.
+ * <p>
+ * Invalidation and revocation are per node: they follow events committed on this node. A hit also skips the
+ * membership-version check, so on other nodes a user whose roles were reduced, who was disabled or who logged out
+ * keeps the cached principal and community claims until the entry expires. The TTL is the bound on that delay.
+ */
+@Component
+public class PrincipalCache {
+
+    // access is parsed once here so authorizing from the token's community claims costs nothing per request.
+    public record Entry(Claims claims, AccessClaims access, UserDetails principal, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; a principal loaded before a bump is not cached, since it may be stale.
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxSize;
+    private final long ttlMs;
+
+    public PrincipalCache(@Value("${application.security.jwt.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${application.security.jwt.principal-cache.ttl-ms:900000}") long ttlMs) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+    }
+
+    public static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Read before loading a principal and handed back to {@link #put}. */
+    public long generation() {
+        return generation.get();
+    }
+
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public boolean isRevoked(String key) {
+        Long expiresAt = revoked.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            revoked.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Caches a freshly verified token unless an invalidation happened since {@code loadedAtGeneration}. Returns the
+     * entry either way so the caller can authenticate the current request with it.
+     */
+    public Entry put(String key, Claims claims, UserDetails principal, long loadedAtGeneration) {
+        long now = System.currentTimeMillis();
+        Date tokenExpiry = claims.getExpiration();
+        long expiresAt = tokenExpiry == null ? now + ttlMs : Math.min(now + ttlMs, tokenExpiry.getTime());
+        Entry entry = new Entry(claims, AccessClaims.from(claims), principal, expiresAt);
+        if (maxSize > 0 && generation.get() == loadedAtGeneration) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(key, entry);
+            // An invalidation that raced the put may have missed the new entry.
+            if (generation.get() != loadedAtGeneration) {
+                entries.remove(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    /** Drops every cached token of the user; their next request is verified and loaded again. */
+    public void invalidate(String username) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.principal().getUsername().equals(username));
+    }
+
+    /** Rejects the token until it expires, e.g. after logout. */
+    public void revoke(String key, Date expiresAt) {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiry -> expiry <= now);
+        revoked.put(key, expiresAt == null ? now + ttlMs : expiresAt.getTime());
+        entries.remove(key);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.username());
+    }
+
+    // The user's tokens now carry a stale membership version; reloading the principal lets the filter notice.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(CommunityMembershipChangedEvent event) {
+        invalidate(event.username());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Expired entries go first; if the cache is still full, arbitrary entries make room for a tenth of it.
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.opencivic.signalos.security;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One entry under application.rate-limit.policies. Requests matching method and paths (Ant patterns) are allowed
+ * {@code limit} per {@code period}, with bursts of up to {@code burst} (defaults to limit). A policy without paths
+ * is only applied where code asks for it by name.
+ */
+public record RateLimitPolicy(
+    String method,
+    List<String> paths,
+    int limit,
+    Duration period,
+    int burst,
+    KeyBy key
+) {
+
+    public enum KeyBy {
+        /** The authenticated username, or the client address for anonymous requests. */
+        USER,
+        IP,
+        USER_AND_IP
+    }
+
+    public RateLimitPolicy {
+        paths = paths == null ? List.of() : List.copyOf(paths);
+        period = period == null ? Duration.ofMinutes(1) : period;
+        burst = burst > 0 ? burst : limit;
+        key = key == null ? KeyBy.USER : key;
+    }
+}
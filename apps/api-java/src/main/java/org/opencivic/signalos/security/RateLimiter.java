@@ -0,0 +1,205 @@
+package org.opencivic.signalos.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Lock-free per-key limiter (generic cell rate algorithm): each key holds a single "theoretical arrival time"
+ * updated by CAS, which behaves like a token bucket of {@code burst} requests refilled at {@code limit} per
+ * {@code period}, without a refill timer or a fixed window that resets in bursts.
+ * <p>
+ * A key whose arrival time has passed is indistinguishable from a new one, so it is dropped. Every live key sits in
+ * exactly one slot of a timing wheel covering one refill window; callers sweep the slots that came due, evicting idle
+ * keys and moving active ones forward. Memory is therefore bounded by the keys seen within one window and capped at
+ * {@code maxKeys}. A new key arriving while the map is full evicts the coldest one, whose arrival time is the earliest:
+ * it is the closest to idle, so forgetting it gives back the least allowance, and a flood of new keys only pushes out
+ * keys like its own instead of locking every newcomer out of a shared bucket.
+ */
+public class RateLimiter {
+
+    private static final int WHEEL_SLOTS = 64;
+    private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // Marks a bucket removed by the sweeper; an acquire that sees it looks the key up again.
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private static final class Bucket {
+        private final String key;
+        private final AtomicLong arrival;
+
+        private Bucket(String key, long arrival) {
+            this.key = key;
+            this.arrival = new AtomicLong(arrival);
+        }
+    }
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final long tickNanos;
+    private final List<ConcurrentLinkedQueue<Bucket>> wheel =
+        Stream.generate(ConcurrentLinkedQueue<Bucket>::new).limit(WHEEL_SLOTS).toList();
+    private final AtomicLong sweptThroughTick;
+
+    public RateLimiter(int limit, long periodNanos, int burst, int maxKeys) {
+        this(limit, periodNanos, burst, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int limit, long periodNanos, int burst, int maxKeys, LongSupplier clock) {
+        if (limit <= 0 || periodNanos <= 0 || burst <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Rate limits need a positive limit, period, burst and key cap");
+        }
+        this.intervalNanos = Math.max(1, periodNanos / limit);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        // An arrival time is never more than tolerance + interval ahead, so the wheel spans that window.
+        this.tickNanos = Math.max(MIN_TICK_NANOS, (toleranceNanos + intervalNanos) / (WHEEL_SLOTS - 2) + 1);
+        this.sweptThroughTick = new AtomicLong(Math.floorDiv(now, tickNanos));
+    }
+
+    /** Takes one request for the key; returns 0 when allowed, otherwise the nanoseconds until it would be. */
+    public long acquire(String key) {
+        long now = clock.getAsLong();
+        sweep(now);
+        while (true) {
+            Bucket bucket = buckets.get(key);
+            boolean created = false;
+            if (bucket == null) {
+                if (buckets.size() >= maxKeys && !evictColdest()) {
+                    // Every tracked key is still being filed on the wheel; turn away only this one.
+                    return tickNanos;
+                }
+                Bucket fresh = new Bucket(key, now);
+                bucket = buckets.putIfAbsent(key, fresh);
+                if (bucket == null) {
+                    bucket = fresh;
+                    created = true;
+                }
+            }
+            long wait = take(bucket, now);
+            if (wait >= 0) {
+                if (created) {
+                    schedule(bucket, bucket.arrival.get());
+                }
+                return wait;
+            }
+        }
+    }
+
+    /** Forgets the key, e.g. after a successful login. */
+    public void reset(String key) {
+        Bucket bucket = buckets.remove(key);
+        if (bucket != null) {
+            bucket.arrival.set(EVICTED);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // -1 when the bucket was evicted concurrently.
+    private long take(Bucket bucket, long now) {
+        while (true) {
+            long arrival = bucket.arrival.get();
+            if (arrival == EVICTED) {
+                return -1;
+            }
+            long start = Math.max(arrival, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.arrival.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Whoever moves the cursor sweeps the slots it passed; other callers go on without waiting.
+    private void sweep(long now) {
+        long nowTick = Math.floorDiv(now, tickNanos);
+        long swept = sweptThroughTick.get();
+        if (nowTick <= swept || !sweptThroughTick.compareAndSet(swept, nowTick)) {
+            return;
+        }
+        for (long tick = Math.max(swept + 1, nowTick - WHEEL_SLOTS + 1); tick <= nowTick; tick++) {
+            ConcurrentLinkedQueue<Bucket> slot = wheel.get(Math.floorMod(tick, WHEEL_SLOTS));
+            // Only what was queued before this sweep: rescheduled buckets can land in the same slot.
+            for (int remaining = slot.size(); remaining > 0; remaining--) {
+                Bucket bucket = slot.poll();
+                if (bucket == null) {
+                    break;
+                }
+                expire(bucket, now);
+            }
+        }
+    }
+
+    private void expire(Bucket bucket, long now) {
+        while (true) {
+            long arrival = bucket.arrival.get();
+            if (arrival == EVICTED) {
+                return;
+            }
+            if (arrival > now) {
+                schedule(bucket, arrival);
+                return;
+            }
+            if (bucket.arrival.compareAndSet(arrival, EVICTED)) {
+                buckets.remove(bucket.key, bucket);
+                return;
+            }
+        }
+    }
+
+    // Walks the slots that come due next. A bucket is filed under the arrival time it had when scheduled, so one
+    // that has moved on since is refiled, as the sweep would, and the walk goes on; the first found in place goes.
+    private boolean evictColdest() {
+        long swept = sweptThroughTick.get();
+        for (long tick = swept + 1; tick <= swept + WHEEL_SLOTS; tick++) {
+            ConcurrentLinkedQueue<Bucket> slot = wheel.get(Math.floorMod(tick, WHEEL_SLOTS));
+            for (int remaining = slot.size(); remaining > 0; remaining--) {
+                Bucket bucket = slot.poll();
+                if (bucket == null) {
+                    break;
+                }
+                if (evictFiledAt(bucket, tick)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean evictFiledAt(Bucket bucket, long tick) {
+        while (true) {
+            long arrival = bucket.arrival.get();
+            if (arrival == EVICTED) {
+                return false;
+            }
+            if (Math.floorDiv(arrival, tickNanos) + 1 > tick) {
+                schedule(bucket, arrival);
+                return false;
+            }
+            if (bucket.arrival.compareAndSet(arrival, EVICTED)) {
+                buckets.remove(bucket.key, bucket);
+                return true;
+            }
+        }
+    }
+
+    private void schedule(Bucket bucket, long arrival) {
+        long tick = Math.max(Math.floorDiv(arrival, tickNanos) + 1, sweptThroughTick.get() + 1);
+        wheel.get(Math.floorMod(tick, WHEEL_SLOTS)).add(bucket);
+    }
+}
@@ -24,14 +24,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
+        return new AccountDetails(
+                user.getUsername(),
+                user.getPassword(),
+                user.isEnabled(),
                 // Split comma-separated roles into multiple authorities
-                .authorities(user.getRoleList().stream()
+                user.getRoleList().stream()
                         .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList()))
-                .disabled(!user.isEnabled())
-                .build();
+                        .collect(Collectors.toList()),
+                user.getId(),
+                user.getMembershipVersion());
     }
 }
@@ -0,0 +1,182 @@
+package org.opencivic.signalos.service;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.WriteChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.opencivic.signalos.domain.ScoreBreakdown;
+import org.opencivic.signalos.web.dto.SignalExportRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Arrow IPC stream encoding of the export: the schema message, one record batch per export partition, then the
+ * end-of-stream marker. Batches are self-contained messages, so partitions are encoded in parallel and their bytes
+ * concatenated in order after the schema. Columns follow the NDJSON record, with the score breakdown flattened.
+ */
+final class ArrowExportEncoder {
+
+    static final Schema SCHEMA = new Schema(List.of(
+        field("id", new ArrowType.Utf8(), false),
+        field("title", new ArrowType.Utf8(), true),
+        field("description", new ArrowType.Utf8(), true),
+        field("category", new ArrowType.Utf8(), true),
+        field("status", new ArrowType.Utf8(), true),
+        field("communityId", new ArrowType.Utf8(), true),
+        field("urgency", new ArrowType.Int(32, true), false),
+        field("impact", new ArrowType.Int(32, true), false),
+        field("affectedPeople", new ArrowType.Int(32, true), false),
+        field("communityVotes", new ArrowType.Int(32, true), false),
+        field("priorityScore", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), false),
+        field("scoreUrgency", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), true),
+        field("scoreImpact", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), true),
+        field("scoreAffectedPeople", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), true),
+        field("scoreCommunityVotes", new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), true),
+        field("verificationHash", new ArrowType.Utf8(), true),
+        // Wall-clock time without a zone, like created_at itself.
+        field("createdAt", new ArrowType.Timestamp(TimeUnit.MICROSECOND, null), true)
+    ));
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ArrowExportEncoder() {
+    }
+
+    static byte[] schemaMessage() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        MessageSerializer.serialize(new WriteChannel(Channels.newChannel(buffer)), SCHEMA);
+        return buffer.toByteArray();
+    }
+
+    static byte[] endOfStream() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ArrowStreamWriter.writeEndOfStream(new WriteChannel(Channels.newChannel(buffer)), IpcOption.DEFAULT);
+        return buffer.toByteArray();
+    }
+
+    /** Collects one partition's rows into column vectors owned by the given allocator. */
+    static final class Batch implements AutoCloseable {
+
+        private final VectorSchemaRoot root;
+        private final VarCharVector id;
+        private final VarCharVector title;
+        private final VarCharVector description;
+        private final VarCharVector category;
+        private final VarCharVector status;
+        private final VarCharVector communityId;
+        private final IntVector urgency;
+        private final IntVector impact;
+        private final IntVector affectedPeople;
+        private final IntVector communityVotes;
+        private final Float8Vector priorityScore;
+        private final Float8Vector scoreUrgency;
+        private final Float8Vector scoreImpact;
+        private final Float8Vector scoreAffectedPeople;
+        private final Float8Vector scoreCommunityVotes;
+        private final VarCharVector verificationHash;
+        private final TimeStampMicroVector createdAt;
+        private int rows;
+
+        Batch(BufferAllocator allocator) {
+            root = VectorSchemaRoot.create(SCHEMA, allocator);
+            root.allocateNew();
+            id = (VarCharVector) root.getVector("id");
+            title = (VarCharVector) root.getVector("title");
+            description = (VarCharVector) root.getVector("description");
+            category = (VarCharVector) root.getVector("category");
+            status = (VarCharVector) root.getVector("status");
+            communityId = (VarCharVector) root.getVector("communityId");
+            urgency = (IntVector) root.getVector("urgency");
+            impact = (IntVector) root.getVector("impact");
+            affectedPeople = (IntVector) root.getVector("affectedPeople");
+            communityVotes = (IntVector) root.getVector("communityVotes");
+            priorityScore = (Float8Vector) root.getVector("priorityScore");
+            scoreUrgency = (Float8Vector) root.getVector("scoreUrgency");
+            scoreImpact = (Float8Vector) root.getVector("scoreImpact");
+            scoreAffectedPeople = (Float8Vector) root.getVector("scoreAffectedPeople");
+            scoreCommunityVotes = (Float8Vector) root.getVector("scoreCommunityVotes");
+            verificationHash = (VarCharVector) root.getVector("verificationHash");
+            createdAt = (TimeStampMicroVector) root.getVector("createdAt");
+        }
+
+        void add(SignalExportRecord record) {
+            int row = rows++;
+            text(id, row, record.id().toString());
+            text(title, row, record.title());
+            text(description, row, record.description());
+            text(category, row, record.category());
+            text(status, row, record.status());
+            text(communityId, row, record.communityId() == null ? null : record.communityId().toString());
+            urgency.setSafe(row, record.urgency());
+            impact.setSafe(row, record.impact());
+            affectedPeople.setSafe(row, record.affectedPeople());
+            communityVotes.setSafe(row, record.communityVotes());
+            priorityScore.setSafe(row, record.priorityScore());
+            ScoreBreakdown breakdown = record.scoreBreakdown();
+            if (breakdown == null) {
+                scoreUrgency.setNull(row);
+                scoreImpact.setNull(row);
+                scoreAffectedPeople.setNull(row);
+                scoreCommunityVotes.setNull(row);
+            } else {
+                scoreUrgency.setSafe(row, breakdown.urgency());
+                scoreImpact.setSafe(row, breakdown.impact());
+                scoreAffectedPeople.setSafe(row, breakdown.affectedPeople());
+                scoreCommunityVotes.setSafe(row, breakdown.communityVotes());
+            }
+            text(verificationHash, row, record.verificationHash());
+            if (record.createdAt() == null) {
+                createdAt.setNull(row);
+            } else {
+                createdAt.setSafe(row, ChronoUnit.MICROS.between(EPOCH, record.createdAt()));
+            }
+        }
+
+        /** The record batch message holding every row added so far. */
+        byte[] message() throws IOException {
+            root.setRowCount(rows);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (ArrowRecordBatch batch = new VectorUnloader(root).getRecordBatch()) {
+                MessageSerializer.serialize(new WriteChannel(Channels.newChannel(buffer)), batch);
+            }
+            return buffer.toByteArray();
+        }
+
+        @Override
+        public void close() {
+            root.close();
+        }
+
+        private static void text(VarCharVector vector, int row, String value) {
+            if (value == null) {
+                vector.setNull(row);
+            } else {
+                vector.setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static Field field(String name, ArrowType type, boolean nullable) {
+        return new Field(name, new FieldType(nullable, type, null), null);
+    }
+}
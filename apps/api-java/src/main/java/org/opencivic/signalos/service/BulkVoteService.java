@@ -0,0 +1,164 @@
+package org.opencivic.signalos.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.web.dto.BulkVotePair;
+import org.opencivic.signalos.web.dto.BulkVoteResult;
+import org.opencivic.signalos.web.dto.BulkVoteResult.Outcome;
+import org.opencivic.signalos.web.dto.BulkVoteResult.PairResult;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Imports many votes at once, e.g. signatures collected on paper. Vote rows go in as one JDBC batch that skips
+ * existing (user, signal) pairs, and each affected signal's count is then raised once by its number of new votes.
+ */
+@Service
+public class BulkVoteService {
+
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO votes (id, user_id, signal_id, imported_by) "
+        + "VALUES (?, ?, ?, ?) ON CONFLICT (user_id, signal_id) DO NOTHING";
+
+    // Same effect in standard SQL for databases without ON CONFLICT (the H2 test database).
+    private static final String MERGE_INSERT_SQL = "MERGE INTO votes v "
+        + "USING (SELECT CAST(? AS UUID) AS id, CAST(? AS UUID) AS user_id, CAST(? AS UUID) AS signal_id, "
+        + "CAST(? AS UUID) AS imported_by) s "
+        + "ON v.user_id = s.user_id AND v.signal_id = s.signal_id "
+        + "WHEN NOT MATCHED THEN INSERT (id, user_id, signal_id, imported_by) "
+        + "VALUES (s.id, s.user_id, s.signal_id, s.imported_by)";
+
+    // Community roles that may import votes into their community; super admins may import anywhere.
+    private static final Set<CommunityRole> IMPORT_ROLES =
+        Set.of(CommunityRole.COORDINATOR, CommunityRole.PUBLIC_SERVANT_LIAISON);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final SignalRepository signalRepository;
+    private final VoteCounter voteCounter;
+    private final CommunityAccessService accessService;
+    private final String insertSql;
+
+    public BulkVoteService(JdbcTemplate jdbcTemplate,
+                           UserRepository userRepository,
+                           SignalRepository signalRepository,
+                           VoteCounter voteCounter,
+                           CommunityAccessService accessService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.signalRepository = signalRepository;
+        this.voteCounter = voteCounter;
+        this.accessService = accessService;
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        this.insertSql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_INSERT_SQL : MERGE_INSERT_SQL;
+    }
+
+    /**
+     * Imports the pairs on behalf of {@code username}, who is recorded on every inserted vote. Unless
+     * {@code superAdmin}, the caller must be a coordinator or public-servant liaison of the community of every
+     * known signal in the batch, and signals outside any community are refused; otherwise nothing is imported.
+     */
+    @Transactional
+    public BulkVoteResult importVotes(List<BulkVotePair> pairs, String username, boolean superAdmin) {
+        UUID actorId = accessService.currentUserId(username);
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> signalIds = new HashSet<>();
+        for (BulkVotePair pair : pairs) {
+            if (pair == null || pair.userId() == null || pair.signalId() == null) {
+                throw new IllegalArgumentException("Each vote needs a userId and a signalId.");
+            }
+            userIds.add(pair.userId());
+            signalIds.add(pair.signalId());
+        }
+
+        Set<UUID> knownUsers = new HashSet<>(userRepository.findExistingIds(userIds));
+        Map<UUID, UUID> communityBySignal = new HashMap<>();
+        for (Object[] row : signalRepository.findCommunityIdsByIdIn(signalIds)) {
+            communityBySignal.put((UUID) row[0], (UUID) row[1]);
+        }
+        if (!superAdmin) {
+            for (UUID communityId : new HashSet<>(communityBySignal.values())) {
+                if (communityId == null) {
+                    throw new AccessDeniedException(
+                        "Forbidden: only super admins can import votes for signals outside a community."
+                    );
+                }
+                if (accessService.roleOf(username, communityId).filter(IMPORT_ROLES::contains).isEmpty()) {
+                    throw new AccessDeniedException("Forbidden: cannot import votes into community " + communityId + ".");
+                }
+            }
+        }
+
+        Outcome[] outcomes = new Outcome[pairs.size()];
+        List<Integer> insertable = new ArrayList<>(pairs.size());
+        for (int i = 0; i < pairs.size(); i++) {
+            BulkVotePair pair = pairs.get(i);
+            if (!knownUsers.contains(pair.userId())) {
+                outcomes[i] = Outcome.UNKNOWN_USER;
+            } else if (!communityBySignal.containsKey(pair.signalId())) {
+                outcomes[i] = Outcome.UNKNOWN_SIGNAL;
+            } else {
+                insertable.add(i);
+            }
+        }
+
+        // Needs per-statement update counts: keep the PostgreSQL driver's reWriteBatchedInserts off.
+        int[] counts = insertable.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(insertSql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                BulkVotePair pair = pairs.get(insertable.get(index));
+                statement.setObject(1, UUID.randomUUID());
+                statement.setObject(2, pair.userId());
+                statement.setObject(3, pair.signalId());
+                statement.setObject(4, actorId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return insertable.size();
+            }
+        });
+
+        Map<UUID, Long> acceptedBySignal = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                throw new IllegalStateException("Database driver did not report per-row results for the vote batch.");
+            }
+            int index = insertable.get(i);
+            if (counts[i] > 0) {
+                outcomes[index] = Outcome.ACCEPTED;
+                acceptedBySignal.merge(pairs.get(index).signalId(), 1L, Long::sum);
+            } else {
+                outcomes[index] = Outcome.DUPLICATE;
+            }
+        }
+        voteCounter.addVotes(acceptedBySignal, communityBySignal);
+
+        List<PairResult> results = new ArrayList<>(pairs.size());
+        int accepted = 0;
+        int duplicates = 0;
+        for (int i = 0; i < pairs.size(); i++) {
+            results.add(new PairResult(pairs.get(i).userId(), pairs.get(i).signalId(), outcomes[i]));
+            if (outcomes[i] == Outcome.ACCEPTED) {
+                accepted++;
+            } else if (outcomes[i] == Outcome.DUPLICATE) {
+                duplicates++;
+            }
+        }
+        return new BulkVoteResult(accepted, duplicates, pairs.size() - accepted - duplicates, results);
+    }
+}
@@ -1,15 +1,12 @@
 package org.opencivic.signalos.service;
 
 import org.opencivic.signalos.domain.CivicComment;
-import org.opencivic.signalos.domain.CommunityBlogPost;
-import org.opencivic.signalos.domain.Signal;
 import org.opencivic.signalos.domain.User;
-import org.opencivic.signalos.exception.ResourceNotFoundException;
 import org.opencivic.signalos.repository.CivicCommentRepository;
-import org.opencivic.signalos.repository.CommunityBlogPostRepository;
-import org.opencivic.signalos.repository.SignalRepository;
-import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.repository.CivicCommentView;
 import org.opencivic.signalos.web.dto.CivicCommentResponse;
+import org.opencivic.signalos.web.dto.CursorSlice;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,66 +18,79 @@ import java.util.stream.Collectors;
 @Service
 public class CivicEngagementService {
 
+    static final int MAX_COMMENT_PAGE_SIZE = 100;
+
     private final CivicCommentRepository commentRepository;
-    private final SignalRepository signalRepository;
-    private final CommunityBlogPostRepository blogRepository;
-    private final UserRepository userRepository;
     private final CommunityAccessService accessService;
+    private final ReactionCounter reactionCounter;
 
     public CivicEngagementService(CivicCommentRepository commentRepository, 
-                                  SignalRepository signalRepository, 
-                                  CommunityBlogPostRepository blogRepository,
-                                  UserRepository userRepository,
-                                  CommunityAccessService accessService) {
+                                  CommunityAccessService accessService,
+                                  ReactionCounter reactionCounter) {
         this.commentRepository = commentRepository;
-        this.signalRepository = signalRepository;
-        this.blogRepository = blogRepository;
-        this.userRepository = userRepository;
         this.accessService = accessService;
+        this.reactionCounter = reactionCounter;
     }
 
     public List<CivicCommentResponse> getComments(UUID parentId, String parentType) {
-        return commentRepository.findByParentIdAndParentTypeOrderByCreatedAtAsc(parentId, parentType)
+        return commentRepository.findViewsByParent(parentId, parentType)
                 .stream()
                 .map(this::toCommentResponse)
                 .collect(Collectors.toList());
     }
 
+    /** One slice of a parent's comments, oldest first, with authors resolved in the same query. */
+    public CursorSlice<CivicCommentResponse> getCommentsAfter(UUID parentId, String parentType, CreatedAtCursor cursor, int size) {
+        CreatedAtCursor position = cursor == null ? CreatedAtCursor.START : cursor;
+        int sanitizedSize = Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE));
+        List<CivicCommentView> rows = commentRepository.findViewsAfter(
+            parentId, parentType, position.createdAt(), position.id(), PageRequest.of(0, sanitizedSize + 1)
+        );
+        boolean hasNext = rows.size() > sanitizedSize;
+        List<CivicCommentView> page = hasNext ? rows.subList(0, sanitizedSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            CivicCommentView last = page.get(page.size() - 1);
+            nextCursor = new CreatedAtCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorSlice<>(page.stream().map(this::toCommentResponse).toList(), sanitizedSize, hasNext, nextCursor);
+    }
+
     @Transactional
     public CivicCommentResponse addComment(UUID parentId, String parentType, String content, String username) {
         User user = accessService.getCurrentUser(username);
         CivicComment comment = new CivicComment(parentId, parentType, user.getId(), content);
-        return toCommentResponse(commentRepository.save(comment));
+        comment = commentRepository.save(comment);
+        return new CivicCommentResponse(
+            comment.getId(),
+            comment.getParentId(),
+            comment.getParentType(),
+            user.getId(),
+            user.getUsername(),
+            user.getRoles(),
+            comment.getContent(),
+            comment.getCreatedAt()
+        );
     }
 
     @Transactional
     public Map<String, Integer> react(UUID parentId, String parentType, String reactionType) {
-        if ("SIGNAL".equalsIgnoreCase(parentType)) {
-            Signal signal = signalRepository.findById(parentId).orElseThrow(() -> new ResourceNotFoundException("Signal not found"));
-            Map<String, Integer> reactions = signal.getReactions();
-            reactions.put(reactionType, reactions.getOrDefault(reactionType, 0) + 1);
-            signal.setReactions(reactions);
-            return signalRepository.save(signal).getReactions();
-        } else {
-            CommunityBlogPost blog = blogRepository.findById(parentId).orElseThrow(() -> new ResourceNotFoundException("Blog not found"));
-            Map<String, Integer> reactions = blog.getReactions();
-            reactions.put(reactionType, reactions.getOrDefault(reactionType, 0) + 1);
-            blog.setReactions(reactions);
-            return blogRepository.save(blog).getReactions();
-        }
+        ReactionCounter.Target target = "SIGNAL".equalsIgnoreCase(parentType)
+            ? ReactionCounter.Target.SIGNAL
+            : ReactionCounter.Target.BLOG;
+        return reactionCounter.react(target, parentId, reactionType);
     }
 
-    private CivicCommentResponse toCommentResponse(CivicComment comment) {
-        User author = userRepository.findById(comment.getAuthorId()).orElseThrow();
+    private CivicCommentResponse toCommentResponse(CivicCommentView comment) {
         return new CivicCommentResponse(
-            comment.getId(),
-            comment.getParentId(),
-            comment.getParentType(),
-            comment.getAuthorId(),
-            author.getUsername(),
-            author.getRoles(),
-            comment.getContent(),
-            comment.getCreatedAt()
+            comment.id(),
+            comment.parentId(),
+            comment.parentType(),
+            comment.authorId(),
+            comment.authorUsername() != null ? comment.authorUsername() : "deleted_user",
+            comment.authorRoles() != null ? comment.authorRoles() : "",
+            comment.content(),
+            comment.createdAt()
         );
     }
 }
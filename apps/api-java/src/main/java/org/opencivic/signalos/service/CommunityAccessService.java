@@ -1,7 +1,10 @@
 package org.opencivic.signalos.service;
 
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import org.opencivic.signalos.domain.CommunityMembership;
 import org.opencivic.signalos.domain.CommunityRole;
 import org.opencivic.signalos.domain.User;
@@ -9,40 +12,93 @@ import org.opencivic.signalos.exception.ResourceNotFoundException;
 import org.opencivic.signalos.exception.UnauthorizedActionException;
 import org.opencivic.signalos.repository.CommunityMembershipRepository;
 import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.security.AccessClaims;
+import org.opencivic.signalos.security.AccessClaimsAuthenticationToken;
+import org.opencivic.signalos.security.MembershipCache;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+/**
+ * Community membership checks. Lookups by username answer from the current request's access claims when they
+ * belong to that user (the filter only accepts claims minted at the current membership version); otherwise user ids
+ * and roles come from the membership cache, which falls back to the database.
+ */
 @Service
 public class CommunityAccessService {
     private final UserRepository userRepository;
     private final CommunityMembershipRepository membershipRepository;
+    private final MembershipCache membershipCache;
 
     public CommunityAccessService(
         UserRepository userRepository,
-        CommunityMembershipRepository membershipRepository
+        CommunityMembershipRepository membershipRepository,
+        MembershipCache membershipCache
     ) {
         this.userRepository = userRepository;
         this.membershipRepository = membershipRepository;
+        this.membershipCache = membershipCache;
     }
 
     public User getCurrentUser(String username) {
         return userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("Authenticated user not found: " + username));
+            .orElseThrow(() -> notFound(username));
     }
 
-    public CommunityMembership requireMembership(UUID userId, UUID communityId) {
-        return membershipRepository.findByUserIdAndCommunityId(userId, communityId)
-            .orElseThrow(() -> new UnauthorizedActionException(
-                "User is not a member of community " + communityId
-            ));
+    public UUID currentUserId(String username) {
+        AccessClaims claims = claimsOf(username);
+        if (claims != null) {
+            return claims.userId();
+        }
+        return membershipCache.userId(username, () -> userRepository.findIdByUsername(username))
+            .orElseThrow(() -> notFound(username));
+    }
+
+    /** The claims to embed in a new access token; read the user (and its version) before calling. */
+    public AccessClaims accessClaims(User user) {
+        Map<UUID, CommunityRole> communities = membershipRepository.findByUserId(user.getId()).stream()
+            .collect(Collectors.toMap(CommunityMembership::getCommunityId, CommunityMembership::getRole));
+        return new AccessClaims(user.getId(), user.getMembershipVersion(), communities);
+    }
+
+    /** The user's role in the community, or empty when they are not a member. */
+    public Optional<CommunityRole> roleOf(UUID userId, UUID communityId) {
+        return membershipCache.role(userId, communityId, () ->
+            membershipRepository.findByUserIdAndCommunityId(userId, communityId).map(CommunityMembership::getRole));
+    }
+
+    public Optional<CommunityRole> roleOf(String username, UUID communityId) {
+        AccessClaims claims = claimsOf(username);
+        if (claims != null) {
+            return Optional.ofNullable(claims.communities().get(communityId));
+        }
+        return roleOf(currentUserId(username), communityId);
     }
 
-    public CommunityMembership requireAnyRole(UUID userId, UUID communityId, Set<CommunityRole> allowedRoles) {
-        CommunityMembership membership = requireMembership(userId, communityId);
-        if (!allowedRoles.contains(membership.getRole())) {
+    public CommunityRole requireMember(String username, UUID communityId) {
+        return roleOf(username, communityId)
+            .orElseThrow(() -> new UnauthorizedActionException("User is not a member of community " + communityId));
+    }
+
+    public CommunityRole requireAnyRole(String username, UUID communityId, Set<CommunityRole> allowedRoles) {
+        CommunityRole role = requireMember(username, communityId);
+        if (!allowedRoles.contains(role)) {
             throw new org.springframework.security.access.AccessDeniedException(
-                "Forbidden: community role " + membership.getRole() + " cannot perform this action."
+                "Forbidden: community role " + role + " cannot perform this action."
             );
         }
-        return membership;
+        return role;
+    }
+
+    private static ResourceNotFoundException notFound(String username) {
+        return new ResourceNotFoundException("Authenticated user not found: " + username);
+    }
+
+    private static AccessClaims claimsOf(String username) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof AccessClaimsAuthenticationToken token && token.getName().equals(username)) {
+            return token.getAccessClaims();
+        }
+        return null;
     }
 }
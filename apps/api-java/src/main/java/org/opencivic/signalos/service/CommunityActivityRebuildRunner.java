@@ -0,0 +1,28 @@
+package org.opencivic.signalos.service;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the community feed table when the API is started with {@code --rebuild-community-activity}, e.g.
+ * after deploying the table or to repair drift. The application keeps serving afterwards.
+ */
+@Component
+public class CommunityActivityRebuildRunner implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-community-activity";
+
+    private final CommunityActivityService activityService;
+
+    public CommunityActivityRebuildRunner(CommunityActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            activityService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.opencivic.signalos.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.opencivic.signalos.domain.CommunityActivity;
+import org.opencivic.signalos.domain.CommunityActivityEvent;
+import org.opencivic.signalos.domain.CommunityBlogPost;
+import org.opencivic.signalos.domain.CommunityThread;
+import org.opencivic.signalos.domain.CommunityThreadMessage;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.repository.CommunityActivityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the community_activity feed table. The record methods join the caller's transaction, so an entry
+ * exists exactly when the change it describes was committed, and each one is published as a
+ * {@link CommunityActivityEvent} for the live stream. {@link #rebuild()} regenerates the table from the
+ * source tables, one community per transaction.
+ */
+@Service
+public class CommunityActivityService {
+
+    static final String SIGNAL = "signal";
+    static final String BLOG = "blog";
+    static final String THREAD_UPDATE = "thread-update";
+    static final String THREAD_OPENED = "thread opened";
+    static final String NEW_MESSAGE = "new message";
+
+    private static final Logger log = LoggerFactory.getLogger(CommunityActivityService.class);
+
+    // Signal creation entries carry the signal's current status: the status at creation is not kept anywhere
+    // once a signal has been moderated.
+    private static final String BACKFILL_SQL =
+        "SELECT s.created_at AS happened_at, CAST('" + SIGNAL + "' AS VARCHAR(32)) AS activity_type, "
+        + "s.id AS subject_id, s.title AS title, CAST(s.status AS VARCHAR(255)) AS summary "
+        + "FROM signals s WHERE s.community_id = :communityId AND s.created_at IS NOT NULL "
+        + "UNION ALL "
+        + "SELECT h.created_at, CAST('" + SIGNAL + "' AS VARCHAR(32)), s.id, s.title, CAST(h.status_to AS VARCHAR(255)) "
+        + "FROM signal_status_history h JOIN signals s ON s.id = h.signal_id "
+        + "WHERE s.community_id = :communityId AND h.status_from <> 'NONE' AND h.created_at IS NOT NULL "
+        + "UNION ALL "
+        + "SELECT b.published_at, CAST('" + BLOG + "' AS VARCHAR(32)), b.id, b.title, CAST(b.status_tag AS VARCHAR(255)) "
+        + "FROM community_blog_posts b WHERE b.community_id = :communityId AND b.published_at IS NOT NULL "
+        + "UNION ALL "
+        + "SELECT t.created_at, CAST('" + THREAD_UPDATE + "' AS VARCHAR(32)), t.id, t.title, "
+        + "CAST('" + THREAD_OPENED + "' AS VARCHAR(255)) "
+        + "FROM community_threads t "
+        + "WHERE (t.source_community_id = :communityId OR t.target_community_id = :communityId) "
+        + "AND t.created_at IS NOT NULL "
+        + "UNION ALL "
+        + "SELECT m.created_at, CAST('" + THREAD_UPDATE + "' AS VARCHAR(32)), t.id, t.title, "
+        + "CAST('" + NEW_MESSAGE + "' AS VARCHAR(255)) "
+        + "FROM community_thread_messages m JOIN community_threads t ON t.id = m.thread_id "
+        + "WHERE (t.source_community_id = :communityId OR t.target_community_id = :communityId) "
+        + "AND m.created_at IS NOT NULL";
+
+    private static final String INSERT_SQL = "INSERT INTO community_activity "
+        + "(id, community_id, happened_at, activity_type, subject_id, title, summary) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final CommunityActivityRepository activityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate rebuildTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CommunityActivityService(CommunityActivityRepository activityRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    NamedParameterJdbcTemplate namedJdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.activityRepository = activityRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** A signal was reported or changed status; signals outside any community have no feed. */
+    public void recordSignal(Signal signal, LocalDateTime happenedAt) {
+        if (signal.getCommunityId() != null) {
+            record(new CommunityActivity(
+                signal.getCommunityId(), happenedAt, SIGNAL, signal.getId(), signal.getTitle(), signal.getStatus()
+            ));
+        }
+    }
+
+    /** Signals deleted by a merge disappear from every feed. */
+    public void removeSubjects(Collection<UUID> subjectIds) {
+        if (!subjectIds.isEmpty()) {
+            activityRepository.deleteBySubjectIdIn(subjectIds);
+        }
+    }
+
+    public void recordBlogPost(CommunityBlogPost post) {
+        record(new CommunityActivity(
+            post.getCommunityId(), post.getPublishedAt(), BLOG, post.getId(), post.getTitle(), post.getStatusTag()
+        ));
+    }
+
+    public void recordThreadOpened(CommunityThread thread) {
+        fanOut(thread, thread.getCreatedAt(), THREAD_OPENED);
+    }
+
+    public void recordThreadMessage(CommunityThread thread, CommunityThreadMessage message) {
+        fanOut(thread, message.getCreatedAt(), NEW_MESSAGE);
+    }
+
+    /**
+     * Regenerates every community's feed from the source tables and returns the number of entries written.
+     * Each community is swapped in its own transaction, so readers see either its old or its new feed.
+     */
+    public long rebuild() {
+        List<UUID> communityIds = jdbcTemplate.queryForList("SELECT id FROM communities", UUID.class);
+        long written = 0;
+        for (UUID communityId : communityIds) {
+            Integer count = rebuildTransaction.execute(status -> rebuild(communityId));
+            written += count == null ? 0 : count;
+        }
+        log.info("Rebuilt community activity for {} communities ({} entries)", communityIds.size(), written);
+        return written;
+    }
+
+    private int rebuild(UUID communityId) {
+        List<Object[]> rows = new ArrayList<>();
+        namedJdbcTemplate.query(BACKFILL_SQL, new MapSqlParameterSource("communityId", communityId), rs -> {
+            rows.add(new Object[] {
+                UUID.randomUUID(),
+                communityId,
+                rs.getObject("happened_at", LocalDateTime.class),
+                rs.getString("activity_type"),
+                rs.getObject("subject_id", UUID.class),
+                rs.getString("title"),
+                rs.getString("summary")
+            });
+        });
+        jdbcTemplate.update("DELETE FROM community_activity WHERE community_id = ?", communityId);
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        return rows.size();
+    }
+
+    // A cross-community thread shows up in both communities' feeds.
+    private void fanOut(CommunityThread thread, LocalDateTime happenedAt, String summary) {
+        record(new CommunityActivity(
+            thread.getSourceCommunityId(), happenedAt, THREAD_UPDATE, thread.getId(), thread.getTitle(), summary
+        ));
+        if (!thread.getTargetCommunityId().equals(thread.getSourceCommunityId())) {
+            record(new CommunityActivity(
+                thread.getTargetCommunityId(), happenedAt, THREAD_UPDATE, thread.getId(), thread.getTitle(), summary
+            ));
+        }
+    }
+
+    private void record(CommunityActivity activity) {
+        eventPublisher.publishEvent(new CommunityActivityEvent(activityRepository.save(activity)));
+    }
+}
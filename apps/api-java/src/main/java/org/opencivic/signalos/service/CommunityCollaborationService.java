@@ -2,68 +2,122 @@ package org.opencivic.signalos.service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.opencivic.signalos.domain.CommunityActivity;
 import org.opencivic.signalos.domain.CommunityBlogPost;
 import org.opencivic.signalos.domain.CommunityRole;
 import org.opencivic.signalos.domain.CommunityThread;
 import org.opencivic.signalos.domain.CommunityThreadMessage;
-import org.opencivic.signalos.domain.Signal;
 import org.opencivic.signalos.domain.User;
 import org.opencivic.signalos.exception.ResourceNotFoundException;
+import org.opencivic.signalos.repository.CommunityActivityRepository;
 import org.opencivic.signalos.repository.CommunityBlogPostRepository;
 import org.opencivic.signalos.repository.CommunityThreadMessageRepository;
 import org.opencivic.signalos.repository.CommunityThreadRepository;
-import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.CommunityThreadSummaryView;
 import org.opencivic.signalos.repository.UserRepository;
 import org.opencivic.signalos.web.dto.CommunityBlogPostResponse;
 import org.opencivic.signalos.web.dto.CommunityFeedItemResponse;
 import org.opencivic.signalos.web.dto.CommunityThreadMessageResponse;
 import org.opencivic.signalos.web.dto.CommunityThreadResponse;
+import org.opencivic.signalos.web.dto.CommunityThreadSummaryResponse;
+import org.opencivic.signalos.web.dto.CursorSlice;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CommunityCollaborationService {
+    static final int MAX_PAGE_SIZE = 100;
+    // Matches the substring length in CommunityThreadRepository.findSummariesByCommunityId minus one.
+    static final int PREVIEW_LENGTH = 140;
+    static final int FEED_LIMIT = 100;
+
     private final CommunityAccessService accessService;
     private final CommunityThreadRepository threadRepository;
     private final CommunityThreadMessageRepository messageRepository;
     private final CommunityBlogPostRepository blogPostRepository;
-    private final SignalRepository signalRepository;
     private final UserRepository userRepository;
+    private final ReactionCounter reactionCounter;
+    private final CommunityActivityRepository activityRepository;
+    private final CommunityActivityService activityService;
 
     public CommunityCollaborationService(
         CommunityAccessService accessService,
         CommunityThreadRepository threadRepository,
         CommunityThreadMessageRepository messageRepository,
         CommunityBlogPostRepository blogPostRepository,
-        SignalRepository signalRepository,
-        UserRepository userRepository
+        UserRepository userRepository,
+        ReactionCounter reactionCounter,
+        CommunityActivityRepository activityRepository,
+        CommunityActivityService activityService
     ) {
         this.accessService = accessService;
         this.threadRepository = threadRepository;
         this.messageRepository = messageRepository;
         this.blogPostRepository = blogPostRepository;
-        this.signalRepository = signalRepository;
         this.userRepository = userRepository;
+        this.reactionCounter = reactionCounter;
+        this.activityRepository = activityRepository;
+        this.activityService = activityService;
     }
 
     public List<CommunityThreadResponse> getThreads(UUID communityId, String username) {
-        User user = accessService.getCurrentUser(username);
-        accessService.requireMembership(user.getId(), communityId);
+        accessService.requireMember(username, communityId);
         return threadRepository.findBySourceCommunityIdOrTargetCommunityIdOrderByUpdatedAtDesc(communityId, communityId)
             .stream()
             .map(this::toThreadResponse)
             .toList();
     }
 
+    /** Threads of a community, most recently active first, without loading their messages. */
+    public Page<CommunityThreadSummaryResponse> getThreadSummaries(UUID communityId, int page, int size, String username) {
+        accessService.requireMember(username, communityId);
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        return threadRepository.findSummariesByCommunityId(communityId, pageable).map(this::toThreadSummaryResponse);
+    }
+
+    /** One slice of a thread's messages, oldest first, for members of either linked community. */
+    public CursorSlice<CommunityThreadMessageResponse> getMessagesAfter(
+        UUID threadId,
+        CreatedAtCursor cursor,
+        int size,
+        String username
+    ) {
+        CommunityThread thread = threadRepository.findById(threadId)
+            .orElseThrow(() -> new ResourceNotFoundException("Thread not found: " + threadId));
+        if (accessService.roleOf(username, thread.getSourceCommunityId()).isEmpty()) {
+            accessService.requireMember(username, thread.getTargetCommunityId());
+        }
+        CreatedAtCursor position = cursor == null ? CreatedAtCursor.START : cursor;
+        int sanitizedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<CommunityThreadMessage> rows = messageRepository.findByThreadIdAfter(
+            threadId, position.createdAt(), position.id(), PageRequest.of(0, sanitizedSize + 1)
+        );
+        boolean hasNext = rows.size() > sanitizedSize;
+        List<CommunityThreadMessage> page = hasNext ? rows.subList(0, sanitizedSize) : rows;
+        Map<UUID, Map<String, Integer>> reactions = reactionCounter.counts(
+            ReactionCounter.Target.MESSAGE,
+            page.stream().map(CommunityThreadMessage::getId).toList()
+        );
+        String nextCursor = null;
+        if (hasNext) {
+            CommunityThreadMessage last = page.get(page.size() - 1);
+            nextCursor = new CreatedAtCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        List<CommunityThreadMessageResponse> content = page.stream()
+            .map(message -> toMessageResponse(message, reactions.getOrDefault(message.getId(), Map.of())))
+            .toList();
+        return new CursorSlice<>(content, sanitizedSize, hasNext, nextCursor);
+    }
+
     @Transactional
     public CommunityThreadResponse createThread(
         UUID sourceCommunityId,
@@ -72,18 +126,19 @@ public class CommunityCollaborationService {
         String title,
         String username
     ) {
-        User user = accessService.getCurrentUser(username);
-        accessService.requireMembership(user.getId(), sourceCommunityId);
-        accessService.requireMembership(user.getId(), targetCommunityId);
+        UUID userId = accessService.currentUserId(username);
+        accessService.requireMember(username, sourceCommunityId);
+        accessService.requireMember(username, targetCommunityId);
         CommunityThread thread = new CommunityThread();
         thread.setSourceCommunityId(sourceCommunityId);
         thread.setTargetCommunityId(targetCommunityId);
         thread.setRelatedSignalId(relatedSignalId);
         thread.setTitle(title);
-        thread.setCreatedBy(user.getId());
+        thread.setCreatedBy(userId);
         thread.setCreatedAt(LocalDateTime.now());
         thread.setUpdatedAt(LocalDateTime.now());
         CommunityThread saved = threadRepository.save(thread);
+        activityService.recordThreadOpened(saved);
         return toThreadResponse(saved);
     }
 
@@ -94,9 +149,9 @@ public class CommunityCollaborationService {
         String content,
         String username
     ) {
-        User user = accessService.getCurrentUser(username);
+        UUID userId = accessService.currentUserId(username);
         accessService.requireAnyRole(
-            user.getId(),
+            username,
             sourceCommunityId,
             Set.of(
                 CommunityRole.MEMBER,
@@ -115,13 +170,14 @@ public class CommunityCollaborationService {
         }
         CommunityThreadMessage message = new CommunityThreadMessage();
         message.setThreadId(threadId);
-        message.setAuthorId(user.getId());
+        message.setAuthorId(userId);
         message.setSourceCommunityId(sourceCommunityId);
         message.setContent(content);
         message.setCreatedAt(LocalDateTime.now());
         CommunityThreadMessage saved = messageRepository.save(message);
         thread.setUpdatedAt(LocalDateTime.now());
         threadRepository.save(thread);
+        activityService.recordThreadMessage(thread, saved);
         return toMessageResponse(saved);
     }
 
@@ -133,11 +189,11 @@ public class CommunityCollaborationService {
         String reason,
         String username
     ) {
-        User user = accessService.getCurrentUser(username);
+        UUID userId = accessService.currentUserId(username);
         CommunityThread thread = threadRepository.findById(threadId)
             .orElseThrow(() -> new ResourceNotFoundException("Thread not found: " + threadId));
-        boolean canModerateSource = hasModerationRole(user.getId(), thread.getSourceCommunityId());
-        boolean canModerateTarget = hasModerationRole(user.getId(), thread.getTargetCommunityId());
+        boolean canModerateSource = hasModerationRole(username, thread.getSourceCommunityId());
+        boolean canModerateTarget = hasModerationRole(username, thread.getTargetCommunityId());
         if (!canModerateSource && !canModerateTarget) {
             throw new org.springframework.security.access.AccessDeniedException(
                 "Moderator or coordinator role required."
@@ -147,7 +203,7 @@ public class CommunityCollaborationService {
             .orElseThrow(() -> new ResourceNotFoundException("Thread message not found: " + messageId));
         message.setHidden(hidden);
         message.setModerationReason(reason);
-        message.setHiddenBy(user.getId());
+        message.setHiddenBy(userId);
         message.setHiddenAt(LocalDateTime.now());
         CommunityThreadMessage saved = messageRepository.save(message);
         thread.setUpdatedAt(LocalDateTime.now());
@@ -156,8 +212,7 @@ public class CommunityCollaborationService {
     }
 
     public List<CommunityBlogPostResponse> getBlogTimeline(UUID communityId, String username) {
-        User user = accessService.getCurrentUser(username);
-        accessService.requireMembership(user.getId(), communityId);
+        accessService.requireMember(username, communityId);
         List<CommunityBlogPost> posts = blogPostRepository.findByCommunityIdOrderByPublishedAtDesc(communityId);
         
         Set<UUID> authorIds = posts.stream().map(CommunityBlogPost::getAuthorId).collect(Collectors.toSet());
@@ -177,21 +232,23 @@ public class CommunityCollaborationService {
         String statusTag,
         String username
     ) {
-        User user = accessService.getCurrentUser(username);
+        UUID userId = accessService.currentUserId(username);
         accessService.requireAnyRole(
-            user.getId(),
+            username,
             communityId,
             Set.of(CommunityRole.PUBLIC_SERVANT_LIAISON, CommunityRole.COORDINATOR)
         );
         CommunityBlogPost post = new CommunityBlogPost();
         post.setCommunityId(communityId);
-        post.setAuthorId(user.getId());
+        post.setAuthorId(userId);
         post.setTitle(title);
         post.setContent(content);
         post.setStatusTag(statusTag);
         post.setPublishedAt(LocalDateTime.now());
         post.setUpdatedAt(LocalDateTime.now());
-        return toBlogResponse(blogPostRepository.save(post));
+        CommunityBlogPost saved = blogPostRepository.save(post);
+        activityService.recordBlogPost(saved);
+        return toBlogResponse(saved);
     }
 
     @Transactional
@@ -202,11 +259,10 @@ public class CommunityCollaborationService {
         String statusTag,
         String username
     ) {
-        User user = accessService.getCurrentUser(username);
         CommunityBlogPost post = blogPostRepository.findById(postId)
             .orElseThrow(() -> new ResourceNotFoundException("Community blog post not found: " + postId));
         accessService.requireAnyRole(
-            user.getId(),
+            username,
             post.getCommunityId(),
             Set.of(CommunityRole.PUBLIC_SERVANT_LIAISON, CommunityRole.COORDINATOR)
         );
@@ -218,79 +274,61 @@ public class CommunityCollaborationService {
     }
 
     public List<CommunityFeedItemResponse> getCommunityFeed(UUID communityId, int days, String username) {
-        User user = accessService.getCurrentUser(username);
-        accessService.requireMembership(user.getId(), communityId);
-        LocalDateTime since = LocalDateTime.now().minusDays(Math.max(1, days));
-
-        List<CommunityFeedItemResponse> items = new ArrayList<>();
-        PageRequest limited = PageRequest.of(0, 50);
-
-        signalRepository.findByCommunityIdOrderByCreatedAtDesc(communityId, limited).stream()
-            .filter(signal -> signal.getCreatedAt() != null && signal.getCreatedAt().isAfter(since))
-            .forEach(signal -> items.add(
-                new CommunityFeedItemResponse(
-                    "signal",
-                    signal.getId(),
-                    communityId,
-                    signal.getTitle(),
-                    signal.getStatus(),
-                    signal.getCreatedAt(),
-                    freshness(signal.getCreatedAt())
-                )
-            ));
-
-        blogPostRepository.findByCommunityIdOrderByPublishedAtDesc(communityId, limited).stream()
-            .filter(post -> post.getPublishedAt() != null && post.getPublishedAt().isAfter(since))
-            .forEach(post -> items.add(
-                new CommunityFeedItemResponse(
-                    "blog",
-                    post.getId(),
-                    communityId,
-                    post.getTitle(),
-                    post.getStatusTag(),
-                    post.getPublishedAt(),
-                    freshness(post.getPublishedAt())
-                )
-            ));
+        return getCommunityFeedAfter(communityId, days, FeedCursor.START, FEED_LIMIT, username).content();
+    }
 
-        threadRepository.findBySourceCommunityIdOrTargetCommunityIdOrderByUpdatedAtDesc(communityId, communityId, limited).stream()
-            .filter(thread -> thread.getUpdatedAt() != null && thread.getUpdatedAt().isAfter(since))
-            .forEach(thread -> items.add(
-                new CommunityFeedItemResponse(
-                    "thread-update",
-                    thread.getId(),
-                    communityId,
-                    thread.getTitle(),
-                    "cross-community update",
-                    thread.getUpdatedAt(),
-                    freshness(thread.getUpdatedAt())
-                )
-            ));
+    /** One slice of the community feed, newest first, read from community_activity with one range scan. */
+    public CursorSlice<CommunityFeedItemResponse> getCommunityFeedAfter(
+        UUID communityId,
+        int days,
+        FeedCursor cursor,
+        int size,
+        String username
+    ) {
+        accessService.requireMember(username, communityId);
+        LocalDateTime since = LocalDateTime.now().minusDays(Math.max(1, days));
+        FeedCursor position = cursor == null ? FeedCursor.START : cursor;
+        int sanitizedSize = Math.max(1, Math.min(size, FEED_LIMIT));
 
-        return items.stream()
-            .sorted(Comparator.comparing(CommunityFeedItemResponse::happenedAt).reversed())
-            .limit(100)
+        List<CommunityActivity> rows = activityRepository.findFeedPage(
+            communityId, since, position.happenedAt(), position.id(), PageRequest.of(0, sanitizedSize + 1)
+        );
+        boolean hasNext = rows.size() > sanitizedSize;
+        List<CommunityActivity> page = hasNext ? rows.subList(0, sanitizedSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            // The cursor carries the activity id: one subject can have several entries.
+            CommunityActivity last = page.get(page.size() - 1);
+            nextCursor = new FeedCursor(last.getHappenedAt(), last.getId()).encode();
+        }
+        List<CommunityFeedItemResponse> items = page.stream()
+            .map(activity -> new CommunityFeedItemResponse(
+                activity.getActivityType(),
+                activity.getSubjectId(),
+                communityId,
+                activity.getTitle(),
+                activity.getSummary(),
+                activity.getHappenedAt(),
+                freshness(activity.getHappenedAt())
+            ))
             .toList();
+        return new CursorSlice<>(items, sanitizedSize, hasNext, nextCursor);
     }
 
-    private boolean hasModerationRole(UUID userId, UUID communityId) {
-        try {
-            accessService.requireAnyRole(
-                userId,
-                communityId,
-                Set.of(CommunityRole.MODERATOR, CommunityRole.COORDINATOR)
-            );
-            return true;
-        } catch (RuntimeException ex) {
-            return false;
-        }
+    private boolean hasModerationRole(String username, UUID communityId) {
+        return accessService.roleOf(username, communityId)
+            .filter(role -> role == CommunityRole.MODERATOR || role == CommunityRole.COORDINATOR)
+            .isPresent();
     }
 
     private CommunityThreadResponse toThreadResponse(CommunityThread thread) {
-        List<CommunityThreadMessageResponse> messages = messageRepository
-            .findByThreadIdOrderByCreatedAtAsc(thread.getId())
-            .stream()
-            .map(this::toMessageResponse)
+        List<CommunityThreadMessage> threadMessages = messageRepository.findByThreadIdOrderByCreatedAtAsc(thread.getId());
+        Map<UUID, Map<String, Integer>> reactions = reactionCounter.counts(
+            ReactionCounter.Target.MESSAGE,
+            threadMessages.stream().map(CommunityThreadMessage::getId).toList()
+        );
+        List<CommunityThreadMessageResponse> messages = threadMessages.stream()
+            .map(message -> toMessageResponse(message, reactions.getOrDefault(message.getId(), Map.of())))
             .toList();
         return new CommunityThreadResponse(
             thread.getId(),
@@ -312,19 +350,51 @@ public class CommunityCollaborationService {
         String reactionType,
         String username
     ) {
-        User user = accessService.getCurrentUser(username);
+        accessService.currentUserId(username);
         CommunityThreadMessage message = messageRepository.findById(messageId)
             .orElseThrow(() -> new ResourceNotFoundException("Thread message not found: " + messageId));
-        
-        Map<String, Integer> reactions = message.getReactions();
-        reactions.put(reactionType, reactions.getOrDefault(reactionType, 0) + 1);
-        message.setReactions(reactions);
-        
-        CommunityThreadMessage saved = messageRepository.save(message);
-        return toMessageResponse(saved);
+        // The message row is only read for the response; the count is a relative upsert on message_reactions.
+        Map<String, Integer> reactions = reactionCounter.react(ReactionCounter.Target.MESSAGE, messageId, reactionType);
+        return toMessageResponse(message, reactions);
+    }
+
+    private CommunityThreadSummaryResponse toThreadSummaryResponse(CommunityThreadSummaryView view) {
+        CommunityThreadSummaryResponse.LastMessage lastMessage = null;
+        if (view.lastMessageId() != null) {
+            boolean hidden = Boolean.TRUE.equals(view.lastMessageHidden());
+            String preview = view.lastMessagePreview();
+            if (hidden) {
+                preview = null;
+            } else if (preview != null && preview.length() > PREVIEW_LENGTH) {
+                preview = preview.substring(0, PREVIEW_LENGTH) + "…";
+            }
+            lastMessage = new CommunityThreadSummaryResponse.LastMessage(
+                view.lastMessageId(),
+                view.lastMessageAuthorId(),
+                preview,
+                hidden,
+                view.lastMessageAt()
+            );
+        }
+        return new CommunityThreadSummaryResponse(
+            view.id(),
+            view.sourceCommunityId(),
+            view.targetCommunityId(),
+            view.relatedSignalId(),
+            view.title(),
+            view.createdBy(),
+            view.createdAt(),
+            view.updatedAt(),
+            view.messageCount(),
+            lastMessage
+        );
     }
 
     private CommunityThreadMessageResponse toMessageResponse(CommunityThreadMessage message) {
+        return toMessageResponse(message, reactionCounter.counts(ReactionCounter.Target.MESSAGE, message.getId()));
+    }
+
+    private CommunityThreadMessageResponse toMessageResponse(CommunityThreadMessage message, Map<String, Integer> reactions) {
         return new CommunityThreadMessageResponse(
             message.getId(),
             message.getThreadId(),
@@ -336,7 +406,7 @@ public class CommunityCollaborationService {
             message.getHiddenBy(),
             message.getHiddenAt(),
             message.getCreatedAt(),
-            message.getReactions()
+            reactions
         );
     }
 
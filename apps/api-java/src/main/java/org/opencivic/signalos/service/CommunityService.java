@@ -5,14 +5,20 @@ import java.util.UUID;
 import org.opencivic.signalos.domain.Community;
 import org.opencivic.signalos.domain.CommunityMembership;
 import org.opencivic.signalos.domain.CommunityMembershipAudit;
+import org.opencivic.signalos.domain.CommunityMembershipChangedEvent;
 import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.ScoringProfile;
+import org.opencivic.signalos.domain.ScoringProfileChangedEvent;
 import org.opencivic.signalos.domain.User;
 import org.opencivic.signalos.exception.ResourceNotFoundException;
 import org.opencivic.signalos.repository.CommunityMembershipAuditRepository;
 import org.opencivic.signalos.repository.CommunityMembershipRepository;
 import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.SignalRepository;
 import org.opencivic.signalos.repository.UserRepository;
 import org.opencivic.signalos.web.dto.CommunityMembershipResponse;
+import org.opencivic.signalos.web.dto.ScoringProfileResponse;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,24 +30,29 @@ public class CommunityService {
     private final CommunityMembershipAuditRepository membershipAuditRepository;
     private final UserRepository userRepository;
     private final CommunityAccessService accessService;
+    private final SignalRepository signalRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CommunityService(
         CommunityRepository communityRepository,
         CommunityMembershipRepository membershipRepository,
         CommunityMembershipAuditRepository membershipAuditRepository,
         UserRepository userRepository,
-        CommunityAccessService accessService
+        CommunityAccessService accessService,
+        SignalRepository signalRepository,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.communityRepository = communityRepository;
         this.membershipRepository = membershipRepository;
         this.membershipAuditRepository = membershipAuditRepository;
         this.userRepository = userRepository;
         this.accessService = accessService;
+        this.signalRepository = signalRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<CommunityMembershipResponse> getMyMemberships(String username) {
-        User user = accessService.getCurrentUser(username);
-        return membershipRepository.findByUserId(user.getId()).stream()
+        return membershipRepository.findByUserId(accessService.currentUserId(username)).stream()
             .map(this::toResponse)
             .toList();
     }
@@ -52,7 +63,7 @@ public class CommunityService {
 
     @Transactional
     public Community createCommunity(String name, String slug, String description, String username) {
-        User user = accessService.getCurrentUser(username);
+        UUID userId = accessService.currentUserId(username);
         Community community = new Community();
         community.setName(name);
         community.setSlug(slug);
@@ -61,31 +72,33 @@ public class CommunityService {
 
         CommunityMembership membership = new CommunityMembership();
         membership.setCommunityId(savedCommunity.getId());
-        membership.setUserId(user.getId());
+        membership.setUserId(userId);
         membership.setRole(CommunityRole.COORDINATOR);
-        membership.setCreatedBy(user.getId());
+        membership.setCreatedBy(userId);
         membershipRepository.save(membership);
-        saveAudit(savedCommunity.getId(), user.getId(), user.getId(), null, CommunityRole.COORDINATOR);
+        saveAudit(savedCommunity.getId(), userId, userId, null, CommunityRole.COORDINATOR);
+        membershipChanged(userId, username, savedCommunity.getId(), CommunityRole.COORDINATOR);
         return savedCommunity;
     }
 
     @Transactional
     public CommunityMembershipResponse joinCommunity(UUID communityId, CommunityRole role, String username) {
-        User user = accessService.getCurrentUser(username);
+        UUID userId = accessService.currentUserId(username);
         communityRepository.findById(communityId)
             .orElseThrow(() -> new ResourceNotFoundException("Community not found: " + communityId));
         CommunityMembership membership = new CommunityMembership();
         membership.setCommunityId(communityId);
-        membership.setUserId(user.getId());
+        membership.setUserId(userId);
         membership.setRole(role);
-        membership.setCreatedBy(user.getId());
+        membership.setCreatedBy(userId);
         try {
             CommunityMembership saved = membershipRepository.save(membership);
-            saveAudit(communityId, user.getId(), user.getId(), null, role);
+            saveAudit(communityId, userId, userId, null, role);
+            membershipChanged(userId, username, communityId, role);
             return toResponse(saved);
         } catch (DataIntegrityViolationException ex) {
             CommunityMembership existing = membershipRepository
-                .findByUserIdAndCommunityId(user.getId(), communityId)
+                .findByUserIdAndCommunityId(userId, communityId)
                 .orElseThrow(() -> ex);
             return toResponse(existing);
         }
@@ -98,13 +111,13 @@ public class CommunityService {
         CommunityRole role,
         String username
     ) {
-        User actor = accessService.getCurrentUser(username);
+        UUID actorId = accessService.currentUserId(username);
         accessService.requireAnyRole(
-            actor.getId(),
+            username,
             communityId,
             java.util.Set.of(CommunityRole.COORDINATOR)
         );
-        userRepository.findById(targetUserId)
+        User target = userRepository.findById(targetUserId)
             .orElseThrow(() -> new ResourceNotFoundException("Target user not found: " + targetUserId));
         CommunityMembership membership = membershipRepository
             .findByUserIdAndCommunityId(targetUserId, communityId)
@@ -114,10 +127,45 @@ public class CommunityService {
         CommunityRole previousRole = membership.getRole();
         membership.setRole(role);
         CommunityMembership saved = membershipRepository.save(membership);
-        saveAudit(communityId, targetUserId, actor.getId(), previousRole, role);
+        saveAudit(communityId, targetUserId, actorId, previousRole, role);
+        membershipChanged(targetUserId, target.getUsername(), communityId, role);
         return toResponse(saved);
     }
 
+    public ScoringProfileResponse getScoringProfile(UUID communityId) {
+        Community community = communityRepository.findById(communityId)
+            .orElseThrow(() -> new ResourceNotFoundException("Community not found: " + communityId));
+        return toResponse(communityId, community.getScoringProfile());
+    }
+
+    /**
+     * Replaces the community's scoring profile (null restores the default). Its signals are marked outdated
+     * and re-scored in the background once this commits; until then they keep their previous score.
+     */
+    @Transactional
+    public ScoringProfileResponse updateScoringProfile(UUID communityId, ScoringProfile profile, String username) {
+        Community community = communityRepository.findById(communityId)
+            .orElseThrow(() -> new ResourceNotFoundException("Community not found: " + communityId));
+        accessService.requireAnyRole(
+            username,
+            communityId,
+            java.util.Set.of(CommunityRole.COORDINATOR)
+        );
+        community.setScoringProfile(profile);
+        communityRepository.save(community);
+        signalRepository.markScoresOutdatedByCommunityId(communityId);
+        eventPublisher.publishEvent(new ScoringProfileChangedEvent(communityId, profile));
+        return toResponse(communityId, profile);
+    }
+
+    // Access tokens embed community roles: bumping the version makes the user's current tokens stale. Once this
+    // commits, the event writes the new role into the membership cache and drops the user's cached principals,
+    // so their next request forces a token refresh.
+    private void membershipChanged(UUID userId, String username, UUID communityId, CommunityRole role) {
+        userRepository.incrementMembershipVersion(userId);
+        eventPublisher.publishEvent(new CommunityMembershipChangedEvent(userId, username, communityId, role));
+    }
+
     private void saveAudit(
         UUID communityId,
         UUID targetUserId,
@@ -149,4 +197,20 @@ public class CommunityService {
             membership.getCreatedAt()
         );
     }
+
+    private ScoringProfileResponse toResponse(UUID communityId, ScoringProfile profile) {
+        ScoringProfile effective = profile == null ? ScoringProfile.DEFAULT : profile;
+        return new ScoringProfileResponse(
+            communityId,
+            effective.name(),
+            effective.urgencyWeight(),
+            effective.impactWeight(),
+            effective.peopleDivisor(),
+            effective.peopleCap(),
+            effective.votesDivisor(),
+            effective.votesCap(),
+            CompiledScoringProfile.compile(effective).formula(),
+            profile == null
+        );
+    }
 }
@@ -0,0 +1,85 @@
+package org.opencivic.signalos.service;
+
+import java.math.BigDecimal;
+import org.opencivic.signalos.domain.ScoreBreakdown;
+import org.opencivic.signalos.domain.ScoringProfile;
+
+/**
+ * A {@link ScoringProfile} flattened into one primitive array at load time. Evaluation is straight-line
+ * arithmetic over the array: no boxing, no lookups, and the array is never mutated, so a compiled profile
+ * can be shared by any number of threads and replaced by reference.
+ */
+final class CompiledScoringProfile {
+
+    private static final int URGENCY_WEIGHT = 0;
+    private static final int IMPACT_WEIGHT = 1;
+    private static final int PEOPLE_SCALE = 2;
+    private static final int PEOPLE_CAP = 3;
+    private static final int VOTES_SCALE = 4;
+    private static final int VOTES_CAP = 5;
+
+    static final CompiledScoringProfile DEFAULT = compile(ScoringProfile.DEFAULT);
+
+    private final String name;
+    private final String formula;
+    private final double[] terms;
+
+    private CompiledScoringProfile(String name, String formula, double[] terms) {
+        this.name = name;
+        this.formula = formula;
+        this.terms = terms;
+    }
+
+    static CompiledScoringProfile compile(ScoringProfile profile) {
+        double[] terms = new double[6];
+        terms[URGENCY_WEIGHT] = profile.urgencyWeight();
+        terms[IMPACT_WEIGHT] = profile.impactWeight();
+        terms[PEOPLE_SCALE] = profile.peopleDivisor();
+        terms[PEOPLE_CAP] = profile.peopleCap();
+        terms[VOTES_SCALE] = profile.votesDivisor();
+        terms[VOTES_CAP] = profile.votesCap();
+        String formula = "(Urgency * " + format(profile.urgencyWeight()) + ") + (Impact * " + format(profile.impactWeight())
+            + ") + min(People/" + format(profile.peopleDivisor()) + ", " + format(profile.peopleCap())
+            + ") + min(Votes/" + format(profile.votesDivisor()) + ", " + format(profile.votesCap()) + ")";
+        return new CompiledScoringProfile(profile.name(), formula, terms);
+    }
+
+    String name() {
+        return name;
+    }
+
+    String formula() {
+        return formula;
+    }
+
+    double votesDivisor() {
+        return terms[VOTES_SCALE];
+    }
+
+    double votesCap() {
+        return terms[VOTES_CAP];
+    }
+
+    double score(int urgency, int impact, int affectedPeople, int communityVotes) {
+        double[] t = terms;
+        return urgency * t[URGENCY_WEIGHT]
+            + impact * t[IMPACT_WEIGHT]
+            + Math.min(affectedPeople / t[PEOPLE_SCALE], t[PEOPLE_CAP])
+            + Math.min(communityVotes / t[VOTES_SCALE], t[VOTES_CAP]);
+    }
+
+    ScoreBreakdown breakdown(int urgency, int impact, int affectedPeople, int communityVotes) {
+        double[] t = terms;
+        return new ScoreBreakdown(
+            urgency * t[URGENCY_WEIGHT],
+            impact * t[IMPACT_WEIGHT],
+            Math.min(affectedPeople / t[PEOPLE_SCALE], t[PEOPLE_CAP]),
+            Math.min(communityVotes / t[VOTES_SCALE], t[VOTES_CAP])
+        );
+    }
+
+    // 30.0 -> "30", 2.5 -> "2.5", so the default profile renders exactly as the historical formula string.
+    private static String format(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,53 @@
+package org.opencivic.signalos.service;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in an oldest-first listing such as comments or thread messages: the last (createdAt, id)
+ * a client has seen.
+ * Encoded as URL-safe Base64 so clients treat it as opaque.
+ */
+public record CreatedAtCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    // Sorts before every real row, so the first page uses the same seek query as the rest.
+    public static final CreatedAtCursor START = new CreatedAtCursor(LocalDateTime.of(1, 1, 1, 0, 0), new UUID(0L, 0L));
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+            .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+            .putInt(createdAt.getNano())
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static CreatedAtCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed cursor.");
+        }
+        if (raw.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Malformed cursor.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        LocalDateTime createdAt;
+        try {
+            createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Malformed cursor.");
+        }
+        return new CreatedAtCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
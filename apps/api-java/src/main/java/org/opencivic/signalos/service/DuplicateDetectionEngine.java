@@ -0,0 +1,597 @@
+package org.opencivic.signalos.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.SignalChangedEvent;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Candidate generator for near-duplicate signal titles.
+ * Each open signal is sketched once when it changes: a MinHash signature of its normalized title's character
+ * 3-gram shingles, filed into LSH band buckets per scope and category, plus the token and window hashes the exact
+ * filters need. A duplicate search takes a {@link Candidates} snapshot of one scope and probes it per signal, so
+ * only pairs that can pass {@link TitleSimilarity} are ever compared.
+ */
+@Component
+public class DuplicateDetectionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionEngine.class);
+
+    static final Set<String> OPEN_STATUSES = Set.of("NEW", "IN_PROGRESS");
+
+    // 48 hashes at a 0.5 shingle-Jaccard target give 12 bands of 4 rows (S-curve threshold ~0.54): a pair at
+    // Jaccard 0.7 collides in some band 99% of the time, a pair at 0.3 about 9%.
+    private static final double TARGET_JACCARD = 0.5;
+    private static final int SIGNATURE_LENGTH = 48;
+    static final int ROWS = rowsFor(TARGET_JACCARD, SIGNATURE_LENGTH);
+    static final int BANDS = SIGNATURE_LENGTH / ROWS;
+    // Larger buckets hold near-identical titles; they are not scanned, the exact filters still pair their members.
+    private static final int MAX_BUCKET_SCAN = 128;
+    private static final int SHINGLE = 3;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final long[] SEEDS = new long[SIGNATURE_LENGTH];
+    private static final long[] NONE = new long[0];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5167_4e41_4c4f_53L);
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private record BandKey(String category, int band, long hash) {}
+
+    private record TitleKey(String category, String normalized) {}
+
+    // tokens and windows are salted with the category, so equal hashes never pair signals across categories.
+    private record Entry(
+        UUID communityId,
+        String category,
+        String normalized,
+        long[] tokens,
+        long[] windows,
+        long[] bandHashes
+    ) {}
+
+    private static final class Scope {
+        private final Set<UUID> members = new HashSet<>();
+        private final Map<BandKey, Set<UUID>> buckets = new HashMap<>();
+    }
+
+    private final SignalRepository signalRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<UUID, Scope> communities = new HashMap<>();
+    private final Scope global = new Scope();
+
+    public DuplicateDetectionEngine(SignalRepository signalRepository) {
+        this.signalRepository = signalRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        int indexed = 0;
+        Page<Signal> batch = signalRepository.findByStatusIn(
+            OPEN_STATUSES, PageRequest.of(0, LOAD_BATCH_SIZE, Sort.by("id"))
+        );
+        while (true) {
+            for (Signal signal : batch.getContent()) {
+                index(signal);
+                indexed++;
+            }
+            if (!batch.hasNext()) {
+                break;
+            }
+            batch = signalRepository.findByStatusIn(OPEN_STATUSES, batch.nextPageable());
+        }
+        log.info("Duplicate detection index warmed with {} open signals", indexed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSignalChanged(SignalChangedEvent event) {
+        if (event.type() == SignalChangedEvent.Type.DELETED) {
+            remove(event.signalId());
+        } else {
+            index(event.snapshot());
+        }
+    }
+
+    public void index(Signal signal) {
+        if (!OPEN_STATUSES.contains(signal.getStatus()) || signal.getCategory() == null) {
+            remove(signal.getId());
+            return;
+        }
+        String normalized = TitleSimilarity.normalizeTitle(signal.getTitle());
+        if (normalized.isBlank()) {
+            remove(signal.getId());
+            return;
+        }
+        String category = signal.getCategory().toLowerCase(Locale.ROOT);
+        long salt = mix(category.hashCode());
+        Entry entry = new Entry(
+            signal.getCommunityId(),
+            category,
+            normalized,
+            salted(TitleSimilarity.tokenHashes(normalized), salt),
+            salted(windowHashes(normalized), salt),
+            bandHashes(minHash(normalized))
+        );
+        lock.writeLock().lock();
+        try {
+            unfile(signal.getId(), entries.remove(signal.getId()));
+            entries.put(signal.getId(), entry);
+            file(signal.getId(), entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID signalId) {
+        lock.writeLock().lock();
+        try {
+            unfile(signalId, entries.remove(signalId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Open signals of the scope (a community, or every community when null) and a way to ask for each one's
+     * candidates. Candidates still need the exact {@link TitleSimilarity} check.
+     */
+    public Candidates candidates(UUID communityId) {
+        List<UUID> ids = new ArrayList<>();
+        List<Entry> snapshot = new ArrayList<>();
+        Scope scope;
+        lock.readLock().lock();
+        try {
+            scope = communityId == null ? global : communities.get(communityId);
+            if (scope != null) {
+                for (UUID id : scope.members) {
+                    ids.add(id);
+                    snapshot.add(entries.get(id));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Candidates(scope, ids, snapshot);
+    }
+
+    /**
+     * Near-duplicate groups of a scope's open signals, keyed by the highest-ranked signal of each group. Candidates
+     * come from the index; current rows decide, so stale sketches can never produce a match.
+     */
+    public Map<UUID, List<Signal>> findDuplicates(UUID communityId) {
+        Candidates candidates = candidates(communityId);
+        if (candidates.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<UUID> ids = candidates.ids();
+        List<Signal> signals = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + LOAD_BATCH_SIZE));
+            for (Signal signal : signalRepository.findAllById(chunk)) {
+                if (OPEN_STATUSES.contains(signal.getStatus())
+                    && (communityId == null || communityId.equals(signal.getCommunityId()))) {
+                    signals.add(signal);
+                }
+            }
+        }
+        signals.sort(Comparator.comparingDouble(Signal::getPriorityScore).reversed().thenComparing(Signal::getId));
+        return group(signals, candidates);
+    }
+
+    /**
+     * Groups signals ranked best-first the way the all-pairs scan did: every signal not already listed as a
+     * duplicate keeps each lower-ranked candidate that passes the exact check. Only those signals probe, so a
+     * large cluster is resolved once, by its head.
+     */
+    static Map<UUID, List<Signal>> group(List<Signal> ranked, Candidates candidates) {
+        int[] rankAt = new int[candidates.ids().size()];
+        Arrays.fill(rankAt, -1);
+        int[] positions = new int[ranked.size()];
+        List<TitleSimilarity.Fingerprint> fingerprints = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            positions[i] = candidates.position(ranked.get(i).getId());
+            if (positions[i] >= 0) {
+                rankAt[positions[i]] = i;
+            }
+            fingerprints.add(TitleSimilarity.fingerprint(ranked.get(i)));
+        }
+
+        Map<UUID, List<Signal>> duplicates = new HashMap<>();
+        boolean[] processed = new boolean[ranked.size()];
+        List<Integer> later = new ArrayList<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            if (processed[i] || positions[i] < 0) {
+                continue;
+            }
+            int head = i;
+            later.clear();
+            candidates.probe(positions[i], other -> {
+                int j = rankAt[other];
+                if (j > head && TitleSimilarity.isSimilar(fingerprints.get(head), fingerprints.get(j))) {
+                    later.add(j);
+                }
+            });
+            if (!later.isEmpty()) {
+                later.sort(null);
+                List<Signal> dups = new ArrayList<>(later.size());
+                for (int j : later) {
+                    dups.add(ranked.get(j));
+                    processed[j] = true;
+                }
+                duplicates.put(ranked.get(i).getId(), dups);
+                processed[i] = true;
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * One scope's signals at the time of the search. A pair is proposed when it shares an LSH bucket or when it
+     * could pass one of the exact rules: an equal title, one title containing the other, or enough shared tokens.
+     * The exact rules are indexed with prefix filters, so every pair {@link TitleSimilarity} accepts is proposed.
+     * Not thread-safe; each search takes its own.
+     */
+    public final class Candidates {
+
+        private final Scope scope;
+        private final List<UUID> ids;
+        private final List<Entry> snapshot;
+        private final Map<UUID, Integer> positions;
+        private final Map<TitleKey, List<Integer>> byTitle = new HashMap<>();
+        private final PrefixFilter tokens;
+        private final PrefixFilter windows;
+        private final int[] seen;
+        private int stamp;
+
+        private Candidates(Scope scope, List<UUID> ids, List<Entry> snapshot) {
+            this.scope = scope;
+            this.ids = ids;
+            this.snapshot = snapshot;
+            this.positions = new HashMap<>(ids.size() * 2);
+            long[][] tokenSets = new long[ids.size()][];
+            long[][] windowSets = new long[ids.size()][];
+            for (int i = 0; i < ids.size(); i++) {
+                Entry entry = snapshot.get(i);
+                positions.put(ids.get(i), i);
+                byTitle.computeIfAbsent(new TitleKey(entry.category(), entry.normalized()), key -> new ArrayList<>()).add(i);
+                tokenSets[i] = entry.tokens();
+                windowSets[i] = entry.windows();
+            }
+            // Overlap is measured against the smaller set, so it can miss all but minSharedTokens of its tokens.
+            this.tokens = new PrefixFilter(tokenSets, size -> size - TitleSimilarity.minSharedTokens(size) + 1);
+            // A contained title shares every window with its container, so its rarest one is enough.
+            this.windows = new PrefixFilter(windowSets, size -> 1);
+            this.seen = new int[ids.size()];
+        }
+
+        /** Every open signal in the scope. */
+        public List<UUID> ids() {
+            return ids;
+        }
+
+        public boolean isEmpty() {
+            return ids.size() < 2;
+        }
+
+        /** Candidates of one signal of the snapshot, without the signal itself; symmetric. */
+        public List<UUID> of(UUID signalId) {
+            int position = position(signalId);
+            if (position < 0) {
+                return List.of();
+            }
+            List<UUID> found = new ArrayList<>();
+            probe(position, other -> found.add(ids.get(other)));
+            return found;
+        }
+
+        int position(UUID signalId) {
+            Integer position = positions.get(signalId);
+            return position == null ? -1 : position;
+        }
+
+        // Reports each candidate position once.
+        void probe(int query, IntConsumer consumer) {
+            stamp++;
+            seen[query] = stamp;
+            IntConsumer once = other -> {
+                if (seen[other] != stamp) {
+                    seen[other] = stamp;
+                    consumer.accept(other);
+                }
+            };
+            Entry entry = snapshot.get(query);
+            for (int other : byTitle.get(new TitleKey(entry.category(), entry.normalized()))) {
+                once.accept(other);
+            }
+            tokens.probe(query, once);
+            windows.probe(query, once);
+            probeBuckets(entry, once);
+        }
+
+        private void probeBuckets(Entry entry, IntConsumer consumer) {
+            lock.readLock().lock();
+            try {
+                for (int band = 0; band < BANDS; band++) {
+                    Set<UUID> bucket = scope.buckets.get(new BandKey(entry.category(), band, entry.bandHashes()[band]));
+                    if (bucket == null || bucket.size() > MAX_BUCKET_SCAN) {
+                        continue;
+                    }
+                    for (UUID member : bucket) {
+                        Integer other = positions.get(member);
+                        if (other != null) {
+                            consumer.accept(other);
+                        }
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Prefix filter for a threshold join over hash sets. Elements are ordered by how many sets contain them, rarest
+     * first, and each set is filed under its first few: as many as a partner may lack and still meet the threshold,
+     * plus one. Two sets meeting the threshold then share an element that at least one of them is filed under, and
+     * since common elements come last, filed lists stay short even when titles repeat the same words.
+     */
+    private static final class PrefixFilter {
+
+        // Elements are replaced by their index in the sorted distinct element array; lists are stored CSR-style.
+        private final int[][] sets;
+        private final int[][] prefixes;
+        private final int[] filedStart;
+        private final int[] filed;
+        private final int[] containingStart;
+        private final int[] containing;
+
+        private PrefixFilter(long[][] hashes, IntUnaryOperator prefixLength) {
+            int total = 0;
+            for (long[] set : hashes) {
+                total += set.length;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (long[] set : hashes) {
+                System.arraycopy(set, 0, all, offset, set.length);
+                offset += set.length;
+            }
+            Arrays.sort(all);
+            int distinct = 0;
+            int[] counts = new int[total];
+            for (int i = 0; i < total; i++) {
+                if (distinct == 0 || all[distinct - 1] != all[i]) {
+                    all[distinct++] = all[i];
+                }
+                counts[distinct - 1]++;
+            }
+
+            sets = new int[hashes.length][];
+            prefixes = new int[hashes.length][];
+            int[] filedCounts = new int[distinct + 1];
+            for (int i = 0; i < hashes.length; i++) {
+                long[] set = hashes[i];
+                int[] elements = new int[set.length];
+                // (frequency, element) pairs, so the order is the same for every set.
+                long[] order = new long[set.length];
+                for (int j = 0; j < set.length; j++) {
+                    elements[j] = Arrays.binarySearch(all, 0, distinct, set[j]);
+                    order[j] = (long) counts[elements[j]] << 32 | elements[j];
+                }
+                Arrays.sort(order);
+                int[] prefix = new int[Math.max(0, Math.min(set.length, prefixLength.applyAsInt(set.length)))];
+                for (int j = 0; j < prefix.length; j++) {
+                    prefix[j] = (int) order[j];
+                    filedCounts[prefix[j]]++;
+                }
+                sets[i] = elements;
+                prefixes[i] = prefix;
+            }
+
+            filedStart = starts(filedCounts);
+            filed = new int[filedStart[distinct]];
+            int[] containingCounts = new int[distinct + 1];
+            int[] cursor = Arrays.copyOf(filedStart, distinct);
+            for (int i = 0; i < sets.length; i++) {
+                for (int element : prefixes[i]) {
+                    filed[cursor[element]++] = i;
+                }
+                for (int element : sets[i]) {
+                    if (filedStart[element + 1] > filedStart[element]) {
+                        containingCounts[element]++;
+                    }
+                }
+            }
+            containingStart = starts(containingCounts);
+            containing = new int[containingStart[distinct]];
+            cursor = Arrays.copyOf(containingStart, distinct);
+            for (int i = 0; i < sets.length; i++) {
+                for (int element : sets[i]) {
+                    if (filedStart[element + 1] > filedStart[element]) {
+                        containing[cursor[element]++] = i;
+                    }
+                }
+            }
+        }
+
+        // Smaller sets filed under one of the query's elements, and larger sets holding one of the query's own filed
+        // elements: the threshold is relative to the smaller set, so that one's prefix is the one that must be hit.
+        private void probe(int query, IntConsumer consumer) {
+            int size = sets[query].length;
+            for (int element : sets[query]) {
+                for (int k = filedStart[element]; k < filedStart[element + 1]; k++) {
+                    if (sets[filed[k]].length <= size) {
+                        consumer.accept(filed[k]);
+                    }
+                }
+            }
+            for (int element : prefixes[query]) {
+                for (int k = containingStart[element]; k < containingStart[element + 1]; k++) {
+                    if (sets[containing[k]].length >= size) {
+                        consumer.accept(containing[k]);
+                    }
+                }
+            }
+        }
+
+        // Turns per-element counts (with one spare slot) into start offsets, in place.
+        private static int[] starts(int[] counts) {
+            int sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                int count = counts[i];
+                counts[i] = sum;
+                sum += count;
+            }
+            return counts;
+        }
+    }
+
+    // Rows per band whose S-curve threshold (1/bands)^(1/rows) lies closest to the target.
+    static int rowsFor(double threshold, int signatureLength) {
+        int best = 1;
+        double bestGap = Double.MAX_VALUE;
+        for (int rows = 1; rows <= signatureLength; rows++) {
+            if (signatureLength % rows != 0) {
+                continue;
+            }
+            double gap = Math.abs(Math.pow(1.0 / (signatureLength / rows), 1.0 / rows) - threshold);
+            if (gap < bestGap) {
+                best = rows;
+                bestGap = gap;
+            }
+        }
+        return best;
+    }
+
+    private void file(UUID signalId, Entry entry) {
+        for (Scope scope : scopesOf(entry)) {
+            scope.members.add(signalId);
+            for (int band = 0; band < BANDS; band++) {
+                scope.buckets
+                    .computeIfAbsent(new BandKey(entry.category(), band, entry.bandHashes()[band]), key -> new HashSet<>())
+                    .add(signalId);
+            }
+        }
+    }
+
+    private void unfile(UUID signalId, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (Scope scope : scopesOf(entry)) {
+            scope.members.remove(signalId);
+            for (int band = 0; band < BANDS; band++) {
+                BandKey key = new BandKey(entry.category(), band, entry.bandHashes()[band]);
+                Set<UUID> bucket = scope.buckets.get(key);
+                if (bucket != null && bucket.remove(signalId) && bucket.isEmpty()) {
+                    scope.buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private Scope[] scopesOf(Entry entry) {
+        if (entry.communityId() == null) {
+            return new Scope[] {global};
+        }
+        return new Scope[] {global, communities.computeIfAbsent(entry.communityId(), id -> new Scope())};
+    }
+
+    private static long[] minHash(String normalized) {
+        long[] signature = new long[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - SHINGLE + 1);
+        for (int start = 0; start < shingles; start++) {
+            int end = Math.min(normalized.length(), start + SHINGLE);
+            long shingle = 0;
+            for (int i = start; i < end; i++) {
+                shingle = shingle * 31 + normalized.charAt(i);
+            }
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                long hashed = mix(shingle ^ SEEDS[i]);
+                if (hashed < signature[i]) {
+                    signature[i] = hashed;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static long[] bandHashes(long[] signature) {
+        long[] bands = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = 0x9E3779B97F4A7C15L;
+            for (int row = 0; row < ROWS; row++) {
+                hash = mix(hash ^ signature[band * ROWS + row]);
+            }
+            bands[band] = hash;
+        }
+        return bands;
+    }
+
+    // Hashes of every substring as long as the shortest title the containment rule accepts.
+    private static long[] windowHashes(String normalized) {
+        int width = TitleSimilarity.CONTAINMENT_MIN_LENGTH;
+        if (normalized.length() < width) {
+            return NONE;
+        }
+        long[] windows = new long[normalized.length() - width + 1];
+        for (int start = 0; start < windows.length; start++) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = start; i < start + width; i++) {
+                hash = (hash ^ normalized.charAt(i)) * 0x100000001b3L;
+            }
+            windows[start] = hash;
+        }
+        return windows;
+    }
+
+    // mix is a bijection, so distinct hashes stay distinct; the result is sorted and distinct for the filters.
+    private static long[] salted(long[] hashes, long salt) {
+        long[] salted = new long[hashes.length];
+        for (int i = 0; i < hashes.length; i++) {
+            salted[i] = mix(hashes[i] ^ salt);
+        }
+        Arrays.sort(salted);
+        int distinct = 0;
+        for (int i = 0; i < salted.length; i++) {
+            if (distinct == 0 || salted[distinct - 1] != salted[i]) {
+                salted[distinct++] = salted[i];
+            }
+        }
+        return distinct == salted.length ? salted : Arrays.copyOf(salted, distinct);
+    }
+
+    // SplitMix64 finalizer.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
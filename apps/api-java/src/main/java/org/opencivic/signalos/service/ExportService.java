@@ -1,56 +1,316 @@
 package org.opencivic.signalos.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
 import org.opencivic.signalos.domain.Signal;
 import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.web.dto.SignalExportRecord;
 import org.opencivic.signalos.web.dto.TrustPacket;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
-import java.io.PrintWriter;
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class ExportService {
 
+    static final String CSV_HEADER = "ID,Title,Category,Status,PriorityScore,Score_Urgency,Score_Impact,Score_People,Score_Votes,VerificationHash,CreatedAt";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    // Signals from key (firstAt, firstId) through (lastAt, lastId) in export order; null dates select the signals
+    // without a created_at, by id.
+    record Partition(LocalDateTime firstAt, UUID firstId, LocalDateTime lastAt, UUID lastId) {
+        boolean undated() {
+            return firstAt == null;
+        }
+    }
+
     private final SignalRepository signalRepository;
     private final PrioritizationService prioritizationService;
+    private final EntityManager entityManager;
+    private final ObjectWriter ndjsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService partitionExecutor;
+    private final int maxPartitionsInFlight;
+    private final int rowsPerPartition;
 
-    public ExportService(SignalRepository signalRepository, PrioritizationService prioritizationService) {
+    public ExportService(SignalRepository signalRepository,
+                         PrioritizationService prioritizationService,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${application.export.parallelism:4}") int parallelism,
+                         @Value("${application.export.rows-per-partition:5000}") int rowsPerPartition) {
         this.signalRepository = signalRepository;
         this.prioritizationService = prioritizationService;
+        this.entityManager = entityManager;
+        this.ndjsonWriter = objectMapper.writerFor(SignalExportRecord.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Queue and in-flight window are both bounded: at most 2 * parallelism encoded partitions of at most
+        // rowsPerPartition rows each are held per export.
+        this.partitionExecutor = new ThreadPoolExecutor(
+            parallelism, parallelism, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(parallelism * 4),
+            Thread.ofPlatform().name("signal-export-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.maxPartitionsInFlight = parallelism * 2;
+        this.rowsPerPartition = rowsPerPartition;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitionExecutor.shutdownNow();
+    }
+
+    /**
+     * Writes every signal as CSV straight to {@code out}, reading them through a database cursor.
+     * Memory stays flat regardless of table size: each entity is detached as soon as its row is written.
+     */
+    @Transactional(readOnly = true)
+    public void writeSignalsCsv(OutputStream out) throws IOException {
+        try (Stream<Signal> signals = signalRepository.streamAllOrderById()) {
+            writeCsv(signals, out, entityManager::detach);
+        }
+    }
+
+    /**
+     * Writes every signal as newline-delimited JSON, ordered by created_at then id, undated signals last. One pass
+     * over the (created_at, id) keys splits the table into runs of rowsPerPartition rows; the runs are encoded in
+     * parallel and written back in order, so at most 2 * parallelism partitions are buffered whatever the spread
+     * of created_at.
+     * <p>
+     * Each partition is read in its own read-only transaction, so the export is not a point-in-time snapshot: it
+     * holds the signals that existed when the keys were read (later inserts fall past the last key) and were not
+     * deleted before their partition was read, each as committed at that moment.
+     */
+    public void writeSignalsNdjson(OutputStream out) throws IOException {
+        writePartitions(out, this::encodeNdjsonPartition);
+        out.flush();
+    }
+
+    /**
+     * Writes every signal as an Arrow IPC stream, in the same order and with the same consistency as
+     * {@link #writeSignalsNdjson}: the schema, one record batch per partition, then the end-of-stream marker.
+     * Each partition's column buffers are off-heap, in an allocator of its own that is closed once the batch is
+     * serialized, so a cancelled partition never outlives the memory it writes to.
+     */
+    public void writeSignalsArrow(OutputStream out) throws IOException {
+        out.write(ArrowExportEncoder.schemaMessage());
+        writePartitions(out, this::encodeArrowPartition);
+        out.write(ArrowExportEncoder.endOfStream());
+        out.flush();
+    }
+
+    // Encodes the planned partitions in parallel and writes them to out in plan order.
+    private void writePartitions(OutputStream out, Function<Partition, byte[]> encoder) throws IOException {
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        try {
+            for (Partition partition : planPartitions()) {
+                if (inFlight.size() == maxPartitionsInFlight) {
+                    out.write(await(inFlight.poll()));
+                }
+                inFlight.add(partitionExecutor.submit(() -> encoder.apply(partition)));
+            }
+            while (!inFlight.isEmpty()) {
+                out.write(await(inFlight.poll()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    // Returns the number of data rows written; each signal is passed to release once its row is in the buffer.
+    long writeCsv(Stream<Signal> signals, OutputStream out, Consumer<Signal> release) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        StringBuilder row = new StringBuilder(256);
+        long rows = 0;
+        Iterator<Signal> iterator = signals.iterator();
+        while (iterator.hasNext()) {
+            Signal s = iterator.next();
+            TrustPacket packet = prioritizationService.getTrustPacket(s);
+
+            row.setLength(0);
+            row.append(s.getId()).append(',')
+                .append(escapeCsv(s.getTitle())).append(',')
+                .append(s.getCategory()).append(',')
+                .append(s.getStatus()).append(',')
+                .append(packet.finalScore()).append(',')
+                .append(packet.scoreBreakdown().urgency()).append(',')
+                .append(packet.scoreBreakdown().impact()).append(',')
+                .append(packet.scoreBreakdown().affectedPeople()).append(',')
+                .append(packet.scoreBreakdown().communityVotes()).append(',')
+                .append(packet.verificationHash()).append(',')
+                .append(s.getCreatedAt() != null ? s.getCreatedAt().toString() : "")
+                .append('\n');
+            writer.append(row);
+            release.accept(s);
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    long writeNdjson(Stream<Signal> signals, OutputStream out, Consumer<Signal> release) throws IOException {
+        long rows = 0;
+        Iterator<Signal> iterator = signals.iterator();
+        while (iterator.hasNext()) {
+            Signal s = iterator.next();
+            out.write(ndjsonWriter.writeValueAsBytes(exportRecord(s)));
+            out.write('\n');
+            release.accept(s);
+            rows++;
+        }
+        return rows;
+    }
+
+    private SignalExportRecord exportRecord(Signal s) {
+        TrustPacket packet = prioritizationService.getTrustPacket(s);
+        return new SignalExportRecord(
+            s.getId(),
+            s.getTitle(),
+            s.getDescription(),
+            s.getCategory(),
+            s.getStatus(),
+            s.getCommunityId(),
+            s.getUrgency(),
+            s.getImpact(),
+            s.getAffectedPeople(),
+            s.getCommunityVotes(),
+            packet.finalScore(),
+            packet.scoreBreakdown(),
+            packet.verificationHash(),
+            s.getCreatedAt()
+        );
+    }
+
+    private List<Partition> planPartitions() {
+        return readOnlyTransaction.execute(status -> {
+            List<Partition> partitions = new ArrayList<>();
+            try (Stream<Object[]> keys = signalRepository.streamCreatedAtKeys()) {
+                partitions.addAll(planPartitions(keys.iterator(), rowsPerPartition));
+            }
+            try (Stream<Object[]> keys = signalRepository.streamUndatedIds().map(id -> new Object[] {null, id})) {
+                partitions.addAll(planPartitions(keys.iterator(), rowsPerPartition));
+            }
+            return partitions;
+        });
+    }
+
+    /**
+     * Cuts (created_at, id) keys, already in export order, into consecutive partitions of at most rowsPerPartition
+     * keys. Only the first and last key of each partition are kept.
+     */
+    static List<Partition> planPartitions(Iterator<Object[]> keys, int rowsPerPartition) {
+        List<Partition> partitions = new ArrayList<>();
+        Object[] first = null;
+        Object[] last = null;
+        int rows = 0;
+        while (keys.hasNext()) {
+            last = keys.next();
+            if (first == null) {
+                first = last;
+            }
+            if (++rows == rowsPerPartition) {
+                partitions.add(partition(first, last));
+                first = null;
+                rows = 0;
+            }
+        }
+        if (first != null) {
+            partitions.add(partition(first, last));
+        }
+        return partitions;
+    }
+
+    private static Partition partition(Object[] first, Object[] last) {
+        return new Partition((LocalDateTime) first[0], (UUID) first[1], (LocalDateTime) last[0], (UUID) last[1]);
+    }
+
+    private byte[] encodeNdjsonPartition(Partition partition) {
+        return readOnlyTransaction.execute(status -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(WRITE_BUFFER_SIZE);
+            try (Stream<Signal> signals = streamPartition(partition)) {
+                writeNdjson(signals, buffer, entityManager::detach);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        });
+    }
+
+    private byte[] encodeArrowPartition(Partition partition) {
+        return readOnlyTransaction.execute(status -> {
+            try (BufferAllocator allocator = new RootAllocator();
+                 ArrowExportEncoder.Batch batch = new ArrowExportEncoder.Batch(allocator);
+                 Stream<Signal> signals = streamPartition(partition)) {
+                Iterator<Signal> iterator = signals.iterator();
+                while (iterator.hasNext()) {
+                    Signal s = iterator.next();
+                    batch.add(exportRecord(s));
+                    entityManager.detach(s);
+                }
+                return batch.message();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Stream<Signal> streamPartition(Partition partition) {
+        return partition.undated()
+            ? signalRepository.streamUndatedByIdRange(partition.firstId(), partition.lastId())
+            : signalRepository.streamByCreatedAtKeyRange(
+                partition.firstAt(), partition.firstId(), partition.lastAt(), partition.lastId());
     }
 
-    public ByteArrayInputStream exportSignalsToCsv() {
-        List<Signal> signals = signalRepository.findAll();
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try (PrintWriter writer = new PrintWriter(out)) {
-            // Header
-            writer.println("ID,Title,Category,Status,PriorityScore,Score_Urgency,Score_Impact,Score_People,Score_Votes,VerificationHash,CreatedAt");
-
-            for (Signal s : signals) {
-                TrustPacket packet = prioritizationService.getTrustPacket(s.getId());
-                
-                List<String> data = Arrays.asList(
-                    s.getId().toString(),
-                    escapeCsv(s.getTitle()),
-                    s.getCategory(),
-                    s.getStatus(),
-                    String.valueOf(packet.finalScore()),
-                    String.valueOf(packet.scoreBreakdown().urgency()),
-                    String.valueOf(packet.scoreBreakdown().impact()),
-                    String.valueOf(packet.scoreBreakdown().affectedPeople()),
-                    String.valueOf(packet.scoreBreakdown().communityVotes()),
-                    packet.verificationHash(),
-                    s.getCreatedAt() != null ? s.getCreatedAt().toString() : ""
-                );
-                writer.println(String.join(",", data));
+    private static byte[] await(Future<byte[]> partition) throws IOException {
+        try {
+            return partition.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
             }
-            writer.flush();
+            throw new IllegalStateException("Export partition failed", e.getCause());
         }
-        return new ByteArrayInputStream(out.toByteArray());
     }
 
     private String escapeCsv(String data) {
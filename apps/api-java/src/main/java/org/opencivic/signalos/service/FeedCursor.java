@@ -0,0 +1,52 @@
+package org.opencivic.signalos.service;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the newest-first community feed: the last (happenedAt, id) a client has seen.
+ * Encoded as URL-safe Base64 so clients treat it as opaque.
+ */
+public record FeedCursor(LocalDateTime happenedAt, UUID id) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    // Sorts after every real entry, so the first page uses the same seek query as the rest.
+    public static final FeedCursor START = new FeedCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+            .putLong(happenedAt.toEpochSecond(ZoneOffset.UTC))
+            .putInt(happenedAt.getNano())
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static FeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed feed cursor.");
+        }
+        if (raw.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Malformed feed cursor.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        LocalDateTime happenedAt;
+        try {
+            happenedAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Malformed feed cursor.");
+        }
+        return new FeedCursor(happenedAt, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -1,42 +1,184 @@
 package org.opencivic.signalos.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.opencivic.signalos.security.AccessClaims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Mints and verifies HMAC-signed JWTs. Tokens are signed with the current secret and carry its key id ("kid");
+ * previous secrets still verify, so rotating the secret only requires moving the old value there instead of logging
+ * every user out. Secrets come from secret-key and previous-secret-keys, read at startup, or from key-file, which is
+ * re-read whenever it changes so a rotation needs no restart. Each load swaps in a complete key set at once.
+ */
 @Service
 public class JwtService {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
+    static final String ROLES_CLAIM = "roles";
 
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
     private static final long ACCESS_TOKEN_EXPIRATION = 1000 * 60 * 60 * 8; // 8 Hours
     private static final long REFRESH_TOKEN_EXPIRATION = 1000 * 60 * 60 * 24 * 7; // 7 Days
 
-    private SecretKey getSignInKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    // Immutable; the signing key is also in verificationKeys.
+    private record KeySet(String signingKeyId, SecretKey signingKey, Map<String, SecretKey> verificationKeys) {
+
+        static KeySet of(String secretKey, List<String> previousSecretKeys) {
+            if (secretKey == null || secretKey.isBlank()) {
+                throw new IllegalStateException("No JWT secret configured: set secret-key or key-file.");
+            }
+            SecretKey signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+            String signingKeyId = keyId(secretKey);
+            Map<String, SecretKey> keys = new LinkedHashMap<>();
+            keys.put(signingKeyId, signingKey);
+            previousSecretKeys.forEach(previous ->
+                keys.putIfAbsent(keyId(previous), Keys.hmacShaKeyFor(previous.getBytes(StandardCharsets.UTF_8))));
+            return new KeySet(signingKeyId, signingKey, Map.copyOf(keys));
+        }
+    }
+
+    private final Path keyFile;
+    private final long keyFileCheckMs;
+    private final ScheduledExecutorService keyReloader;
+    private final JwtParser parser;
+    private volatile KeySet keys;
+    private FileTime keyFileModified;
+
+    public JwtService(String secretKey, String previousSecretKeys) {
+        this(secretKey, previousSecretKeys, "", 0);
+    }
+
+    @Autowired
+    public JwtService(@Value("${application.security.jwt.secret-key:}") String secretKey,
+                      @Value("${application.security.jwt.previous-secret-keys:}") String previousSecretKeys,
+                      @Value("${application.security.jwt.key-file:}") String keyFile,
+                      @Value("${application.security.jwt.key-file-check-ms:30000}") long keyFileCheckMs) {
+        this.keyFile = keyFile.isBlank() ? null : Path.of(keyFile);
+        this.keyFileCheckMs = keyFileCheckMs;
+        if (this.keyFile == null) {
+            this.keys = KeySet.of(secretKey, secrets(Arrays.asList(previousSecretKeys.split(","))));
+        } else {
+            try {
+                this.keyFileModified = Files.getLastModifiedTime(this.keyFile);
+                this.keys = readKeyFile(this.keyFile);
+            } catch (IOException e) {
+                throw new IllegalStateException("JWT key file cannot be read: " + keyFile, e);
+            }
+        }
+        this.keyReloader = this.keyFile != null && keyFileCheckMs > 0
+            ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("jwt-key-reload").daemon(true).factory())
+            : null;
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                KeySet current = keys;
+                // Tokens minted before key ids were introduced were signed with the current secret.
+                String kid = header.getKeyId();
+                if (kid == null) {
+                    return current.signingKey();
+                }
+                SecretKey key = current.verificationKeys().get(kid);
+                if (key == null) {
+                    throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+                }
+                return key;
+            }
+        }).build();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (keyReloader != null) {
+            keyReloader.scheduleWithFixedDelay(this::reloadKeysQuietly, keyFileCheckMs, keyFileCheckMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (keyReloader != null) {
+            keyReloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Re-reads key-file if it changed since the last load: the first non-blank line that is not a # comment is the
+     * signing secret, the following ones are previous secrets. Returns whether new keys were swapped in; without a
+     * key file, or when the file is unchanged, nothing happens.
+     */
+    public synchronized boolean reloadKeys() throws IOException {
+        if (keyFile == null) {
+            return false;
+        }
+        FileTime modified = Files.getLastModifiedTime(keyFile);
+        if (modified.equals(keyFileModified)) {
+            return false;
+        }
+        keys = readKeyFile(keyFile);
+        keyFileModified = modified;
+        return true;
+    }
+
+    /**
+     * Parses the token once, checking signature and expiry. Throws a JwtException for any token that is not
+     * valid right now.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration(), roles(claims), claims);
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).claims());
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails, ACCESS_TOKEN_EXPIRATION);
+        return generateToken(roleClaims(userDetails), userDetails, ACCESS_TOKEN_EXPIRATION);
+    }
+
+    /** An access token that also carries the user id and community roles, so membership checks need no queries. */
+    public String generateToken(UserDetails userDetails, AccessClaims accessClaims) {
+        Map<String, Object> claims = roleClaims(userDetails);
+        claims.putAll(accessClaims.toClaims());
+        return generateToken(claims, userDetails, ACCESS_TOKEN_EXPIRATION);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
@@ -44,33 +186,68 @@ public class JwtService {
     }
 
     private String generateToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        KeySet current = keys;
         return Jwts.builder()
+                .header().keyId(current.signingKeyId()).and()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(current.signingKey())
                 .compact();
     }
 
+    // Expiry is enforced by the parser, so a token that parses is only checked against the expected user.
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return userDetails.getUsername().equals(verify(token).subject());
+    }
+
+    private void reloadKeysQuietly() {
+        try {
+            if (reloadKeys()) {
+                log.info("JWT keys reloaded from {}", keyFile);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("JWT key file could not be reloaded; keeping the current keys", e);
+        }
+    }
+
+    private static KeySet readKeyFile(Path keyFile) throws IOException {
+        List<String> secrets = secrets(Files.readAllLines(keyFile, StandardCharsets.UTF_8));
+        if (secrets.isEmpty()) {
+            throw new IOException("JWT key file has no secret: " + keyFile);
+        }
+        return KeySet.of(secrets.get(0), secrets.subList(1, secrets.size()));
+    }
+
+    private static List<String> secrets(List<String> lines) {
+        return lines.stream()
+            .map(String::trim)
+            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+            .toList();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static Map<String, Object> roleClaims(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        return claims;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static List<String> roles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        return List.of();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Public identifier of a secret: a short prefix of its SHA-256, so the header never reveals the key itself.
+    private static String keyId(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 6));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,260 @@
+package org.opencivic.signalos.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opencivic.signalos.domain.CommunityActivity;
+import org.opencivic.signalos.domain.CommunityActivityEvent;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.SignalChangedEvent;
+import org.opencivic.signalos.web.dto.CommunityFeedItemResponse;
+import org.opencivic.signalos.web.dto.SignalChangeResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * In-process event bus behind the community SSE stream. Committed signal changes and feed entries are appended to
+ * a bounded per-community replay buffer and offered to each subscriber's queue; every subscriber is drained by its
+ * own virtual thread, which also writes the heartbeat, so idle connections hold no platform thread and a slow
+ * client only ever blocks itself. A client reconnecting with Last-Event-ID gets the buffered events it missed, or a
+ * "reset" event when they have already been evicted and it must reload over REST.
+ */
+@Component
+public class LiveUpdateHub {
+
+    static final String SIGNAL_EVENT = "signal";
+    static final String FEED_EVENT = "feed";
+    static final String RESET_EVENT = "reset";
+
+    private record LiveEvent(long sequence, String name, Object data) {
+    }
+
+    private static final LiveEvent RESET = new LiveEvent(0, RESET_EVENT, Map.of("reason", "replay-unavailable"));
+
+    private static final class Channel {
+        private final ArrayDeque<LiveEvent> replay = new ArrayDeque<>();
+        private final Set<Subscription> subscribers = new HashSet<>();
+        // Highest sequence dropped from the replay buffer; resuming from before it would skip events.
+        private long evictedThrough;
+    }
+
+    private final class Subscription implements Runnable {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final BlockingQueue<LiveEvent> queue = new LinkedBlockingQueue<>(replaySize + queueSize);
+        private volatile boolean closed;
+        private volatile Thread worker;
+
+        private Subscription(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void run() {
+            worker = Thread.currentThread();
+            try {
+                emitter.send(SseEmitter.event().comment("connected"));
+                while (!closed) {
+                    LiveEvent event = queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (closed) {
+                        break;
+                    }
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON);
+                        if (event.sequence() > 0) {
+                            builder.id(eventId(event.sequence()));
+                        }
+                        emitter.send(builder);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed; nothing left to deliver to.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close(true);
+            }
+        }
+
+        private void close(boolean completeEmitter) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            synchronized (channel) {
+                channel.subscribers.remove(this);
+            }
+            Thread current = worker;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+            if (completeEmitter) {
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container.
+                }
+            }
+        }
+    }
+
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Event ids carry the process generation, so an id from before a restart is never mistaken for a current one.
+    private final String generation = Long.toString(System.currentTimeMillis(), 36);
+    private final ThreadFactory workers = Thread.ofVirtual().name("live-update-", 0).factory();
+    private final CommunityAccessService accessService;
+    private final long heartbeatMs;
+    private final int replaySize;
+    private final int queueSize;
+    private final long timeoutMs;
+
+    public LiveUpdateHub(CommunityAccessService accessService,
+                         @Value("${application.live.heartbeat-ms:15000}") long heartbeatMs,
+                         @Value("${application.live.replay-size:256}") int replaySize,
+                         @Value("${application.live.queue-size:64}") int queueSize,
+                         @Value("${application.live.timeout-ms:1800000}") long timeoutMs) {
+        this.accessService = accessService;
+        this.heartbeatMs = heartbeatMs;
+        this.replaySize = replaySize;
+        this.queueSize = queueSize;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Opens a stream of the community's updates for one of its members. With a Last-Event-ID the stream starts with
+     * the buffered events after it.
+     */
+    public SseEmitter subscribe(UUID communityId, String lastEventId, String username) {
+        accessService.requireMember(username, communityId);
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Channel channel = channel(communityId);
+        Subscription subscription = new Subscription(channel, emitter);
+        synchronized (channel) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long resumeAfter = parseSequence(lastEventId);
+                if (resumeAfter < 0 || resumeAfter < channel.evictedThrough) {
+                    subscription.queue.add(RESET);
+                } else {
+                    for (LiveEvent event : channel.replay) {
+                        if (event.sequence() > resumeAfter) {
+                            subscription.queue.add(event);
+                        }
+                    }
+                }
+            }
+            channel.subscribers.add(subscription);
+        }
+        emitter.onCompletion(() -> subscription.close(false));
+        emitter.onTimeout(() -> subscription.close(false));
+        emitter.onError(error -> subscription.close(false));
+        workers.newThread(subscription).start();
+        return emitter;
+    }
+
+    /**
+     * Appends an event to the community's replay buffer and hands it to its subscribers without blocking. A
+     * subscriber whose queue is full is disconnected; it resumes from the buffer when it reconnects.
+     */
+    public void publish(UUID communityId, String name, Object data) {
+        Channel channel = channel(communityId);
+        List<Subscription> overflowed = new ArrayList<>();
+        synchronized (channel) {
+            LiveEvent event = new LiveEvent(sequence.incrementAndGet(), name, data);
+            channel.replay.addLast(event);
+            if (channel.replay.size() > replaySize) {
+                channel.evictedThrough = channel.replay.removeFirst().sequence();
+            }
+            for (Subscription subscription : channel.subscribers) {
+                if (!subscription.queue.offer(event)) {
+                    overflowed.add(subscription);
+                }
+            }
+        }
+        overflowed.forEach(subscription -> subscription.close(true));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSignalChanged(SignalChangedEvent event) {
+        Signal signal = event.snapshot();
+        if (signal == null || signal.getCommunityId() == null) {
+            return;
+        }
+        publish(signal.getCommunityId(), SIGNAL_EVENT, new SignalChangeResponse(
+            event.type(),
+            signal.getId(),
+            signal.getCommunityId(),
+            signal.getTitle(),
+            signal.getStatus(),
+            signal.getCommunityVotes(),
+            signal.getPriorityScore()
+        ));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(CommunityActivityEvent event) {
+        CommunityActivity activity = event.activity();
+        publish(activity.getCommunityId(), FEED_EVENT, new CommunityFeedItemResponse(
+            activity.getActivityType(),
+            activity.getSubjectId(),
+            activity.getCommunityId(),
+            activity.getTitle(),
+            activity.getSummary(),
+            activity.getHappenedAt(),
+            "updated just now"
+        ));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Subscription> open = new ArrayList<>();
+        for (Channel channel : channels.values()) {
+            synchronized (channel) {
+                open.addAll(channel.subscribers);
+            }
+        }
+        open.forEach(subscription -> subscription.close(true));
+    }
+
+    private Channel channel(UUID communityId) {
+        return channels.computeIfAbsent(communityId, id -> new Channel());
+    }
+
+    private String eventId(long sequence) {
+        return generation + "-" + sequence;
+    }
+
+    // -1 for ids from another process generation or that are not ours at all.
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator <= 0 || !lastEventId.substring(0, separator).equals(generation)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -11,12 +11,15 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.opencivic.signalos.web.dto.CursorSlice;
 import org.opencivic.signalos.web.dto.TrustPacket;
+import org.opencivic.signalos.web.dto.TrustPacketBatch;
 
 public interface PrioritizationService {
     Page<Signal> getPrioritizedSignals(Pageable pageable);
     Page<Signal> getPrioritizedSignals(Pageable pageable, UUID communityId);
     Page<Signal> getPrioritizedSignals(Pageable pageable, UUID communityId, Collection<String> statuses);
+    CursorSlice<Signal> getPrioritizedSignalsAfter(PriorityCursor cursor, int size, UUID communityId, Collection<String> statuses);
     List<Signal> getTopUnresolved(int limit);
     List<Signal> getTopUnresolved(int limit, UUID communityId);
     Optional<Signal> getSignalById(UUID id);
@@ -24,6 +27,8 @@ public interface PrioritizationService {
     double calculateScore(Signal signal);
     ScoreBreakdown getBreakdown(Signal signal);
     TrustPacket getTrustPacket(UUID signalId);
+    TrustPacket getTrustPacket(Signal signal);
+    TrustPacketBatch getTrustPackets(List<UUID> signalIds);
     java.util.List<org.opencivic.signalos.domain.SignalStatusEntry> getStatusHistory(UUID signalId);
     java.util.Map<UUID, java.util.List<Signal>> findDuplicates();
     java.util.Map<UUID, java.util.List<Signal>> findDuplicates(UUID communityId);
@@ -1,6 +1,8 @@
 package org.opencivic.signalos.service;
 
 import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.SignalChangedEvent;
+import org.opencivic.signalos.domain.VoteCastEvent;
 import org.opencivic.signalos.domain.ScoreBreakdown;
 import org.opencivic.signalos.domain.SignalStatus;
 import org.opencivic.signalos.domain.User;
@@ -9,51 +11,139 @@ import org.opencivic.signalos.domain.SignalStatusEntry;
 import org.opencivic.signalos.exception.ConflictException;
 import org.opencivic.signalos.exception.ResourceNotFoundException;
 import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.SignalVoteTotals;
 import org.opencivic.signalos.repository.UserRepository;
 import org.opencivic.signalos.repository.VoteRepository;
 import org.opencivic.signalos.repository.SignalStatusEntryRepository;
+import org.opencivic.signalos.web.dto.CursorSlice;
 import org.opencivic.signalos.web.dto.TrustPacket;
+import org.opencivic.signalos.web.dto.TrustPacketBatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.text.Normalizer;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class PrioritizationServiceImpl implements PrioritizationService {
 
     private static final Logger log = LoggerFactory.getLogger(PrioritizationServiceImpl.class);
+    private static final int INDEX_LOAD_BATCH_SIZE = 1000;
     private final SignalRepository signalRepository;
     private final VoteRepository voteRepository;
     private final UserRepository userRepository;
     private final SignalStatusEntryRepository statusHistoryRepository;
+    private final PriorityIndex priorityIndex;
+    private final DuplicateDetectionEngine duplicateDetectionEngine;
+    private final ScoringFormula scoringFormula;
+    private final VoteCounter voteCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CommunityActivityService activityService;
+
+    @Value("${application.prioritization.index.enabled:true}")
+    private boolean priorityIndexEnabled;
 
     public PrioritizationServiceImpl(SignalRepository signalRepository, 
                                   VoteRepository voteRepository, 
                                   UserRepository userRepository,
-                                  SignalStatusEntryRepository statusHistoryRepository) {
+                                  SignalStatusEntryRepository statusHistoryRepository,
+                                  PriorityIndex priorityIndex,
+                                  DuplicateDetectionEngine duplicateDetectionEngine,
+                                  ScoringFormula scoringFormula,
+                                  VoteCounter voteCounter,
+                                  ApplicationEventPublisher eventPublisher,
+                                  CommunityActivityService activityService) {
         this.signalRepository = signalRepository;
         this.voteRepository = voteRepository;
         this.userRepository = userRepository;
         this.statusHistoryRepository = statusHistoryRepository;
+        this.priorityIndex = priorityIndex;
+        this.duplicateDetectionEngine = duplicateDetectionEngine;
+        this.scoringFormula = scoringFormula;
+        this.voteCounter = voteCounter;
+        this.eventPublisher = eventPublisher;
+        this.activityService = activityService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmPriorityIndex() {
+        if (!priorityIndexEnabled) {
+            return;
+        }
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            rebuildPriorityIndex();
+            if (isPriorityIndexConsistent()) {
+                log.info("Priority index ready after attempt {}", attempt);
+                return;
+            }
+            log.warn("Priority index diverged from signals table on attempt {}", attempt);
+        }
+        priorityIndex.invalidate();
+        log.warn("Priority index disabled; prioritized feed will be served from the database.");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSignalChanged(SignalChangedEvent event) {
+        if (!priorityIndexEnabled) {
+            return;
+        }
+        if (event.type() == SignalChangedEvent.Type.DELETED) {
+            priorityIndex.remove(event.signalId());
+        } else {
+            priorityIndex.upsert(event.snapshot());
+        }
+    }
+
+    private void rebuildPriorityIndex() {
+        priorityIndex.beginRebuild();
+        List<Signal> snapshots = new ArrayList<>();
+        Page<Signal> batch = signalRepository.findAll(PageRequest.of(0, INDEX_LOAD_BATCH_SIZE, Sort.by("id")));
+        while (true) {
+            for (Signal signal : batch.getContent()) {
+                snapshots.add(signal.detachedCopy());
+            }
+            if (!batch.hasNext()) {
+                break;
+            }
+            batch = signalRepository.findAll(batch.nextPageable());
+        }
+        priorityIndex.completeRebuild(snapshots);
+    }
+
+    private boolean isPriorityIndexConsistent() {
+        Map<PriorityIndex.Bucket, Long> expected = new HashMap<>();
+        for (Object[] row : signalRepository.countGroupedByCommunityIdAndStatus()) {
+            if (row[1] != null) {
+                expected.put(new PriorityIndex.Bucket((UUID) row[0], (String) row[1]), (Long) row[2]);
+            }
+        }
+        return expected.equals(priorityIndex.countByBucket());
     }
 
     @Override
     public TrustPacket getTrustPacket(UUID signalId) {
         Signal signal = signalRepository.findById(signalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Signal not found: " + signalId));
-        
-        ScoreBreakdown breakdown = getBreakdown(signal);
-        double score = calculateScore(signal);
+        return getTrustPacket(signal);
+    }
+
+    @Override
+    public TrustPacket getTrustPacket(Signal signal) {
+        // Rows still waiting for the recompute job are attested against the current formula, not their stale columns.
+        ScoreBreakdown breakdown = scoringFormula.isCurrent(signal) ? signal.getScoreBreakdown() : getBreakdown(signal);
+        double score = scoringFormula.isCurrent(signal) ? signal.getPriorityScore() : ScoringFormula.total(breakdown);
         
         String rawData = signal.getId() + ":" + signal.getCreatedAt() + ":" + score;
         String hash = generateHash(rawData);
@@ -65,8 +155,10 @@ public class PrioritizationServiceImpl implements PrioritizationService {
             signal.getCreatedAt(),
             score,
             breakdown,
-            TrustPacket.CURRENT_FORMULA,
-            hash
+            scoringFormula.description(signal),
+            scoringFormula.profileName(signal),
+            hash,
+            scoringFormula.version()
         );
     }
 
@@ -75,14 +167,34 @@ public class PrioritizationServiceImpl implements PrioritizationService {
         return statusHistoryRepository.findBySignalIdOrderByCreatedAtDesc(signalId);
     }
 
-    private String generateHash(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] encodedhash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(encodedhash);
-        } catch (Exception e) {
-            return "HASH_ERROR";
+    @Override
+    public TrustPacketBatch getTrustPackets(List<UUID> signalIds) {
+        List<UUID> requested = new ArrayList<>(new LinkedHashSet<>(signalIds));
+        Map<UUID, Signal> loaded = new HashMap<>();
+        for (Signal signal : signalRepository.findAllById(requested)) {
+            loaded.put(signal.getId(), signal);
+        }
+
+        List<TrustPacket> packets = new ArrayList<>(loaded.size());
+        List<UUID> missing = new ArrayList<>();
+        List<byte[]> leaves = new ArrayList<>(loaded.size());
+        for (UUID id : requested) {
+            Signal signal = loaded.get(id);
+            if (signal == null) {
+                missing.add(id);
+                continue;
+            }
+            TrustPacket packet = getTrustPacket(signal);
+            packets.add(packet);
+            leaves.add(Base64.getDecoder().decode(packet.verificationHash()));
         }
+        String root = Base64.getEncoder().encodeToString(TrustHashes.merkleRoot(leaves));
+        return new TrustPacketBatch(packets, missing, root, TrustPacketBatch.MERKLE_SCHEME);
+    }
+
+    private String generateHash(String input) {
+        byte[] encodedhash = TrustHashes.sha256().digest(input.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(encodedhash);
     }
 
     @Override
@@ -97,6 +209,12 @@ public class PrioritizationServiceImpl implements PrioritizationService {
 
     @Override
     public Page<Signal> getPrioritizedSignals(Pageable pageable, UUID communityId, Collection<String> statuses) {
+        if (priorityIndexEnabled) {
+            Optional<Page<Signal>> indexed = priorityIndex.findPage(communityId, statuses, pageable);
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
         Page<Signal> basePage;
         if (statuses != null && !statuses.isEmpty()) {
             basePage = communityId == null
@@ -107,8 +225,40 @@ public class PrioritizationServiceImpl implements PrioritizationService {
                 ? signalRepository.findByStatusNotIn(List.of("FLAGGED", "REJECTED"), pageable)
                 : signalRepository.findByStatusNotInAndCommunityId(List.of("FLAGGED", "REJECTED"), communityId, pageable);
         }
-        return basePage
-                .map(signal -> signal.withScore(calculateScore(signal), getBreakdown(signal)));
+        return basePage;
+    }
+
+    @Override
+    public CursorSlice<Signal> getPrioritizedSignalsAfter(
+        PriorityCursor cursor,
+        int size,
+        UUID communityId,
+        Collection<String> statuses
+    ) {
+        PriorityCursor position = cursor == null ? PriorityCursor.START : cursor;
+        Pageable probe = PageRequest.of(0, size + 1);
+        List<Signal> rows;
+        if (statuses != null && !statuses.isEmpty()) {
+            rows = communityId == null
+                ? signalRepository.findPrioritizedAfterByStatusIn(
+                    statuses, position.priorityScore(), position.id(), probe)
+                : signalRepository.findPrioritizedAfterByStatusInAndCommunityId(
+                    statuses, communityId, position.priorityScore(), position.id(), probe);
+        } else {
+            rows = communityId == null
+                ? signalRepository.findPrioritizedAfterByStatusNotIn(
+                    PriorityIndex.HIDDEN_STATUSES, position.priorityScore(), position.id(), probe)
+                : signalRepository.findPrioritizedAfterByStatusNotInAndCommunityId(
+                    PriorityIndex.HIDDEN_STATUSES, communityId, position.priorityScore(), position.id(), probe);
+        }
+        boolean hasNext = rows.size() > size;
+        List<Signal> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Signal last = page.get(page.size() - 1);
+            nextCursor = new PriorityCursor(last.getPriorityScore(), last.getId()).encode();
+        }
+        return new CursorSlice<>(List.copyOf(page), size, hasNext, nextCursor);
     }
 
     @Override
@@ -121,10 +271,7 @@ public class PrioritizationServiceImpl implements PrioritizationService {
         List<Signal> baseSignals = communityId == null
             ? signalRepository.findTopSignalsByStatus("NEW", PageRequest.of(0, limit))
             : signalRepository.findTopSignalsByStatusAndCommunityId("NEW", communityId, PageRequest.of(0, limit));
-        return baseSignals
-                .stream()
-                .map(signal -> signal.withScore(calculateScore(signal), getBreakdown(signal)))
-                .collect(Collectors.toList());
+        return baseSignals;
     }
 
     @Override
@@ -134,27 +281,20 @@ public class PrioritizationServiceImpl implements PrioritizationService {
 
     @Override
     public Optional<Signal> getSignalById(UUID id, UUID communityId) {
-        Optional<Signal> baseSignal = communityId == null
+        return (communityId == null
             ? signalRepository.findById(id)
-            : signalRepository.findByIdAndCommunityId(id, communityId);
-        return baseSignal
-                .map(signal -> signal.withScore(calculateScore(signal), getBreakdown(signal)));
+            : signalRepository.findByIdAndCommunityId(id, communityId))
+                .map(signal -> voteCounter.withPending(signal, 0));
     }
 
     @Override
     public double calculateScore(Signal signal) {
-        ScoreBreakdown b = getBreakdown(signal);
-        return b.urgency() + b.impact() + b.affectedPeople() + b.communityVotes();
+        return scoringFormula.score(signal);
     }
 
     @Override
     public ScoreBreakdown getBreakdown(Signal signal) {
-        return new ScoreBreakdown(
-            signal.getUrgency() * 30.0,
-            signal.getImpact() * 25.0,
-            Math.min(signal.getAffectedPeople() / 10.0, 30.0),
-            Math.min(signal.getCommunityVotes() / 5.0, 15.0)
-        );
+        return scoringFormula.breakdown(signal);
     }
 
     @Override
@@ -165,104 +305,7 @@ public class PrioritizationServiceImpl implements PrioritizationService {
     @Override
     public Map<UUID, List<Signal>> findDuplicates(UUID communityId) {
         log.info("Starting scoped deduplication search for community: {}", communityId);
-        List<Signal> signals = communityId == null 
-            ? signalRepository.findTopSignalsByStatus("NEW", PageRequest.of(0, 100))
-            : signalRepository.findTopSignalsByStatusAndCommunityId("NEW", communityId, PageRequest.of(0, 100));
-        
-        Map<UUID, List<Signal>> duplicateMap = new HashMap<>();
-        Set<UUID> processed = new HashSet<>();
-
-        for (int i = 0; i < signals.size(); i++) {
-            Signal s1 = signals.get(i);
-            if (processed.contains(s1.getId())) continue;
-
-            List<Signal> dups = new ArrayList<>();
-            for (int j = i + 1; j < signals.size(); j++) {
-                Signal s2 = signals.get(j);
-                if (isSimilar(s1, s2)) {
-                    dups.add(s2);
-                    processed.add(s2.getId());
-                }
-            }
-
-            if (!dups.isEmpty()) {
-                duplicateMap.put(s1.getId(), dups);
-                processed.add(s1.getId());
-            }
-        }
-        return duplicateMap;
-    }
-
-    private boolean isSimilar(Signal s1, Signal s2) {
-        if (s1.getCategory() == null || s2.getCategory() == null || !s1.getCategory().equalsIgnoreCase(s2.getCategory())) {
-            return false;
-        }
-
-        String t1 = normalizeTitle(s1.getTitle());
-        String t2 = normalizeTitle(s2.getTitle());
-        if (t1.isBlank() || t2.isBlank()) {
-            return false;
-        }
-        if (t1.equals(t2)) {
-            return true;
-        }
-
-        int minLen = Math.min(t1.length(), t2.length());
-        if (minLen >= 12 && (t1.contains(t2) || t2.contains(t1))) {
-            return true;
-        }
-
-        double overlap = tokenOverlap(t1, t2);
-        int distance = levenshteinDistance(t1, t2);
-        int adaptiveThreshold = Math.max(3, minLen / 5);
-
-        return overlap >= 0.75 || (overlap >= 0.55 && distance <= adaptiveThreshold);
-    }
-
-    private String normalizeTitle(String title) {
-        if (title == null) {
-            return "";
-        }
-        String ascii = Normalizer.normalize(title, Normalizer.Form.NFD)
-            .replaceAll("\\p{M}", "");
-        return ascii
-            .toLowerCase(Locale.ROOT)
-            .replaceAll("[^a-z0-9\\s]", " ")
-            .replaceAll("\\s+", " ")
-            .trim();
-    }
-
-    private double tokenOverlap(String t1, String t2) {
-        Set<String> a = Arrays.stream(t1.split(" "))
-            .filter(token -> token.length() >= 3)
-            .collect(Collectors.toSet());
-        Set<String> b = Arrays.stream(t2.split(" "))
-            .filter(token -> token.length() >= 3)
-            .collect(Collectors.toSet());
-
-        if (a.isEmpty() || b.isEmpty()) {
-            return 0.0;
-        }
-
-        Set<String> intersection = new HashSet<>(a);
-        intersection.retainAll(b);
-        return (double) intersection.size() / (double) Math.min(a.size(), b.size());
-    }
-
-    private int levenshteinDistance(String x, String y) {
-        int[][] dp = new int[x.length() + 1][y.length() + 1];
-        for (int i = 0; i <= x.length(); i++) {
-            for (int j = 0; j <= y.length(); j++) {
-                if (i == 0) dp[i][j] = j;
-                else if (j == 0) dp[i][j] = i;
-                else {
-                    dp[i][j] = Math.min(Math.min(dp[i - 1][j - 1] 
-                        + (x.charAt(i - 1) == y.charAt(j - 1) ? 0 : 1), 
-                        dp[i - 1][j] + 1), dp[i][j - 1] + 1);
-                }
-            }
-        }
-        return dp[x.length()][y.length()];
+        return duplicateDetectionEngine.findDuplicates(communityId);
     }
 
     @Override
@@ -275,24 +318,46 @@ public class PrioritizationServiceImpl implements PrioritizationService {
 
         Signal target = signalRepository.findById(targetId)
                 .orElseThrow(() -> new ResourceNotFoundException("Target signal not found: " + targetId));
-        
+
+        int movedVotes = 0;
         for (UUID dupId : duplicateIds) {
             Signal dup = signalRepository.findById(dupId)
                     .orElseThrow(() -> new ResourceNotFoundException("Duplicate signal not found: " + dupId));
-            
-            target.setCommunityVotes(target.getCommunityVotes() + dup.getCommunityVotes());
+
+            // Deltas still pending for the duplicate would be flushed into a deleted row; carry them over. Draining
+            // waits out a running flush, so the count read afterwards holds every delta flushed before it.
+            long pendingVotes = voteCounter.drain(dupId);
+            int committedVotes = signalRepository.findVoteTotals(dupId)
+                    .map(SignalVoteTotals::communityVotes)
+                    .orElse(dup.getCommunityVotes());
+            movedVotes += committedVotes + (int) pendingVotes;
             target.getMergedFrom().add(dupId);
             signalRepository.delete(dup);
         }
-        
-        target.setPriorityScore(calculateScore(target));
+        activityService.removeSubjects(duplicateIds);
+
+        // Incremented in SQL so votes flushed concurrently into the target are not overwritten.
+        CompiledScoringProfile profile = scoringFormula.profileFor(target.getCommunityId());
+        signalRepository.incrementCommunityVotes(targetId, movedVotes, profile.votesDivisor(), profile.votesCap());
+        SignalVoteTotals totals = signalRepository.findVoteTotals(targetId)
+                .orElseThrow(() -> new ResourceNotFoundException("Target signal not found: " + targetId));
+        // Mirror the row into the managed entity; the flush rewrites the same values and refreshes the read models.
+        target.setCommunityVotes(totals.communityVotes());
+        ScoreBreakdown breakdown = target.getScoreBreakdown();
+        if (breakdown == null) {
+            scoringFormula.materialize(target);
+        } else {
+            target.setPriorityScore(totals.priorityScore());
+            target.setScoreBreakdown(new ScoreBreakdown(
+                breakdown.urgency(), breakdown.impact(), breakdown.affectedPeople(), totals.scoreCommunityVotes()
+            ));
+        }
         return signalRepository.save(target);
     }
 
     @Override
     public Page<Signal> getFlaggedSignals(Pageable pageable) {
-        return signalRepository.findByStatus("FLAGGED", pageable)
-                .map(s -> s.withScore(calculateScore(s), getBreakdown(s)));
+        return signalRepository.findByStatus("FLAGGED", pageable);
     }
 
     @Override
@@ -314,6 +379,7 @@ public class PrioritizationServiceImpl implements PrioritizationService {
         statusHistoryRepository.save(new SignalStatusEntry(
             id, oldStatus, signal.getStatus(), "moderator", reason
         ));
+        activityService.recordSignal(saved, java.time.LocalDateTime.now());
 
         return saved;
     }
@@ -345,17 +411,14 @@ public class PrioritizationServiceImpl implements PrioritizationService {
             0, 0.0, null, SignalStatus.NEW.name(), new ArrayList<>(), author.getId(), java.time.LocalDateTime.now(), communityId
         );
         
-        ScoreBreakdown breakdown = getBreakdown(signal);
-        double score = breakdown.urgency() + breakdown.impact() + breakdown.affectedPeople() + breakdown.communityVotes();
-        
-        signal.setScoreBreakdown(breakdown);
-        signal.setPriorityScore(score);
+        scoringFormula.materialize(signal);
         
         Signal saved = saveSignal(signal);
         
         statusHistoryRepository.save(new SignalStatusEntry(
             saved.getId(), "NONE", "NEW", username, "Initial report submission"
         ));
+        activityService.recordSignal(saved, saved.getCreatedAt());
 
         return saved;
     }
@@ -399,6 +462,7 @@ public class PrioritizationServiceImpl implements PrioritizationService {
         statusHistoryRepository.save(new SignalStatusEntry(
             id, oldStatus, newStatus, "system_operator", "Standard lifecycle transition"
         ));
+        activityService.recordSignal(saved, java.time.LocalDateTime.now());
         
         return Optional.of(saved);
     }
@@ -420,17 +484,14 @@ public class PrioritizationServiceImpl implements PrioritizationService {
             : signalRepository.findByIdAndCommunityId(signalId, communityId))
                 .orElseThrow(() -> new ResourceNotFoundException("Signal not found: " + signalId));
 
-        if (voteRepository.findByUserIdAndSignalId(user.getId(), signalId).isPresent()) {
-            throw new ConflictException("User has already supported this community issue.");
-        }
-
+        // The unique (user_id, signal_id) constraint is the duplicate check; the count itself is
+        // coalesced by VoteCounter after commit instead of locking the signal row here.
         try {
-            voteRepository.save(new Vote(user.getId(), signalId));
-            signal.setCommunityVotes(signal.getCommunityVotes() + 1);
-            signal.setPriorityScore(calculateScore(signal));
-            return signalRepository.save(signal);
+            voteRepository.saveAndFlush(new Vote(user.getId(), signalId));
         } catch (DataIntegrityViolationException e) {
-            throw new ConflictException("Concurrent support attempt detected and rejected.");
+            throw new ConflictException("User has already supported this community issue.");
         }
+        eventPublisher.publishEvent(new VoteCastEvent(signalId, signal.getCommunityId(), user.getId()));
+        return voteCounter.withPending(signal, 1);
     }
 }
@@ -0,0 +1,46 @@
+package org.opencivic.signalos.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the prioritized feed: the last (priorityScore, id) a client has seen.
+ * Encoded as URL-safe Base64 so clients treat it as opaque.
+ */
+public record PriorityCursor(double priorityScore, UUID id) {
+
+    private static final int ENCODED_BYTES = Double.BYTES + 2 * Long.BYTES;
+
+    // Sorts ahead of every real score, so the first page uses the same seek query as the rest.
+    public static final PriorityCursor START = new PriorityCursor(Double.MAX_VALUE, new UUID(0L, 0L));
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+            .putDouble(priorityScore)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static PriorityCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(token.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed prioritized feed cursor.");
+        }
+        if (raw.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Malformed prioritized feed cursor.");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(raw);
+        double score = buffer.getDouble();
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("Malformed prioritized feed cursor.");
+        }
+        return new PriorityCursor(score, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -0,0 +1,258 @@
+package org.opencivic.signalos.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.opencivic.signalos.domain.Signal;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resident ranked view of scored signals, partitioned per community (plus one global scope) and per status.
+ * Entries are detached, already-scored snapshots and must be treated as read-only by callers.
+ */
+@Component
+public class PriorityIndex {
+
+    static final Set<String> HIDDEN_STATUSES = Set.of("FLAGGED", "REJECTED");
+
+    public record Bucket(UUID communityId, String status) {}
+
+    private static final class Partition {
+        private final Map<String, RankedSignalTree> byStatus = new HashMap<>();
+        private final RankedSignalTree visible = new RankedSignalTree();
+
+        private void insert(Signal signal) {
+            byStatus.computeIfAbsent(signal.getStatus(), status -> new RankedSignalTree()).insert(signal);
+            if (!HIDDEN_STATUSES.contains(signal.getStatus())) {
+                visible.insert(signal);
+            }
+        }
+
+        private void remove(Signal signal) {
+            RankedSignalTree tree = byStatus.get(signal.getStatus());
+            if (tree != null) {
+                tree.remove(signal);
+            }
+            if (!HIDDEN_STATUSES.contains(signal.getStatus())) {
+                visible.remove(signal);
+            }
+        }
+    }
+
+    private record PendingChange(UUID signalId, Signal snapshot) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Signal> entries = new HashMap<>();
+    private final Map<UUID, Partition> communities = new HashMap<>();
+    private Partition global = new Partition();
+    private final List<PendingChange> pendingDuringRebuild = new ArrayList<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void upsert(Signal scored) {
+        lock.writeLock().lock();
+        try {
+            apply(scored.getId(), scored);
+            if (rebuilding) {
+                pendingDuringRebuild.add(new PendingChange(scored.getId(), scored));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID signalId) {
+        lock.writeLock().lock();
+        try {
+            apply(signalId, null);
+            if (rebuilding) {
+                pendingDuringRebuild.add(new PendingChange(signalId, null));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            pendingDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Swaps in the freshly loaded snapshots, then replays writes that committed while they were being read.
+    public void completeRebuild(Collection<Signal> scored) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            communities.clear();
+            global = new Partition();
+            for (Signal signal : scored) {
+                apply(signal.getId(), signal);
+            }
+            for (PendingChange change : pendingDuringRebuild) {
+                apply(change.signalId(), change.snapshot());
+            }
+            pendingDuringRebuild.clear();
+            rebuilding = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = false;
+            pendingDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Map<Bucket, Long> countByBucket() {
+        lock.readLock().lock();
+        try {
+            Map<Bucket, Long> counts = new HashMap<>();
+            for (Signal signal : entries.values()) {
+                counts.merge(new Bucket(signal.getCommunityId(), signal.getStatus()), 1L, Long::sum);
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serves a prioritized page from memory. Empty when the index is not ready or the
+     * requested ordering is not the ranked one, in which case callers fall back to the database.
+     */
+    public Optional<Page<Signal>> findPage(UUID communityId, Collection<String> statuses, Pageable pageable) {
+        if (!ready || !isRankedOrder(pageable.getSort())) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            Partition partition = communityId == null ? global : communities.get(communityId);
+            if (partition == null) {
+                return Optional.of(Page.empty(pageable));
+            }
+            int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE);
+            int limit = pageable.getPageSize();
+            if (statuses == null || statuses.isEmpty()) {
+                return Optional.of(slice(partition.visible, offset, limit, pageable));
+            }
+            List<RankedSignalTree> trees = new ArrayList<>();
+            for (String status : new LinkedHashSet<>(statuses)) {
+                RankedSignalTree tree = partition.byStatus.get(status);
+                if (tree != null && tree.size() > 0) {
+                    trees.add(tree);
+                }
+            }
+            if (trees.isEmpty()) {
+                return Optional.of(Page.empty(pageable));
+            }
+            if (trees.size() == 1) {
+                return Optional.of(slice(trees.get(0), offset, limit, pageable));
+            }
+            return Optional.of(mergeSlices(trees, offset, limit, pageable));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(UUID signalId, Signal snapshot) {
+        Signal previous = entries.remove(signalId);
+        if (previous != null) {
+            partitionsOf(previous).forEach(partition -> partition.remove(previous));
+        }
+        if (snapshot == null || snapshot.getStatus() == null) {
+            return;
+        }
+        entries.put(signalId, snapshot);
+        partitionsOf(snapshot).forEach(partition -> partition.insert(snapshot));
+    }
+
+    private List<Partition> partitionsOf(Signal signal) {
+        if (signal.getCommunityId() == null) {
+            return List.of(global);
+        }
+        return List.of(global, communities.computeIfAbsent(signal.getCommunityId(), id -> new Partition()));
+    }
+
+    private static Page<Signal> slice(RankedSignalTree tree, int offset, int limit, Pageable pageable) {
+        return new PageImpl<>(tree.slice(offset, limit), pageable, tree.size());
+    }
+
+    // Multi-status filters are rare; a k-way merge over each status' top (offset + limit) is enough.
+    private static Page<Signal> mergeSlices(List<RankedSignalTree> trees, int offset, int limit, Pageable pageable) {
+        int window = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        List<List<Signal>> heads = new ArrayList<>(trees.size());
+        long total = 0;
+        for (RankedSignalTree tree : trees) {
+            heads.add(tree.slice(0, window));
+            total += tree.size();
+        }
+        int[] cursors = new int[heads.size()];
+        List<Signal> page = new ArrayList<>(limit);
+        for (int rank = 0; rank < window; rank++) {
+            int best = -1;
+            for (int i = 0; i < heads.size(); i++) {
+                if (cursors[i] >= heads.get(i).size()) {
+                    continue;
+                }
+                Signal candidate = heads.get(i).get(cursors[i]);
+                if (best < 0) {
+                    best = i;
+                    continue;
+                }
+                Signal leader = heads.get(best).get(cursors[best]);
+                if (RankedSignalTree.compare(candidate.getPriorityScore(), candidate.getId(),
+                        leader.getPriorityScore(), leader.getId()) < 0) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            Signal next = heads.get(best).get(cursors[best]++);
+            if (rank >= offset) {
+                page.add(next);
+            }
+        }
+        return new PageImpl<>(page, pageable, total);
+    }
+
+    private static boolean isRankedOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1
+            && "priorityScore".equals(orders.get(0).getProperty())
+            && orders.get(0).isDescending();
+    }
+}
@@ -0,0 +1,167 @@
+package org.opencivic.signalos.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.opencivic.signalos.domain.Signal;
+
+/**
+ * Size-augmented treap ordered by (priorityScore DESC, id ASC).
+ * Rank lookups are O(log n) and a page of k rows is read in O(log n + k).
+ * Not thread-safe; {@link PriorityIndex} guards every instance with its lock.
+ */
+final class RankedSignalTree {
+
+    private static final class Node {
+        private final Signal signal;
+        private final int heapPriority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(Signal signal) {
+            this.signal = signal;
+            this.heapPriority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(Signal signal) {
+        root = insert(root, new Node(signal));
+    }
+
+    void remove(Signal signal) {
+        root = remove(root, signal.getPriorityScore(), signal.getId());
+    }
+
+    List<Signal> slice(int offset, int limit) {
+        int available = size() - offset;
+        if (offset < 0 || limit <= 0 || available <= 0) {
+            return List.of();
+        }
+        List<Signal> page = new ArrayList<>(Math.min(limit, available));
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int rank = offset;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (rank == leftSize) {
+                path.push(node);
+                break;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        while (!path.isEmpty() && page.size() < limit) {
+            Node current = path.pop();
+            page.add(current.signal);
+            for (Node next = current.right; next != null; next = next.left) {
+                path.push(next);
+            }
+        }
+        return page;
+    }
+
+    static int compare(double scoreA, UUID idA, double scoreB, UUID idB) {
+        int byScore = Double.compare(scoreB, scoreA);
+        return byScore != 0 ? byScore : compareIds(idA, idB);
+    }
+
+    // Unsigned and most-significant half first, i.e. the bytewise order Postgres and H2 use for uuid columns.
+    // UUID.compareTo compares signed longs and would disagree with the keyset queries on ties.
+    static int compareIds(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (compare(fresh.signal.getPriorityScore(), fresh.signal.getId(),
+                node.signal.getPriorityScore(), node.signal.getId()) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.heapPriority > node.heapPriority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.heapPriority > node.heapPriority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, double score, UUID id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(score, id, node.signal.getPriorityScore(), node.signal.getId());
+        if (cmp < 0) {
+            node.left = remove(node.left, score, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, score, id);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.heapPriority > right.heapPriority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
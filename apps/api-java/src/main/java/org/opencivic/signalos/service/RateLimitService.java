@@ -1,29 +1,77 @@
 package org.opencivic.signalos.service;
 
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Service;
-
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.opencivic.signalos.exception.TooManyRequestsException;
+import org.opencivic.signalos.security.RateLimitPolicy;
+import org.opencivic.signalos.security.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
 
+/**
+ * Named rate limits from application.rate-limit.policies, one limiter per policy. RateLimitFilter enforces the
+ * policies that list paths; code can apply any policy by name with {@link #check}.
+ */
 @Service
 public class RateLimitService {
 
-    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
-    private static final int MAX_ATTEMPTS = 5;
+    /** Login and verification attempts per username; reset by a successful attempt. */
+    public static final String AUTH_ATTEMPTS = "auth-attempts";
+
+    private final Map<String, RateLimitPolicy> policies;
+    private final Map<String, RateLimiter> limiters = new TreeMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitService(Environment environment,
+                            @Value("${application.rate-limit.max-keys:100000}") int maxKeys,
+                            MeterRegistry meterRegistry) {
+        this.policies = Binder.get(environment)
+            .bind("application.rate-limit.policies", Bindable.mapOf(String.class, RateLimitPolicy.class))
+            .map(TreeMap::new)
+            .orElseGet(TreeMap::new);
+        this.meterRegistry = meterRegistry;
+        policies.forEach((name, policy) -> limiters.put(name, new RateLimiter(
+            policy.limit(), policy.period().toNanos(), policy.burst(), maxKeys
+        )));
+    }
+
+    public Map<String, RateLimitPolicy> policies() {
+        return policies;
+    }
+
+    /** Takes one request from the policy's allowance for the key; returns 0 or the nanoseconds to wait. */
+    public long acquire(String policy, String key) {
+        RateLimiter limiter = limiters.get(policy);
+        if (limiter == null) {
+            return 0;
+        }
+        long wait = limiter.acquire(key);
+        if (wait > 0) {
+            meterRegistry.counter("signalos.ratelimit.rejected.total", "policy", policy).increment();
+        }
+        return wait;
+    }
 
-    public boolean tryAcquire(String key) {
-        AtomicInteger counter = attempts.computeIfAbsent(key, k -> new AtomicInteger(0));
-        return counter.incrementAndGet() <= MAX_ATTEMPTS;
+    public void check(String policy, String key) {
+        long wait = acquire(policy, key);
+        if (wait > 0) {
+            throw new TooManyRequestsException("Too many attempts. Please wait.", retryAfterSeconds(wait));
+        }
     }
 
-    public void reset(String key) {
-        attempts.remove(key);
+    public void reset(String policy, String key) {
+        RateLimiter limiter = limiters.get(policy);
+        if (limiter != null) {
+            limiter.reset(key);
+        }
     }
 
-    @Scheduled(fixedRate = 60000) // Reset every minute
-    public void cleanup() {
-        attempts.clear();
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
     }
 }
@@ -0,0 +1,244 @@
+package org.opencivic.signalos.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.opencivic.signalos.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reaction counts for signals, blog posts and thread messages. Each reaction is a relative upsert on the
+ * (parent, reaction_type) row, so concurrent reactions never overwrite each other and the parent entity is never
+ * loaded. With a coalesce interval configured, reactions are summed in memory per parent and written by one
+ * flusher thread as a single batch; reads add the unflushed counts.
+ */
+@Component
+public class ReactionCounter {
+
+    public enum Target {
+        SIGNAL("signal_reactions", "signal_id", "signals", "Signal not found"),
+        BLOG("blog_reactions", "blog_id", "community_blog_posts", "Blog not found"),
+        MESSAGE("message_reactions", "message_id", "community_thread_messages", "Thread message not found");
+
+        private final String table;
+        private final String parentColumn;
+        private final String parentTable;
+        private final String notFoundMessage;
+
+        Target(String table, String parentColumn, String parentTable, String notFoundMessage) {
+            this.table = table;
+            this.parentColumn = parentColumn;
+            this.parentTable = parentTable;
+            this.notFoundMessage = notFoundMessage;
+        }
+    }
+
+    static final int MAX_REACTION_TYPE_LENGTH = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(ReactionCounter.class);
+
+    private record Parent(Target target, UUID id) {
+    }
+
+    private record Delta(Parent parent, String reactionType, long count) {
+    }
+
+    // Selecting the parent row makes the upsert a no-op (update count 0) when the parent does not exist.
+    private static String postgresUpsert(Target target) {
+        return "INSERT INTO " + target.table + " (" + target.parentColumn + ", reaction_type, count) "
+            + "SELECT id, ?, ? FROM " + target.parentTable + " WHERE id = ? "
+            + "ON CONFLICT (" + target.parentColumn + ", reaction_type) "
+            + "DO UPDATE SET count = " + target.table + ".count + EXCLUDED.count";
+    }
+
+    // Same effect in standard SQL for databases without ON CONFLICT (the H2 test database).
+    private static String mergeUpsert(Target target) {
+        return "MERGE INTO " + target.table + " r "
+            + "USING (SELECT p.id AS parent_id, CAST(? AS VARCHAR(" + MAX_REACTION_TYPE_LENGTH + ")) AS reaction_type, "
+            + "CAST(? AS INT) AS delta FROM " + target.parentTable + " p WHERE p.id = ?) s "
+            + "ON r." + target.parentColumn + " = s.parent_id AND r.reaction_type = s.reaction_type "
+            + "WHEN MATCHED THEN UPDATE SET count = r.count + s.delta "
+            + "WHEN NOT MATCHED THEN INSERT (" + target.parentColumn + ", reaction_type, count) "
+            + "VALUES (s.parent_id, s.reaction_type, s.delta)";
+    }
+
+    private final Map<Parent, Map<String, Long>> pending = new ConcurrentHashMap<>();
+    private final Map<Target, String> upsertSql = new HashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final ScheduledExecutorService flusher;
+    private final long coalesceIntervalMs;
+
+    public ReactionCounter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${application.reactions.coalesce-interval-ms:0}") long coalesceIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(product);
+        for (Target target : Target.values()) {
+            upsertSql.put(target, postgres ? postgresUpsert(target) : mergeUpsert(target));
+        }
+        this.coalesceIntervalMs = coalesceIntervalMs;
+        this.flusher = coalesceIntervalMs > 0
+            ? Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("reaction-flush").daemon(true).factory())
+            : null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (flusher != null) {
+            flusher.scheduleWithFixedDelay(this::flushQuietly, coalesceIntervalMs, coalesceIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Adds one reaction and returns the parent's counts including it. Written through in the caller's transaction
+     * unless coalescing is on, in which case the reaction is buffered until the next flush.
+     */
+    public Map<String, Integer> react(Target target, UUID parentId, String reactionType) {
+        if (reactionType == null || reactionType.isBlank()) {
+            throw new IllegalArgumentException("Reaction type is required.");
+        }
+        if (reactionType.length() > MAX_REACTION_TYPE_LENGTH) {
+            throw new IllegalArgumentException("Reaction type must be at most " + MAX_REACTION_TYPE_LENGTH + " characters.");
+        }
+        Parent parent = new Parent(target, parentId);
+        if (flusher == null) {
+            if (upsert(target, parentId, reactionType, 1) == 0) {
+                throw new ResourceNotFoundException(target.notFoundMessage);
+            }
+        } else {
+            if (!exists(parent)) {
+                throw new ResourceNotFoundException(target.notFoundMessage);
+            }
+            pending.compute(parent, (key, counts) -> plus(counts, Map.of(reactionType, 1L)));
+        }
+        return counts(target, parentId);
+    }
+
+    /** The parent's counts by reaction type, read from the reaction table alone. */
+    public Map<String, Integer> counts(Target target, UUID parentId) {
+        return counts(target, List.of(parentId)).getOrDefault(parentId, Map.of());
+    }
+
+    /** Counts for many parents of one kind in a single query; parents without reactions are absent. */
+    public Map<UUID, Map<String, Integer>> counts(Target target, Collection<UUID> parentIds) {
+        if (parentIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql = "SELECT " + target.parentColumn + ", reaction_type, count FROM " + target.table
+            + " WHERE " + target.parentColumn + " IN (" + String.join(",", Collections.nCopies(parentIds.size(), "?")) + ")"
+            + " ORDER BY reaction_type";
+        Map<UUID, Map<String, Integer>> result = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            result.computeIfAbsent(rs.getObject(1, UUID.class), id -> new LinkedHashMap<>())
+                .put(rs.getString(2), rs.getInt(3));
+        }, parentIds.toArray());
+        if (!pending.isEmpty()) {
+            for (UUID parentId : parentIds) {
+                Map<String, Long> unflushed = pending.get(new Parent(target, parentId));
+                if (unflushed != null) {
+                    Map<String, Integer> counts = result.computeIfAbsent(parentId, id -> new LinkedHashMap<>());
+                    unflushed.forEach((type, count) -> counts.merge(type, count.intValue(), Integer::sum));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes the buffered reactions in one transaction and returns how many were applied. A parent's counts are
+     * taken out of the buffer before the write and put back if it fails, so a reader racing the flush may briefly
+     * see them missing, never twice.
+     */
+    public synchronized long flush() {
+        List<Delta> deltas = new ArrayList<>();
+        for (Parent parent : pending.keySet()) {
+            Map<String, Long> counts = pending.remove(parent);
+            if (counts != null) {
+                counts.forEach((type, count) -> deltas.add(new Delta(parent, type, count)));
+            }
+        }
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        try {
+            flushTransaction.executeWithoutResult(status -> {
+                for (Target target : Target.values()) {
+                    List<Delta> batch = deltas.stream().filter(delta -> delta.parent().target() == target).toList();
+                    if (!batch.isEmpty()) {
+                        jdbcTemplate.batchUpdate(upsertSql.get(target), batch, batch.size(), (statement, delta) -> {
+                            statement.setString(1, delta.reactionType());
+                            statement.setLong(2, delta.count());
+                            statement.setObject(3, delta.parent().id());
+                        });
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            for (Delta delta : deltas) {
+                pending.merge(delta.parent(), Map.of(delta.reactionType(), delta.count()), ReactionCounter::plus);
+            }
+            throw e;
+        }
+        return deltas.stream().mapToLong(Delta::count).sum();
+    }
+
+    private int upsert(Target target, UUID parentId, String reactionType, long count) {
+        return jdbcTemplate.update(upsertSql.get(target), reactionType, count, parentId);
+    }
+
+    private boolean exists(Parent parent) {
+        Integer found = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + parent.target().parentTable + " WHERE id = ?", Integer.class, parent.id()
+        );
+        return found != null && found > 0;
+    }
+
+    private static Map<String, Long> plus(Map<String, Long> counts, Map<String, Long> added) {
+        Map<String, Long> sum = counts == null ? new HashMap<>() : new HashMap<>(counts);
+        added.forEach((type, count) -> sum.merge(type, count, Long::sum));
+        return sum;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Reaction flush failed; buffered reactions are kept for the next attempt", e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.opencivic.signalos.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.opencivic.signalos.domain.ScoringProfileChangedEvent;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Re-scores stored signals whose score_version differs from the active {@link ScoringFormula}.
+ * Works in keyset batches, one short transaction each, so reads keep serving the old score until a row is updated.
+ */
+@Component
+public class ScoreRecomputeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreRecomputeJob.class);
+    // The database orders UUIDs as unsigned bytes, so the nil UUID sorts before every generated id.
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final SignalRepository signalRepository;
+    private final ScoringFormula scoringFormula;
+    private final TransactionTemplate batchTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean passRequested = new AtomicBoolean();
+
+    @Value("${application.prioritization.recompute.on-startup:true}")
+    private boolean recomputeOnStartup;
+
+    @Value("${application.prioritization.recompute.batch-size:500}")
+    private int batchSize;
+
+    public ScoreRecomputeJob(SignalRepository signalRepository,
+                             ScoringFormula scoringFormula,
+                             PlatformTransactionManager transactionManager) {
+        this.signalRepository = signalRepository;
+        this.scoringFormula = scoringFormula;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void recomputeOnStartup() {
+        if (recomputeOnStartup) {
+            recomputeOutdatedScores();
+        }
+    }
+
+    // Runs after ScoringFormula has swapped in the new profile: both listen for the same committed event.
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoringProfileChanged(ScoringProfileChangedEvent event) {
+        recomputeOutdatedScores();
+    }
+
+    /**
+     * Brings every stored score up to the current formula version and returns how many rows this call rewrote.
+     * A call made while another recompute is running returns 0 at once; the running one makes another pass
+     * so rows marked outdated behind its keyset position are not missed.
+     */
+    public long recomputeOutdatedScores() {
+        passRequested.set(true);
+        long rescored = 0;
+        while (passRequested.get() && running.compareAndSet(false, true)) {
+            try {
+                while (passRequested.getAndSet(false)) {
+                    rescored += recomputePass();
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+        return rescored;
+    }
+
+    private long recomputePass() {
+        int version = scoringFormula.version();
+        long rescored = 0;
+        UUID after = FIRST_ID;
+        while (true) {
+            UUID from = after;
+            List<Signal> batch = batchTransaction.execute(status -> {
+                List<Signal> outdated = signalRepository.findOutdatedScoresAfter(from, version, PageRequest.of(0, batchSize));
+                outdated.forEach(scoringFormula::materialize);
+                return signalRepository.saveAll(outdated);
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            rescored += batch.size();
+            after = batch.get(batch.size() - 1).getId();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (rescored > 0) {
+            log.info("Re-scored {} signals to formula version {}", rescored, version);
+        }
+        return rescored;
+    }
+}
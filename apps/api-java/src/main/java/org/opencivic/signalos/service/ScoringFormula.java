@@ -0,0 +1,119 @@
+package org.opencivic.signalos.service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.opencivic.signalos.domain.Community;
+import org.opencivic.signalos.domain.ScoreBreakdown;
+import org.opencivic.signalos.domain.ScoringProfile;
+import org.opencivic.signalos.domain.ScoringProfileChangedEvent;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * The prioritization formula and its version. Scores are materialized on write and stamped with {@link #VERSION};
+ * bump it whenever the formula's shape changes so {@link ScoreRecomputeJob} re-scores the stored rows.
+ * Weights and caps come from the signal's community {@link ScoringProfile}, compiled once and swapped in place
+ * when a community changes its profile.
+ */
+@Component
+public class ScoringFormula {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringFormula.class);
+
+    public static final int VERSION = 1;
+
+    private final CommunityRepository communityRepository;
+    // Only communities with a custom profile have an entry; everything else scores with the default.
+    private final Map<UUID, CompiledScoringProfile> profiles = new ConcurrentHashMap<>();
+
+    public ScoringFormula(CommunityRepository communityRepository) {
+        this.communityRepository = communityRepository;
+    }
+
+    /** Scores every community with the default profile; for tests and benchmarks, which never load profiles. */
+    public static ScoringFormula defaults() {
+        return new ScoringFormula(null);
+    }
+
+    @PostConstruct
+    public void loadProfiles() {
+        for (Community community : communityRepository.findAll()) {
+            if (community.getScoringProfile() != null) {
+                profiles.put(community.getId(), CompiledScoringProfile.compile(community.getScoringProfile()));
+            }
+        }
+        log.info("Loaded {} custom scoring profiles", profiles.size());
+    }
+
+    // Ordered first so the new profile is in place before ScoreRecomputeJob starts re-scoring.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoringProfileChanged(ScoringProfileChangedEvent event) {
+        swap(event.communityId(), event.profile());
+    }
+
+    // Replaces the community's compiled profile; null restores the default.
+    public void swap(UUID communityId, ScoringProfile profile) {
+        if (profile == null) {
+            profiles.remove(communityId);
+        } else {
+            profiles.put(communityId, CompiledScoringProfile.compile(profile));
+        }
+    }
+
+    public int version() {
+        return VERSION;
+    }
+
+    public String description(Signal signal) {
+        return profileFor(signal.getCommunityId()).formula();
+    }
+
+    public String profileName(Signal signal) {
+        return profileFor(signal.getCommunityId()).name();
+    }
+
+    public ScoreBreakdown breakdown(Signal signal) {
+        return profileFor(signal.getCommunityId()).breakdown(
+            signal.getUrgency(), signal.getImpact(), signal.getAffectedPeople(), signal.getCommunityVotes()
+        );
+    }
+
+    public double score(Signal signal) {
+        return profileFor(signal.getCommunityId()).score(
+            signal.getUrgency(), signal.getImpact(), signal.getAffectedPeople(), signal.getCommunityVotes()
+        );
+    }
+
+    public static double total(ScoreBreakdown breakdown) {
+        return breakdown.urgency() + breakdown.impact() + breakdown.affectedPeople() + breakdown.communityVotes();
+    }
+
+    // Writes score, breakdown and version onto the signal; call on every write that changes a scoring input.
+    public Signal materialize(Signal signal) {
+        ScoreBreakdown breakdown = breakdown(signal);
+        signal.setScoreBreakdown(breakdown);
+        signal.setPriorityScore(total(breakdown));
+        signal.setScoreVersion(version());
+        return signal;
+    }
+
+    public boolean isCurrent(Signal signal) {
+        return signal.getScoreVersion() == version() && signal.getScoreBreakdown() != null;
+    }
+
+    CompiledScoringProfile profileFor(UUID communityId) {
+        if (communityId == null) {
+            return CompiledScoringProfile.DEFAULT;
+        }
+        return profiles.getOrDefault(communityId, CompiledScoringProfile.DEFAULT);
+    }
+}
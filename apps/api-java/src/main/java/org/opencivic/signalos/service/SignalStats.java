@@ -0,0 +1,308 @@
+package org.opencivic.signalos.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.SignalChangedEvent;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-community signal counters behind /api/signals/meta. Committed signal changes move one signal between status
+ * counters, so a read is a handful of atomic loads. The counters are loaded from the table once the application is
+ * ready and periodically compared against a grouped count and the newest creation time per community; on a
+ * mismatch (a write that bypassed the entity listener, or the newest signal being deleted) they are reloaded. Until
+ * the first load completes, reads fall back to the database.
+ */
+@Component
+public class SignalStats {
+
+    public record Snapshot(
+        long total,
+        long unresolved,
+        Map<String, Long> byStatus,
+        LocalDateTime lastUpdatedAt
+    ) {
+    }
+
+    static final Set<String> RESOLVED_STATUSES = Set.of("RESOLVED", "REJECTED");
+
+    private static final Logger log = LoggerFactory.getLogger(SignalStats.class);
+
+    // Signals outside any community are counted under this key as well as in the global aggregate.
+    private static final UUID NO_COMMUNITY = new UUID(0, 0);
+
+    private record Tracked(UUID communityId, String status) {
+    }
+
+    private static final class Aggregate {
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong unresolved = new AtomicLong();
+        private final Map<String, AtomicLong> byStatus = new ConcurrentHashMap<>();
+        // Newest creation time seen; deleting the newest signal leaves it in place until reconcile() notices.
+        private final AtomicReference<LocalDateTime> lastCreatedAt = new AtomicReference<>();
+
+        private void add(String status, long delta) {
+            total.addAndGet(delta);
+            if (!RESOLVED_STATUSES.contains(status)) {
+                unresolved.addAndGet(delta);
+            }
+            byStatus.computeIfAbsent(status, key -> new AtomicLong()).addAndGet(delta);
+        }
+
+        private void touch(LocalDateTime createdAt) {
+            if (createdAt != null) {
+                lastCreatedAt.accumulateAndGet(createdAt, (current, next) ->
+                    current == null || next.isAfter(current) ? next : current);
+            }
+        }
+
+        private Snapshot snapshot() {
+            Map<String, Long> counts = new TreeMap<>();
+            byStatus.forEach((status, count) -> {
+                if (count.get() != 0) {
+                    counts.put(status, count.get());
+                }
+            });
+            return new Snapshot(total.get(), unresolved.get(), counts, lastCreatedAt.get());
+        }
+    }
+
+    private final SignalRepository signalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService reconciler;
+    private final long reconcileIntervalMs;
+
+    // Guarded by this; the aggregates are also read without the lock.
+    private final Map<UUID, Tracked> signals = new HashMap<>();
+    private final List<SignalChangedEvent> pendingDuringReload = new ArrayList<>();
+    private volatile Aggregate global = new Aggregate();
+    private volatile Map<UUID, Aggregate> communities = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private boolean reloading;
+
+    public SignalStats(SignalRepository signalRepository,
+                       JdbcTemplate jdbcTemplate,
+                       @Value("${application.signals.stats.reconcile-interval-ms:300000}") long reconcileIntervalMs) {
+        this.signalRepository = signalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileIntervalMs = reconcileIntervalMs;
+        this.reconciler = reconcileIntervalMs > 0
+            ? Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("signal-stats-reconcile").daemon(true).factory()
+            )
+            : null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (reconciler != null) {
+            reconciler.scheduleWithFixedDelay(
+                this::reconcileQuietly, reconcileIntervalMs, reconcileIntervalMs, TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Signal stats could not be loaded; /meta will be served from the database", e);
+        }
+    }
+
+    /** Counters for one community, or across all signals when communityId is null. */
+    public Snapshot snapshot(UUID communityId) {
+        if (!ready) {
+            return query(communityId);
+        }
+        Aggregate aggregate = communityId == null ? global : communities.get(communityId);
+        return aggregate == null ? new Snapshot(0, 0, Map.of(), null) : aggregate.snapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSignalChanged(SignalChangedEvent event) {
+        if (reloading) {
+            pendingDuringReload.add(event);
+        }
+        apply(event, global, communities);
+    }
+
+    /**
+     * Compares the counters and each community's last creation time with the table and reloads them when they
+     * differ. Returns whether a reload was needed.
+     */
+    public boolean reconcile() {
+        Map<UUID, Map<String, Long>> expected = new HashMap<>();
+        for (Object[] row : signalRepository.countGroupedByCommunityIdAndStatus()) {
+            if (row[1] != null) {
+                expected.computeIfAbsent(key((UUID) row[0]), id -> new HashMap<>()).put((String) row[1], (Long) row[2]);
+            }
+        }
+        Map<UUID, LocalDateTime> expectedLatest = new HashMap<>();
+        for (Object[] row : signalRepository.findLatestCreatedAtGroupedByCommunityId()) {
+            if (row[1] != null) {
+                expectedLatest.put(key((UUID) row[0]), stored((LocalDateTime) row[1]));
+            }
+        }
+        Map<UUID, Map<String, Long>> actual = new HashMap<>();
+        Map<UUID, LocalDateTime> actualLatest = new HashMap<>();
+        communities.forEach((communityId, aggregate) -> {
+            Snapshot snapshot = aggregate.snapshot();
+            if (!snapshot.byStatus().isEmpty()) {
+                actual.put(communityId, snapshot.byStatus());
+            }
+            // Kept for a community whose signals are all gone, so its stale time also reaches the global one.
+            if (snapshot.lastUpdatedAt() != null) {
+                actualLatest.put(communityId, stored(snapshot.lastUpdatedAt()));
+            }
+        });
+        if (ready && expected.equals(actual) && expectedLatest.equals(actualLatest)) {
+            return false;
+        }
+        log.info("Signal stats diverged from the signals table; reloading");
+        reload();
+        return true;
+    }
+
+    private void reload() {
+        synchronized (this) {
+            reloading = true;
+            pendingDuringReload.clear();
+        }
+        try {
+            Map<UUID, Tracked> loaded = new HashMap<>();
+            Aggregate loadedGlobal = new Aggregate();
+            Map<UUID, Aggregate> loadedCommunities = new ConcurrentHashMap<>();
+            jdbcTemplate.query("SELECT id, community_id, status, created_at FROM signals", rs -> {
+                UUID communityId = rs.getObject("community_id", UUID.class);
+                String status = rs.getString("status");
+                LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+                loaded.put(rs.getObject("id", UUID.class), new Tracked(communityId, status));
+                if (status != null) {
+                    for (Aggregate aggregate : List.of(loadedGlobal, community(loadedCommunities, communityId))) {
+                        aggregate.add(status, 1);
+                        aggregate.touch(createdAt);
+                    }
+                }
+            });
+            synchronized (this) {
+                signals.clear();
+                signals.putAll(loaded);
+                // Changes committed while the table was read are replayed; applying one twice is harmless.
+                for (SignalChangedEvent event : pendingDuringReload) {
+                    apply(event, loadedGlobal, loadedCommunities);
+                }
+                pendingDuringReload.clear();
+                global = loadedGlobal;
+                communities = loadedCommunities;
+                ready = true;
+            }
+        } finally {
+            synchronized (this) {
+                reloading = false;
+            }
+        }
+    }
+
+    // Moves the signal out of the counters it was last seen in and into the ones it belongs to now.
+    private void apply(SignalChangedEvent event, Aggregate globalAggregate, Map<UUID, Aggregate> communityAggregates) {
+        Signal snapshot = event.snapshot();
+        Tracked current = event.type() == SignalChangedEvent.Type.DELETED || snapshot == null
+            ? null
+            : new Tracked(snapshot.getCommunityId(), snapshot.getStatus());
+        Tracked previous = current == null ? signals.remove(event.signalId()) : signals.put(event.signalId(), current);
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null && previous.status() != null) {
+            globalAggregate.add(previous.status(), -1);
+            community(communityAggregates, previous.communityId()).add(previous.status(), -1);
+        }
+        if (current != null && current.status() != null) {
+            globalAggregate.add(current.status(), 1);
+            globalAggregate.touch(snapshot.getCreatedAt());
+            Aggregate aggregate = community(communityAggregates, current.communityId());
+            aggregate.add(current.status(), 1);
+            aggregate.touch(snapshot.getCreatedAt());
+        }
+    }
+
+    private Snapshot query(UUID communityId) {
+        List<Object[]> rows = communityId == null
+            ? signalRepository.countGroupedByStatus()
+            : signalRepository.countGroupedByStatusForCommunity(communityId);
+        Map<String, Long> byStatus = new TreeMap<>();
+        long total = 0;
+        long unresolved = 0;
+        for (Object[] row : rows) {
+            String status = (String) row[0];
+            long count = (Long) row[1];
+            if (status != null) {
+                total += count;
+                byStatus.put(status, count);
+                if (!RESOLVED_STATUSES.contains(status)) {
+                    unresolved += count;
+                }
+            }
+        }
+        LocalDateTime lastUpdatedAt = (communityId == null
+            ? signalRepository.findTopByOrderByCreatedAtDesc()
+            : signalRepository.findTopByCommunityIdOrderByCreatedAtDesc(communityId))
+                .map(Signal::getCreatedAt)
+                .orElse(null);
+        return new Snapshot(total, unresolved, byStatus, lastUpdatedAt);
+    }
+
+    // Creation times from events keep the JVM clock's nanoseconds; the table rounds them to microseconds.
+    private static LocalDateTime stored(LocalDateTime createdAt) {
+        return createdAt.plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static Aggregate community(Map<UUID, Aggregate> aggregates, UUID communityId) {
+        return aggregates.computeIfAbsent(key(communityId), id -> new Aggregate());
+    }
+
+    private static UUID key(UUID communityId) {
+        return communityId == null ? NO_COMMUNITY : communityId;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Signal stats reconciliation failed; keeping the current counters", e);
+        }
+    }
+}
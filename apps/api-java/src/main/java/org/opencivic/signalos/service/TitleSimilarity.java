@@ -0,0 +1,261 @@
+package org.opencivic.signalos.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import org.opencivic.signalos.domain.Signal;
+
+/**
+ * Exact near-duplicate check shared by the dedup engine and the prioritization service.
+ * Titles are reduced once to a {@link Fingerprint}; comparing two fingerprints allocates nothing.
+ */
+final class TitleSimilarity {
+
+    private static final int MIN_TOKEN_LENGTH = 3;
+    // The dedup engine derives its candidate filters from these two thresholds.
+    static final int CONTAINMENT_MIN_LENGTH = 12;
+    static final double MIN_TOKEN_OVERLAP = 0.55;
+
+    // Two DP rows per thread, grown on demand, so the banded distance never allocates on the hot path.
+    private static final ThreadLocal<int[][]> ROWS = ThreadLocal.withInitial(() -> new int[2][64]);
+
+    private TitleSimilarity() {
+    }
+
+    // histogram counts the normalized alphabet: a-z, 0-9 and the space.
+    record Fingerprint(String category, String normalized, long[] tokenHashes, short[] histogram) {
+        boolean isBlank() {
+            return normalized.isEmpty();
+        }
+    }
+
+    static Fingerprint fingerprint(Signal signal) {
+        String normalized = normalizeTitle(signal.getTitle());
+        String category = signal.getCategory() == null ? null : signal.getCategory().toLowerCase(Locale.ROOT);
+        return new Fingerprint(category, normalized, tokenHashes(normalized), histogram(normalized));
+    }
+
+    static boolean isSimilar(Signal s1, Signal s2) {
+        return isSimilar(fingerprint(s1), fingerprint(s2));
+    }
+
+    static boolean isSimilar(Fingerprint f1, Fingerprint f2) {
+        if (f1.category() == null || !f1.category().equals(f2.category())) {
+            return false;
+        }
+        String t1 = f1.normalized();
+        String t2 = f2.normalized();
+        if (t1.isEmpty() || t2.isEmpty()) {
+            return false;
+        }
+        if (t1.equals(t2)) {
+            return true;
+        }
+
+        int minLen = Math.min(t1.length(), t2.length());
+        if (minLen >= CONTAINMENT_MIN_LENGTH && (t1.contains(t2) || t2.contains(t1))) {
+            return true;
+        }
+
+        double overlap = tokenOverlap(f1.tokenHashes(), f2.tokenHashes());
+        if (overlap >= 0.75) {
+            return true;
+        }
+        if (overlap < MIN_TOKEN_OVERLAP) {
+            return false;
+        }
+        int adaptiveThreshold = Math.max(3, minLen / 5);
+        if (bagDistance(f1.histogram(), f2.histogram()) > adaptiveThreshold) {
+            return false;
+        }
+        return withinDistance(t1, t2, adaptiveThreshold);
+    }
+
+    /**
+     * Same result as NFD + strip marks + lower-case + {@code [^a-z0-9\s] -> " "} + collapse whitespace + trim,
+     * done in a single pass. Pure-ASCII titles skip the Unicode normalizer entirely.
+     */
+    static String normalizeTitle(String title) {
+        if (title == null || title.isEmpty()) {
+            return "";
+        }
+        String source = isAscii(title) ? title : Normalizer.normalize(title, Normalizer.Form.NFD);
+        char[] out = new char[source.length()];
+        int length = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c < 128) {
+                if (c >= 'A' && c <= 'Z') {
+                    c = (char) (c + ('a' - 'A'));
+                }
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    if (pendingSpace && length > 0) {
+                        out[length++] = ' ';
+                    }
+                    pendingSpace = false;
+                    out[length++] = c;
+                    continue;
+                }
+            } else if (isMark(c)) {
+                continue;
+            }
+            pendingSpace = true;
+        }
+        return new String(out, 0, length);
+    }
+
+    // Sorted, distinct 64-bit hashes of the tokens with at least MIN_TOKEN_LENGTH characters.
+    static long[] tokenHashes(String normalized) {
+        long[] hashes = new long[normalized.length() / (MIN_TOKEN_LENGTH + 1) + 1];
+        int count = 0;
+        int start = 0;
+        for (int i = 0; i <= normalized.length(); i++) {
+            if (i == normalized.length() || normalized.charAt(i) == ' ') {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    long hash = 0xcbf29ce484222325L;
+                    for (int j = start; j < i; j++) {
+                        hash = (hash ^ normalized.charAt(j)) * 0x100000001b3L;
+                    }
+                    hashes[count++] = hash;
+                }
+                start = i + 1;
+            }
+        }
+        Arrays.sort(hashes, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || hashes[distinct - 1] != hashes[i]) {
+                hashes[distinct++] = hashes[i];
+            }
+        }
+        return Arrays.copyOf(hashes, distinct);
+    }
+
+    /** Fewest shared tokens that give a set of {@code tokens} tokens an overlap of at least MIN_TOKEN_OVERLAP. */
+    static int minSharedTokens(int tokens) {
+        int shared = 1;
+        while (shared < tokens && (double) shared / (double) tokens < MIN_TOKEN_OVERLAP) {
+            shared++;
+        }
+        return shared;
+    }
+
+    static double tokenOverlap(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return 0.0;
+        }
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (double) Math.min(a.length, b.length);
+    }
+
+    static short[] histogram(String normalized) {
+        short[] counts = new short[37];
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            int slot = c == ' ' ? 36 : c <= '9' ? 26 + (c - '0') : c - 'a';
+            counts[slot]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Lower bound on the edit distance: an edit moves at most one character count up and one down, so the larger
+     * of the total surplus and the total deficit cannot exceed the distance.
+     */
+    static int bagDistance(short[] a, short[] b) {
+        int surplus = 0;
+        int deficit = 0;
+        for (int i = 0; i < a.length; i++) {
+            int difference = a[i] - b[i];
+            if (difference > 0) {
+                surplus += difference;
+            } else {
+                deficit -= difference;
+            }
+        }
+        return Math.max(surplus, deficit);
+    }
+
+    /**
+     * Levenshtein distance &lt;= limit, computed on the diagonal band |i - j| &lt;= limit with two reused rows.
+     * Stops as soon as every cell in a row exceeds the limit.
+     */
+    static boolean withinDistance(String x, String y, int limit) {
+        int m = x.length();
+        int n = y.length();
+        if (Math.abs(m - n) > limit) {
+            return false;
+        }
+        int[][] rows = ROWS.get();
+        if (rows[0].length < n + 1) {
+            rows[0] = new int[n + 1];
+            rows[1] = new int[n + 1];
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        int over = limit + 1;
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j <= limit ? j : over;
+        }
+        for (int i = 1; i <= m; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(n, i + limit);
+            current[0] = i <= limit ? i : over;
+            if (from > 1) {
+                current[from - 1] = over;
+            }
+            int rowMin = current[0];
+            char xc = x.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (xc == y.charAt(j - 1) ? 0 : 1);
+                int deletion = previous[j] + 1;
+                int insertion = current[j - 1] + 1;
+                int cell = Math.min(Math.min(substitution, deletion), Math.min(insertion, over));
+                current[j] = cell;
+                if (cell < rowMin) {
+                    rowMin = cell;
+                }
+            }
+            if (to < n) {
+                current[to + 1] = over;
+            }
+            if (rowMin > limit) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n] <= limit;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMark(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK
+            || type == Character.ENCLOSING_MARK
+            || type == Character.COMBINING_SPACING_MARK;
+    }
+}
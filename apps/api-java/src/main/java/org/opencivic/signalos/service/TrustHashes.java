@@ -0,0 +1,59 @@
+package org.opencivic.signalos.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * SHA-256 helpers for trust packets. Digests are reused per thread; the Merkle tree hash follows RFC 6962
+ * section 2.1: leaves and interior nodes are domain-separated, and an n-leaf tree splits at the largest power
+ * of two below n (no duplicated leaves).
+ */
+final class TrustHashes {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(TrustHashes::newDigest);
+
+    private TrustHashes() {
+    }
+
+    static MessageDigest sha256() {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return digest;
+    }
+
+    // Root of the given leaves; the hash of the empty string for an empty list, per RFC 6962.
+    static byte[] merkleRoot(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            return sha256().digest();
+        }
+        return subtree(leaves, 0, leaves.size());
+    }
+
+    private static byte[] subtree(List<byte[]> leaves, int from, int to) {
+        int size = to - from;
+        if (size == 1) {
+            MessageDigest digest = sha256();
+            digest.update(LEAF_PREFIX);
+            return digest.digest(leaves.get(from));
+        }
+        int split = Integer.highestOneBit(size - 1);
+        byte[] left = subtree(leaves, from, from + split);
+        byte[] right = subtree(leaves, from + split, to);
+        MessageDigest digest = sha256();
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        return digest.digest(right);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
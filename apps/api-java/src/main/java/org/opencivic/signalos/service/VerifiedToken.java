@@ -0,0 +1,13 @@
+package org.opencivic.signalos.service;
+
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+import java.util.List;
+
+/** A token whose signature and expiry were checked, with the claims callers read from it. */
+public record VerifiedToken(
+    String subject,
+    Date expiresAt,
+    List<String> roles,
+    Claims claims
+) {}
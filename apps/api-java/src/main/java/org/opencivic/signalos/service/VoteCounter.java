@@ -0,0 +1,220 @@
+package org.opencivic.signalos.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.SignalChangedEvent;
+import org.opencivic.signalos.domain.VoteCastEvent;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Coalesces vote-count increments. Each committed vote bumps a per-signal {@link LongAdder}; a single flusher
+ * thread applies the accumulated deltas with one JDBC batch of relative UPDATEs, so concurrent voters never
+ * wait on the signal's row lock. The durable record is the votes table; counts here only lag by one interval.
+ */
+@Component
+public class VoteCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCounter.class);
+
+    // The vote term is recomputed from the new count with the community's cap, the other terms are left as stored.
+    private static final String INCREMENT_SQL = "UPDATE signals SET "
+        + "community_votes = community_votes + ?, "
+        + "score_community_votes = LEAST(CAST(community_votes + ? AS DOUBLE PRECISION) / ?, ?), "
+        + "priority_score = priority_score - COALESCE(score_community_votes, 0) "
+        + "+ LEAST(CAST(community_votes + ? AS DOUBLE PRECISION) / ?, ?) "
+        + "WHERE id = ?";
+
+    private record Pending(UUID communityId, LongAdder votes) {
+    }
+
+    private record Delta(UUID signalId, UUID communityId, long count) {
+    }
+
+    // Increments run inside compute(), so an entry removed by another compute can never take a late increment.
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final SignalRepository signalRepository;
+    private final ScoringFormula scoringFormula;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate flushTransaction;
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalMs;
+
+    public VoteCounter(JdbcTemplate jdbcTemplate,
+                       SignalRepository signalRepository,
+                       ScoringFormula scoringFormula,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${application.votes.flush-interval-ms:250}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.signalRepository = signalRepository;
+        this.scoringFormula = scoringFormula;
+        this.eventPublisher = eventPublisher;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("vote-flush").daemon(true).factory()
+        );
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    // Counts a vote only once its row is committed, so a rolled-back vote never reaches the counter.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCast(VoteCastEvent event) {
+        pending.compute(event.signalId(), (id, entry) -> {
+            Pending counted = entry != null ? entry : new Pending(event.communityId(), new LongAdder());
+            counted.votes().increment();
+            return counted;
+        });
+    }
+
+    // Votes still pending for a deleted signal have no row left to land in.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSignalChanged(SignalChangedEvent event) {
+        if (event.type() == SignalChangedEvent.Type.DELETED) {
+            pending.remove(event.signalId());
+        }
+    }
+
+    public long pendingVotes(UUID signalId) {
+        Pending entry = pending.get(signalId);
+        return entry == null ? 0 : entry.votes().sum();
+    }
+
+    // Whether the signal still has an entry; flushed and deleted signals must not.
+    boolean tracks(UUID signalId) {
+        return pending.containsKey(signalId);
+    }
+
+    /**
+     * Takes the signal's unflushed votes out of the counter, for a caller about to fold the signal into another.
+     * Holds the flush lock, so on return every earlier delta is committed to the row: re-read the row's count after
+     * this call, not before, and add the returned votes to it.
+     */
+    public synchronized long drain(UUID signalId) {
+        Pending entry = pending.remove(signalId);
+        return entry == null ? 0 : entry.votes().sumThenReset();
+    }
+
+    /**
+     * The signal as readers should see it: stored count plus votes not yet flushed, plus {@code uncommitted}
+     * votes of the caller's own transaction. Returns a detached copy when anything is added.
+     */
+    public Signal withPending(Signal signal, long uncommitted) {
+        long extra = pendingVotes(signal.getId()) + uncommitted;
+        if (extra == 0) {
+            return signal;
+        }
+        Signal view = signal.detachedCopy();
+        view.setCommunityVotes((int) (signal.getCommunityVotes() + extra));
+        return scoringFormula.materialize(view);
+    }
+
+    /**
+     * Writes all pending deltas in one transaction and returns how many votes were applied. Deltas are only
+     * subtracted from the adders after the batch commits, so increments that race with the flush stay pending
+     * and a failed batch is retried; a reader racing the commit may briefly see a flushed delta twice. Entries
+     * that are back to zero afterwards are dropped.
+     */
+    public synchronized long flush() {
+        List<Delta> deltas = new ArrayList<>();
+        List<LongAdder> adders = new ArrayList<>();
+        pending.forEach((signalId, entry) -> {
+            long count = entry.votes().sum();
+            if (count != 0) {
+                deltas.add(new Delta(signalId, entry.communityId(), count));
+                adders.add(entry.votes());
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        flushTransaction.executeWithoutResult(status -> applyDeltas(deltas));
+        long applied = 0;
+        for (int i = 0; i < deltas.size(); i++) {
+            LongAdder adder = adders.get(i);
+            adder.add(-deltas.get(i).count());
+            pending.computeIfPresent(deltas.get(i).signalId(),
+                (id, entry) -> entry.votes() == adder && adder.sum() == 0 ? null : entry);
+            applied += deltas.get(i).count();
+        }
+        return applied;
+    }
+
+    /**
+     * Applies vote counts synchronously, bypassing the pending counters: one relative UPDATE per signal in a single
+     * batch, joining the caller's transaction. For callers that inserted the vote rows themselves in bulk.
+     */
+    public void addVotes(Map<UUID, Long> votesBySignal, Map<UUID, UUID> communityBySignal) {
+        List<Delta> deltas = new ArrayList<>(votesBySignal.size());
+        votesBySignal.forEach((signalId, count) -> {
+            if (count != 0) {
+                deltas.add(new Delta(signalId, communityBySignal.get(signalId), count));
+            }
+        });
+        if (!deltas.isEmpty()) {
+            flushTransaction.executeWithoutResult(status -> applyDeltas(deltas));
+        }
+    }
+
+    private void applyDeltas(List<Delta> deltas) {
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, deltas, deltas.size(), (statement, delta) -> {
+            CompiledScoringProfile profile = scoringFormula.profileFor(delta.communityId());
+            statement.setLong(1, delta.count());
+            statement.setLong(2, delta.count());
+            statement.setDouble(3, profile.votesDivisor());
+            statement.setDouble(4, profile.votesCap());
+            statement.setLong(5, delta.count());
+            statement.setDouble(6, profile.votesDivisor());
+            statement.setDouble(7, profile.votesCap());
+            statement.setObject(8, delta.signalId());
+        });
+        // The UPDATE bypasses the entity listener; feed the in-process read models the new rows.
+        signalRepository.findAllById(deltas.stream().map(Delta::signalId).toList())
+            .forEach(signal -> eventPublisher.publishEvent(new SignalChangedEvent(
+                SignalChangedEvent.Type.UPDATED, signal.getId(), signal.detachedCopy()
+            )));
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Vote count flush failed; pending deltas are kept for the next attempt", e);
+        }
+    }
+}
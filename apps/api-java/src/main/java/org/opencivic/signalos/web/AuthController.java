@@ -5,6 +5,8 @@ import org.opencivic.signalos.domain.User;
 import org.opencivic.signalos.exception.ConflictException;
 import org.opencivic.signalos.exception.UnauthorizedActionException;
 import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.security.PrincipalCache;
+import org.opencivic.signalos.service.CommunityAccessService;
 import org.opencivic.signalos.service.EmailService;
 import org.opencivic.signalos.service.JwtService;
 import org.opencivic.signalos.web.dto.*;
@@ -38,6 +40,8 @@ public class AuthController {
     private final UserDetailsService userDetailsService;
     private final SecureRandom secureRandom = new SecureRandom();
     private final RateLimitService rateLimitService;
+    private final PrincipalCache principalCache;
+    private final CommunityAccessService accessService;
 
     @Value("${spring.profiles.active:prod}")
     private String activeProfile;
@@ -46,7 +50,9 @@ public class AuthController {
                           EmailService emailService, JwtService jwtService, 
                           AuthenticationManager authenticationManager,
                           UserDetailsService userDetailsService,
-                          RateLimitService rateLimitService) {
+                          RateLimitService rateLimitService,
+                          PrincipalCache principalCache,
+                          CommunityAccessService accessService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
@@ -54,6 +60,8 @@ public class AuthController {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.rateLimitService = rateLimitService;
+        this.principalCache = principalCache;
+        this.accessService = accessService;
     }
 
     @PostMapping("/register")
@@ -116,9 +124,7 @@ public class AuthController {
     public ResponseEntity<Map<String, String>> verify(@RequestBody Map<String, String> body) {
         String username = body.get("username");
         
-        if (!rateLimitService.tryAcquire(username)) {
-            return ResponseEntity.status(429).body(Map.of("message", "Too many attempts. Please wait."));
-        }
+        rateLimitService.check(RateLimitService.AUTH_ATTEMPTS, username);
 
         String code = body.get("code");
 
@@ -141,7 +147,7 @@ public class AuthController {
             
             // New: Send welcome email after verification
             emailService.sendWelcomeEmail(user.getEmail(), user.getUsername());
-            rateLimitService.reset(username);
+            rateLimitService.reset(RateLimitService.AUTH_ATTEMPTS, username);
             
             return ResponseEntity.ok(Map.of("message", "Protocol activation complete. Account is now active."));
         } else {
@@ -151,9 +157,7 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        if (!rateLimitService.tryAcquire(request.username())) {
-            throw new UnauthorizedActionException("Too many login attempts. Please wait.");
-        }
+        rateLimitService.check(RateLimitService.AUTH_ATTEMPTS, request.username());
 
         User user = userRepository.findByUsername(request.username())
                 .orElseThrow(() -> new UnauthorizedActionException("Invalid credentials."));
@@ -166,13 +170,13 @@ public class AuthController {
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.username(), request.password())
             );
-            rateLimitService.reset(request.username());
+            rateLimitService.reset(RateLimitService.AUTH_ATTEMPTS, request.username());
         } catch (BadCredentialsException e) {
             throw new UnauthorizedActionException("Invalid credentials provided.");
         }
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(request.username());
-        String accessToken = jwtService.generateToken(userDetails);
+        String accessToken = jwtService.generateToken(userDetails, accessService.accessClaims(user));
         String refreshToken = jwtService.generateRefreshToken(userDetails);
         
         ResponseCookie cookie = createRefreshCookie(refreshToken, 7 * 24 * 60 * 60);
@@ -189,23 +193,27 @@ public class AuthController {
         }
 
         try {
-            String username = jwtService.extractUsername(refreshToken);
+            // verify() rejects forged and expired tokens in the same parse that yields the subject.
+            String username = jwtService.verify(refreshToken).subject();
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            if (jwtService.isTokenValid(refreshToken, userDetails)) {
-                String accessToken = jwtService.generateToken(userDetails);
-                User user = userRepository.findByUsername(username).orElseThrow();
-                return ResponseEntity.ok(new AuthResponse(accessToken, null, user.getRoles(), user.getUsername()));
-            }
+            User user = userRepository.findByUsername(username).orElseThrow();
+            String accessToken = jwtService.generateToken(userDetails, accessService.accessClaims(user));
+            return ResponseEntity.ok(new AuthResponse(accessToken, null, user.getRoles(), user.getUsername()));
         } catch (Exception e) {
             throw new UnauthorizedActionException("Authentication Expired.");
         }
-        
-        throw new UnauthorizedActionException("Token integrity check failed.");
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            String accessToken = authorization.substring(7);
+            try {
+                principalCache.revoke(PrincipalCache.key(accessToken), jwtService.verify(accessToken).expiresAt());
+            } catch (Exception e) {
+                // An expired or forged token needs no revoking.
+            }
+        }
         ResponseCookie cookie = createRefreshCookie("", 0);
         return ResponseEntity.noContent().header(HttpHeaders.SET_COOKIE, cookie.toString()).build();
     }
@@ -5,27 +5,35 @@ import java.security.Principal;
 import java.util.List;
 import java.util.UUID;
 import org.opencivic.signalos.service.CommunityCollaborationService;
+import org.opencivic.signalos.service.LiveUpdateHub;
 import org.opencivic.signalos.web.dto.CommunityBlogPostResponse;
 import org.opencivic.signalos.web.dto.CommunityFeedItemResponse;
 import org.opencivic.signalos.web.dto.CommunityThreadMessageResponse;
 import org.opencivic.signalos.web.dto.CommunityThreadResponse;
+import org.opencivic.signalos.web.dto.CommunityThreadSummaryResponse;
 import org.opencivic.signalos.web.dto.CreateCommunityBlogPostRequest;
 import org.opencivic.signalos.web.dto.CreateCommunityThreadMessageRequest;
 import org.opencivic.signalos.web.dto.CreateCommunityThreadRequest;
 import org.opencivic.signalos.web.dto.ModerateThreadMessageRequest;
 import org.opencivic.signalos.web.dto.UpdateCommunityBlogPostRequest;
+import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import org.opencivic.signalos.service.CivicEngagementService;
+import org.opencivic.signalos.service.CreatedAtCursor;
+import org.opencivic.signalos.service.FeedCursor;
 import org.opencivic.signalos.web.dto.CivicCommentResponse;
+import org.opencivic.signalos.web.dto.CursorSlice;
 import java.util.Map;
 
 @RestController
@@ -33,10 +41,16 @@ import java.util.Map;
 public class CommunityCollaborationController {
     private final CommunityCollaborationService collaborationService;
     private final CivicEngagementService engagementService;
+    private final LiveUpdateHub liveUpdateHub;
 
-    public CommunityCollaborationController(CommunityCollaborationService collaborationService, CivicEngagementService engagementService) {
+    public CommunityCollaborationController(
+        CommunityCollaborationService collaborationService,
+        CivicEngagementService engagementService,
+        LiveUpdateHub liveUpdateHub
+    ) {
         this.collaborationService = collaborationService;
         this.engagementService = engagementService;
+        this.liveUpdateHub = liveUpdateHub;
     }
 
     @GetMapping("/blog/{id}/comments")
@@ -44,6 +58,15 @@ public class CommunityCollaborationController {
         return engagementService.getComments(id, "BLOG");
     }
 
+    @GetMapping(value = "/blog/{id}/comments", params = "cursor")
+    public CursorSlice<CivicCommentResponse> getBlogCommentsByCursor(
+        @PathVariable UUID id,
+        @RequestParam(value = "cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return engagementService.getCommentsAfter(id, "BLOG", CreatedAtCursor.decode(cursor), size);
+    }
+
     @PostMapping("/blog/{id}/comments")
     public CivicCommentResponse addBlogComment(@PathVariable UUID id, @RequestBody Map<String, String> body, Principal principal) {
         return engagementService.addComment(id, "BLOG", body.get("content"), principal.getName());
@@ -62,6 +85,27 @@ public class CommunityCollaborationController {
         return collaborationService.getThreads(communityId, principal.getName());
     }
 
+    @GetMapping("/threads/summaries")
+    public Page<CommunityThreadSummaryResponse> getThreadSummaries(
+        @RequestParam UUID communityId,
+        @RequestParam(value = "page", defaultValue = "0") int page,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        Principal principal
+    ) {
+        return collaborationService.getThreadSummaries(communityId, page, size, principal.getName());
+    }
+
+    // Oldest first; an empty or missing cursor starts at the first message.
+    @GetMapping("/threads/{threadId}/messages")
+    public CursorSlice<CommunityThreadMessageResponse> getThreadMessages(
+        @PathVariable UUID threadId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "50") int size,
+        Principal principal
+    ) {
+        return collaborationService.getMessagesAfter(threadId, CreatedAtCursor.decode(cursor), size, principal.getName());
+    }
+
     @PostMapping("/threads")
     public CommunityThreadResponse createThread(
         @Valid @RequestBody CreateCommunityThreadRequest request,
@@ -166,4 +210,28 @@ public class CommunityCollaborationController {
     ) {
         return collaborationService.getCommunityFeed(communityId, days, principal.getName());
     }
+
+    // Keyset mode: selected by the presence of ?cursor= (empty for the first slice) for infinite scroll.
+    @GetMapping(value = "/feed", params = "cursor")
+    public CursorSlice<CommunityFeedItemResponse> getFeedByCursor(
+        @RequestParam UUID communityId,
+        @RequestParam(defaultValue = "7") int days,
+        @RequestParam(value = "cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        Principal principal
+    ) {
+        return collaborationService.getCommunityFeedAfter(
+            communityId, days, FeedCursor.decode(cursor), size, principal.getName()
+        );
+    }
+
+    // Pushes "signal" and "feed" events so dashboards can stop polling; browsers resend Last-Event-ID on reconnect.
+    @GetMapping("/stream")
+    public SseEmitter stream(
+        @RequestParam UUID communityId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+        Principal principal
+    ) {
+        return liveUpdateHub.subscribe(communityId, lastEventId, principal.getName());
+    }
 }
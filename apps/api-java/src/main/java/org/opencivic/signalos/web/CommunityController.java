@@ -9,13 +9,17 @@ import org.opencivic.signalos.domain.Community;
 import org.opencivic.signalos.web.dto.CreateCommunityRequest;
 import org.opencivic.signalos.web.dto.CommunityMembershipResponse;
 import org.opencivic.signalos.web.dto.JoinCommunityRequest;
+import org.opencivic.signalos.web.dto.ScoringProfileRequest;
+import org.opencivic.signalos.web.dto.ScoringProfileResponse;
 import org.opencivic.signalos.web.dto.UpdateCommunityRoleRequest;
 import org.opencivic.signalos.service.CommunityService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -71,6 +75,25 @@ public class CommunityController {
         return communityService.updateRole(communityId, userId, request.role(), principal.getName());
     }
 
+    @GetMapping("/{communityId}/scoring-profile")
+    public ScoringProfileResponse getScoringProfile(@PathVariable UUID communityId) {
+        return communityService.getScoringProfile(communityId);
+    }
+
+    @PutMapping("/{communityId}/scoring-profile")
+    public ScoringProfileResponse updateScoringProfile(
+        @PathVariable UUID communityId,
+        @Valid @RequestBody ScoringProfileRequest request,
+        Principal principal
+    ) {
+        return communityService.updateScoringProfile(communityId, request.toProfile(), principal.getName());
+    }
+
+    @DeleteMapping("/{communityId}/scoring-profile")
+    public ScoringProfileResponse resetScoringProfile(@PathVariable UUID communityId, Principal principal) {
+        return communityService.updateScoringProfile(communityId, null, principal.getName());
+    }
+
     @PostMapping("/{communityId}/switch")
     public ResponseEntity<Map<String, Object>> switchContext(@PathVariable UUID communityId, Principal principal) {
         List<CommunityMembershipResponse> memberships = communityService.getMyMemberships(principal.getName());
@@ -6,26 +6,32 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import org.opencivic.signalos.domain.Signal;
 import org.opencivic.signalos.domain.User;
 import org.opencivic.signalos.exception.ResourceNotFoundException;
 import org.opencivic.signalos.repository.SignalRepository;
 import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.service.BulkVoteService;
 import org.opencivic.signalos.service.CommunityAccessService;
+import org.opencivic.signalos.service.CreatedAtCursor;
 import org.opencivic.signalos.service.ExportService;
 import org.opencivic.signalos.service.PrioritizationService;
+import org.opencivic.signalos.service.PriorityCursor;
+import org.opencivic.signalos.service.SignalStats;
+import org.opencivic.signalos.web.dto.BulkVotePair;
+import org.opencivic.signalos.web.dto.BulkVoteResult;
+import org.opencivic.signalos.web.dto.CursorSlice;
 import org.opencivic.signalos.web.dto.SignalCreateRequest;
 import org.opencivic.signalos.web.dto.SignalMetaResponse;
 import org.opencivic.signalos.web.dto.SignalResponse;
 import org.opencivic.signalos.service.CivicEngagementService;
 import org.opencivic.signalos.web.dto.CivicCommentResponse;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -45,15 +51,18 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.opencivic.signalos.web.dto.TrustPacket;
+import org.opencivic.signalos.web.dto.TrustPacketBatch;
 
 @RestController
 @RequestMapping("/api/signals")
 public class SignalController {
 
     private static final int MAX_PAGE_SIZE = 100;
-    private static final Collection<String> RESOLVED_STATUSES = List.of("RESOLVED", "REJECTED");
+    private static final int MAX_TRUST_PACKET_BATCH = 1000;
+    private static final int MAX_BULK_VOTES = 5000;
     private final PrioritizationService prioritizationService;
     private final ExportService exportService;
     private final UserRepository userRepository;
@@ -61,6 +70,8 @@ public class SignalController {
     private final CommunityAccessService communityAccessService;
     private final MeterRegistry meterRegistry;
     private final CivicEngagementService engagementService;
+    private final BulkVoteService bulkVoteService;
+    private final SignalStats signalStats;
 
     public SignalController(
         PrioritizationService prioritizationService,
@@ -69,7 +80,9 @@ public class SignalController {
         SignalRepository signalRepository,
         CommunityAccessService communityAccessService,
         MeterRegistry meterRegistry,
-        CivicEngagementService engagementService
+        CivicEngagementService engagementService,
+        BulkVoteService bulkVoteService,
+        SignalStats signalStats
     ) {
         this.prioritizationService = prioritizationService;
         this.exportService = exportService;
@@ -78,6 +91,8 @@ public class SignalController {
         this.communityAccessService = communityAccessService;
         this.meterRegistry = meterRegistry;
         this.engagementService = engagementService;
+        this.bulkVoteService = bulkVoteService;
+        this.signalStats = signalStats;
     }
 
     @GetMapping("/{id}/comments")
@@ -85,6 +100,16 @@ public class SignalController {
         return engagementService.getComments(id, "SIGNAL");
     }
 
+    // Keyset mode: selected by the presence of ?cursor= (empty for the first slice), oldest comments first.
+    @GetMapping(value = "/{id}/comments", params = "cursor")
+    public CursorSlice<CivicCommentResponse> getCommentsByCursor(
+        @PathVariable UUID id,
+        @RequestParam(value = "cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        return engagementService.getCommentsAfter(id, "SIGNAL", CreatedAtCursor.decode(cursor), size);
+    }
+
     @PostMapping("/{id}/comments")
     public CivicCommentResponse addComment(@PathVariable UUID id, @RequestBody Map<String, String> body, Authentication auth) {
         return engagementService.addComment(id, "SIGNAL", body.get("content"), auth.getName());
@@ -100,6 +125,30 @@ public class SignalController {
         return ResponseEntity.ok(prioritizationService.getTrustPacket(id));
     }
 
+    @PostMapping("/trust-packets")
+    public TrustPacketBatch getTrustPackets(@RequestBody List<UUID> signalIds) {
+        if (signalIds == null || signalIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one signal id is required.");
+        }
+        if (signalIds.size() > MAX_TRUST_PACKET_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_TRUST_PACKET_BATCH + " signal ids per request.");
+        }
+        return prioritizationService.getTrustPackets(signalIds);
+    }
+
+    @PostMapping("/votes/bulk")
+    public BulkVoteResult importVotes(@RequestBody List<BulkVotePair> votes, Authentication authentication) {
+        if (votes == null || votes.isEmpty()) {
+            throw new IllegalArgumentException("At least one vote is required.");
+        }
+        if (votes.size() > MAX_BULK_VOTES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_VOTES + " votes per request.");
+        }
+        boolean superAdmin = authentication.getAuthorities().stream()
+            .anyMatch(authority -> "ROLE_SUPER_ADMIN".equals(authority.getAuthority()));
+        return bulkVoteService.importVotes(votes, authentication.getName(), superAdmin);
+    }
+
     @GetMapping("/{id}/history")
     public List<org.opencivic.signalos.domain.SignalStatusEntry> getStatusHistory(@PathVariable UUID id) {
         return prioritizationService.getStatusHistory(id);
@@ -112,9 +161,6 @@ public class SignalController {
         Authentication authentication,
         @PageableDefault(size = 20, sort = "priorityScore", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        String scope = communityId == null ? "global" : "community";
-        Timer.Sample latencySample = Timer.start(meterRegistry);
-        String status = "success";
         validateCommunityScope(authentication, communityId);
         List<String> statuses = normalizeStatusFilter(statusFilter);
         Pageable sanitized = PageRequest.of(
@@ -122,16 +168,44 @@ public class SignalController {
             Math.min(pageable.getPageSize(), MAX_PAGE_SIZE),
             pageable.getSort()
         );
+        return measurePrioritized(communityId,
+            () -> prioritizationService.getPrioritizedSignals(sanitized, communityId, statuses).map(this::mapToResponse),
+            Page::getNumberOfElements);
+    }
+
+    // Keyset mode: selected by the presence of ?cursor= (empty for the first slice); no count(*) per request.
+    @GetMapping(value = "/prioritized", params = "cursor")
+    public CursorSlice<SignalResponse> getPrioritizedSignalsByCursor(
+        @RequestHeader(value = "X-Community-Id", required = false) UUID communityId,
+        @RequestParam(value = "status", required = false) String statusFilter,
+        @RequestParam(value = "cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        Authentication authentication
+    ) {
+        validateCommunityScope(authentication, communityId);
+        List<String> statuses = normalizeStatusFilter(statusFilter);
+        int sanitizedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return measurePrioritized(communityId,
+            () -> prioritizationService
+                .getPrioritizedSignalsAfter(PriorityCursor.decode(cursor), sanitizedSize, communityId, statuses)
+                .map(this::mapToResponse),
+            slice -> slice.content().size());
+    }
+
+    // Request, error and result-size metrics plus the latency timer shared by both prioritized feed modes.
+    private <T> T measurePrioritized(UUID communityId, Supplier<T> query, ToIntFunction<T> resultSize) {
+        String scope = communityId == null ? "global" : "community";
+        Timer.Sample latencySample = Timer.start(meterRegistry);
+        String status = "success";
         try {
-            Page<SignalResponse> response = prioritizationService.getPrioritizedSignals(sanitized, communityId, statuses)
-                .map(this::mapToResponse);
+            T response = query.get();
 
             meterRegistry.counter("signalos.prioritized.requests.total", "scope", scope).increment();
             DistributionSummary.builder("signalos.prioritized.result.size")
                 .baseUnit("signals")
                 .tag("scope", scope)
                 .register(meterRegistry)
-                .record(response.getNumberOfElements());
+                .record(resultSize.applyAsInt(response));
 
             return response;
         } catch (RuntimeException ex) {
@@ -212,14 +286,42 @@ public class SignalController {
 
     @GetMapping("/export/csv")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<Resource> exportCsv() {
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
         String filename = "signalos_intelligence_export_" + LocalDateTime.now() + ".csv";
-        InputStreamResource file = new InputStreamResource(exportService.exportSignalsToCsv());
+        StreamingResponseBody body = exportService::writeSignalsCsv;
 
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
             .contentType(MediaType.parseMediaType("text/csv"))
-            .body(file);
+            .body(body);
+    }
+
+    @GetMapping("/export/{format}")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAs(@PathVariable String format) {
+        StreamingResponseBody body;
+        String mediaType;
+        String extension;
+        switch (format) {
+            case "ndjson" -> {
+                body = exportService::writeSignalsNdjson;
+                mediaType = "application/x-ndjson";
+                extension = ".ndjson";
+            }
+            case "arrow" -> {
+                body = exportService::writeSignalsArrow;
+                mediaType = "application/vnd.apache.arrow.stream";
+                extension = ".arrows";
+            }
+            default -> throw new IllegalArgumentException(
+                "Unsupported export format: " + format + ". Supported formats: csv, ndjson, arrow.");
+        }
+        String filename = "signalos_intelligence_export_" + LocalDateTime.now() + extension;
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+            .contentType(MediaType.parseMediaType(mediaType))
+            .body(body);
     }
 
     @GetMapping("/top-10")
@@ -239,21 +341,8 @@ public class SignalController {
         Authentication authentication
     ) {
         validateCommunityScope(authentication, communityId);
-        long totalSignals = communityId == null
-            ? signalRepository.count()
-            : signalRepository.countByCommunityId(communityId);
-
-        long unresolvedSignals = communityId == null
-            ? signalRepository.countByStatusNotIn(RESOLVED_STATUSES)
-            : signalRepository.countByStatusNotInAndCommunityId(RESOLVED_STATUSES, communityId);
-
-        LocalDateTime lastUpdatedAt = (communityId == null
-            ? signalRepository.findTopByOrderByCreatedAtDesc()
-            : signalRepository.findTopByCommunityIdOrderByCreatedAtDesc(communityId))
-                .map(Signal::getCreatedAt)
-                .orElse(null);
-
-        return new SignalMetaResponse(totalSignals, unresolvedSignals, lastUpdatedAt);
+        SignalStats.Snapshot stats = signalStats.snapshot(communityId);
+        return new SignalMetaResponse(stats.total(), stats.unresolved(), stats.lastUpdatedAt(), stats.byStatus());
     }
 
     @GetMapping("/mine")
@@ -331,8 +420,7 @@ public class SignalController {
         if (communityId == null || authentication == null) {
             return;
         }
-        User user = userRepository.findByUsername(authentication.getName()).orElseThrow();
-        communityAccessService.requireMembership(user.getId(), communityId);
+        communityAccessService.requireMember(authentication.getName(), communityId);
     }
 
     private List<String> normalizeStatusFilter(String statusFilter) {
@@ -0,0 +1,8 @@
+package org.opencivic.signalos.web.dto;
+
+import java.util.UUID;
+
+public record BulkVotePair(
+    UUID userId,
+    UUID signalId
+) {}
@@ -0,0 +1,20 @@
+package org.opencivic.signalos.web.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkVoteResult(
+    int accepted,
+    int duplicates,
+    int rejected,
+    List<PairResult> results
+) {
+    public enum Outcome {
+        ACCEPTED,
+        DUPLICATE,
+        UNKNOWN_USER,
+        UNKNOWN_SIGNAL
+    }
+
+    public record PairResult(UUID userId, UUID signalId, Outcome outcome) {}
+}
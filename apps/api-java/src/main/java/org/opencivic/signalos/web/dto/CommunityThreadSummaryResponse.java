@@ -0,0 +1,26 @@
+package org.opencivic.signalos.web.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record CommunityThreadSummaryResponse(
+    UUID id,
+    UUID sourceCommunityId,
+    UUID targetCommunityId,
+    UUID relatedSignalId,
+    String title,
+    UUID createdBy,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    long messageCount,
+    LastMessage lastMessage
+) {
+    // preview is null when the message is hidden by a moderator.
+    public record LastMessage(
+        UUID id,
+        UUID authorId,
+        String preview,
+        boolean hidden,
+        LocalDateTime createdAt
+    ) {}
+}
@@ -0,0 +1,17 @@
+package org.opencivic.signalos.web.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Slice-style page for keyset pagination: no total count, just an opaque token for the next request.
+public record CursorSlice<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) {
+    public <R> CursorSlice<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorSlice<>(mapped, size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,21 @@
+package org.opencivic.signalos.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import org.opencivic.signalos.domain.ScoringProfile;
+
+public record ScoringProfileRequest(
+    @NotBlank @Size(max = 64) String name,
+    @PositiveOrZero double urgencyWeight,
+    @PositiveOrZero double impactWeight,
+    @Positive double peopleDivisor,
+    @PositiveOrZero double peopleCap,
+    @Positive double votesDivisor,
+    @PositiveOrZero double votesCap
+) {
+    public ScoringProfile toProfile() {
+        return new ScoringProfile(name, urgencyWeight, impactWeight, peopleDivisor, peopleCap, votesDivisor, votesCap);
+    }
+}
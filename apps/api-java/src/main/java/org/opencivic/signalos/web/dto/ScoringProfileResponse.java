@@ -0,0 +1,16 @@
+package org.opencivic.signalos.web.dto;
+
+import java.util.UUID;
+
+public record ScoringProfileResponse(
+    UUID communityId,
+    String name,
+    double urgencyWeight,
+    double impactWeight,
+    double peopleDivisor,
+    double peopleCap,
+    double votesDivisor,
+    double votesCap,
+    String formula,
+    boolean isDefault
+) {}
@@ -0,0 +1,14 @@
+package org.opencivic.signalos.web.dto;
+
+import java.util.UUID;
+import org.opencivic.signalos.domain.SignalChangedEvent;
+
+public record SignalChangeResponse(
+    SignalChangedEvent.Type change,
+    UUID id,
+    UUID communityId,
+    String title,
+    String status,
+    int communityVotes,
+    double priorityScore
+) {}
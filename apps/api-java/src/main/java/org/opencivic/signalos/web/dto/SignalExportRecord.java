@@ -0,0 +1,23 @@
+package org.opencivic.signalos.web.dto;
+
+import org.opencivic.signalos.domain.ScoreBreakdown;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One line of the NDJSON export: the stored inputs plus the trust data derived from them.
+public record SignalExportRecord(
+    UUID id,
+    String title,
+    String description,
+    String category,
+    String status,
+    UUID communityId,
+    int urgency,
+    int impact,
+    int affectedPeople,
+    int communityVotes,
+    double priorityScore,
+    ScoreBreakdown scoreBreakdown,
+    String verificationHash,
+    LocalDateTime createdAt
+) {}
@@ -1,9 +1,11 @@
 package org.opencivic.signalos.web.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public record SignalMetaResponse(
     long totalSignals,
     long unresolvedSignals,
-    LocalDateTime lastUpdatedAt
+    LocalDateTime lastUpdatedAt,
+    Map<String, Long> statusCounts
 ) {}
@@ -12,7 +12,10 @@ public record TrustPacket(
     double finalScore,
     ScoreBreakdown scoreBreakdown,
     String prioritizationFormula,
-    String verificationHash
+    String scoringProfile,
+    String verificationHash,
+    int formulaVersion
 ) {
+    // Formula of the default scoring profile; communities with their own profile report theirs.
     public static final String CURRENT_FORMULA = "(Urgency * 30) + (Impact * 25) + min(People/10, 30) + min(Votes/5, 15)";
 }
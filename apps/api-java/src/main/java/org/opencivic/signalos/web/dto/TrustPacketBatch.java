@@ -0,0 +1,14 @@
+package org.opencivic.signalos.web.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TrustPacketBatch(
+    List<TrustPacket> packets,
+    List<UUID> missingSignalIds,
+    String merkleRoot,
+    String merkleScheme
+) {
+    // Leaves are the decoded verificationHash values in packet order; the root is Base64 like the packet hashes.
+    public static final String MERKLE_SCHEME = "RFC6962/SHA-256: leaf = H(0x00 || verificationHash), node = H(0x01 || left || right)";
+}
@@ -0,0 +1,4 @@
+-- V10__Add_Signal_Created_At_Index.sql
+-- Range scans for partitioned exports: created_at windows read in (created_at, id) order.
+
+CREATE INDEX IF NOT EXISTS idx_signals_created_at ON signals(created_at, id);
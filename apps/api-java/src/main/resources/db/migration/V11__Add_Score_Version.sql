@@ -0,0 +1,7 @@
+-- V11__Add_Score_Version.sql
+-- Scores are materialized on write; score_version records which formula produced them.
+-- Existing rows start at 0 and are re-scored by ScoreRecomputeJob on the next startup.
+
+ALTER TABLE signals ADD COLUMN IF NOT EXISTS score_version INT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_signals_score_version ON signals(score_version, id);
@@ -0,0 +1,10 @@
+-- V12__Add_Community_Scoring_Profile.sql
+-- Per-community prioritization weights. All NULL means the community uses the default profile.
+
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS scoring_profile_name VARCHAR(64);
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS scoring_urgency_weight DOUBLE PRECISION;
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS scoring_impact_weight DOUBLE PRECISION;
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS scoring_people_divisor DOUBLE PRECISION;
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS scoring_people_cap DOUBLE PRECISION;
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS scoring_votes_divisor DOUBLE PRECISION;
+ALTER TABLE communities ADD COLUMN IF NOT EXISTS scoring_votes_cap DOUBLE PRECISION;
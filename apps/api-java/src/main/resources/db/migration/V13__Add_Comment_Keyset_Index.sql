@@ -0,0 +1,5 @@
+-- V13__Add_Comment_Keyset_Index.sql
+-- Seek pagination for comment listings: (created_at, id) within a parent.
+
+CREATE INDEX IF NOT EXISTS idx_civic_comments_parent_created ON civic_comments(parent_id, parent_type, created_at, id);
+DROP INDEX IF EXISTS idx_civic_comments_parent;
@@ -0,0 +1,4 @@
+-- V14__Add_Thread_Message_Keyset_Index.sql
+-- Thread summaries (count and newest message) and paged messages seek on (thread_id, created_at, id).
+
+CREATE INDEX IF NOT EXISTS idx_thread_messages_thread_created ON community_thread_messages(thread_id, created_at, id);
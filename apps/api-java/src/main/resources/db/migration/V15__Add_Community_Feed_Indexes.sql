@@ -0,0 +1,7 @@
+-- V15__Add_Community_Feed_Indexes.sql
+-- Newest-first range scans for each branch of the merged community feed.
+-- community_blog_posts(community_id, published_at DESC) already exists as idx_blog_community_published_at.
+
+CREATE INDEX IF NOT EXISTS idx_signals_community_created ON signals(community_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_threads_source_updated ON community_threads(source_community_id, updated_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_threads_target_updated ON community_threads(target_community_id, updated_at DESC, id DESC);
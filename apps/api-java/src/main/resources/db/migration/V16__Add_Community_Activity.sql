@@ -0,0 +1,17 @@
+-- V16__Add_Community_Activity.sql
+-- Materialized community feed: one compact row per event, fanned out to every community that should see it.
+-- Existing rows are backfilled by starting the API once with --rebuild-community-activity.
+
+CREATE TABLE IF NOT EXISTS community_activity (
+    id UUID PRIMARY KEY,
+    community_id UUID NOT NULL,
+    happened_at TIMESTAMP NOT NULL,
+    activity_type VARCHAR(32) NOT NULL,
+    subject_id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    summary VARCHAR(255),
+    CONSTRAINT fk_community_activity_community FOREIGN KEY (community_id) REFERENCES communities(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_community_activity_feed ON community_activity(community_id, happened_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_community_activity_subject ON community_activity(subject_id);
@@ -0,0 +1,5 @@
+-- V17__Add_User_Membership_Version.sql
+-- Access tokens embed the user's community roles; membership_version is bumped on every membership change so a
+-- token minted before it is rejected and the client refreshes to get current claims.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS membership_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- V18__Add_Vote_Imported_By.sql
+-- Votes entered through the bulk import record the account that imported them; votes cast by the voter stay NULL.
+
+ALTER TABLE votes ADD COLUMN IF NOT EXISTS imported_by UUID;
+ALTER TABLE votes ADD CONSTRAINT fk_vote_imported_by FOREIGN KEY (imported_by) REFERENCES users(id);
@@ -0,0 +1,5 @@
+-- V9__Add_Prioritized_Keyset_Indexes.sql
+-- Seek pagination for the prioritized feed: (priority_score DESC, id) within community and status.
+
+CREATE INDEX IF NOT EXISTS idx_signals_community_status_priority ON signals(community_id, status, priority_score DESC, id);
+CREATE INDEX IF NOT EXISTS idx_signals_status_priority ON signals(status, priority_score DESC, id);
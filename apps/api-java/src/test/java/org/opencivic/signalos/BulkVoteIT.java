@@ -0,0 +1,192 @@
+package org.opencivic.signalos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Community;
+import org.opencivic.signalos.domain.CommunityMembership;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.domain.Vote;
+import org.opencivic.signalos.repository.CommunityMembershipRepository;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.repository.VoteRepository;
+import org.opencivic.signalos.service.ScoringFormula;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkVoteIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+
+    private User canvasser;
+    private UUID liaisonCommunity;
+
+    @BeforeEach
+    void setUp() {
+        canvasser = account("canvasser", "ROLE_PUBLIC_SERVANT");
+        account("superadmin", "ROLE_SUPER_ADMIN");
+        liaisonCommunity = createCommunity();
+        CommunityMembership membership = new CommunityMembership();
+        membership.setCommunityId(liaisonCommunity);
+        membership.setUserId(canvasser.getId());
+        membership.setRole(CommunityRole.PUBLIC_SERVANT_LIAISON);
+        membership.setCreatedBy(canvasser.getId());
+        membershipRepository.save(membership);
+    }
+
+    @Test
+    @WithMockUser(username = "canvasser", roles = {"PUBLIC_SERVANT"})
+    void shouldInsertNewVotesAndReportDuplicatesPerPair() throws Exception {
+        Signal signal = createSignal(liaisonCommunity);
+        User alreadyVoted = createUser();
+        voteRepository.save(new Vote(alreadyVoted.getId(), signal.getId()));
+        User first = createUser();
+        User second = createUser();
+        UUID unknownUser = UUID.randomUUID();
+        UUID unknownSignal = UUID.randomUUID();
+
+        String body = "["
+            + pair(first.getId(), signal.getId()) + ","
+            + pair(alreadyVoted.getId(), signal.getId()) + ","
+            + pair(second.getId(), signal.getId()) + ","
+            + pair(first.getId(), signal.getId()) + ","
+            + pair(unknownUser, signal.getId()) + ","
+            + pair(second.getId(), unknownSignal) + "]";
+
+        mockMvc.perform(post("/api/signals/votes/bulk").contentType("application/json").content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accepted").value(2))
+            .andExpect(jsonPath("$.duplicates").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.results[0].outcome").value("ACCEPTED"))
+            .andExpect(jsonPath("$.results[1].outcome").value("DUPLICATE"))
+            .andExpect(jsonPath("$.results[2].outcome").value("ACCEPTED"))
+            .andExpect(jsonPath("$.results[3].outcome").value("DUPLICATE"))
+            .andExpect(jsonPath("$.results[4].outcome").value("UNKNOWN_USER"))
+            .andExpect(jsonPath("$.results[5].outcome").value("UNKNOWN_SIGNAL"));
+
+        assertEquals(3, voteRepository.countBySignalId(signal.getId()));
+        assertEquals(canvasser.getId(), voteRepository.findByUserIdAndSignalId(first.getId(), signal.getId())
+            .orElseThrow().getImportedBy());
+        assertNull(voteRepository.findByUserIdAndSignalId(alreadyVoted.getId(), signal.getId())
+            .orElseThrow().getImportedBy());
+        Signal stored = signalRepository.findById(signal.getId()).orElseThrow();
+        assertEquals(3, stored.getCommunityVotes());
+        assertEquals(0.6, stored.getScoreBreakdown().communityVotes(), 1e-9);
+        assertEquals(60 + 50 + 2 + 0.6, stored.getPriorityScore(), 1e-9);
+    }
+
+    @Test
+    @WithMockUser(username = "canvasser", roles = {"PUBLIC_SERVANT"})
+    void shouldForbidImportsOutsideTheCallersCommunities() throws Exception {
+        Signal own = createSignal(liaisonCommunity);
+        Signal foreign = createSignal(createCommunity());
+        Signal global = createSignal(null);
+        User signer = createUser();
+
+        mockMvc.perform(post("/api/signals/votes/bulk").contentType("application/json")
+                .content("[" + pair(signer.getId(), own.getId()) + "," + pair(signer.getId(), foreign.getId()) + "]"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/signals/votes/bulk").contentType("application/json")
+                .content("[" + pair(signer.getId(), global.getId()) + "]"))
+            .andExpect(status().isForbidden());
+
+        assertEquals(0, voteRepository.countBySignalId(own.getId()));
+        assertEquals(0, voteRepository.countBySignalId(foreign.getId()));
+        assertEquals(0, voteRepository.countBySignalId(global.getId()));
+    }
+
+    @Test
+    @WithMockUser(username = "superadmin", roles = {"SUPER_ADMIN"})
+    void shouldLetSuperAdminsImportIntoAnyCommunity() throws Exception {
+        Signal foreign = createSignal(createCommunity());
+        Signal global = createSignal(null);
+        User signer = createUser();
+
+        mockMvc.perform(post("/api/signals/votes/bulk").contentType("application/json")
+                .content("[" + pair(signer.getId(), foreign.getId()) + "," + pair(signer.getId(), global.getId()) + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accepted").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "citizen", roles = {"CITIZEN"})
+    void shouldForbidCitizens() throws Exception {
+        mockMvc.perform(post("/api/signals/votes/bulk").contentType("application/json")
+                .content("[" + pair(UUID.randomUUID(), UUID.randomUUID()) + "]"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "canvasser", roles = {"PUBLIC_SERVANT"})
+    void shouldRejectEmptyImport() throws Exception {
+        mockMvc.perform(post("/api/signals/votes/bulk").contentType("application/json").content("[]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static String pair(UUID userId, UUID signalId) {
+        return "{\"userId\":\"" + userId + "\",\"signalId\":\"" + signalId + "\"}";
+    }
+
+    private Signal createSignal(UUID communityId) {
+        return signalRepository.save(ScoringFormula.defaults().materialize(new Signal(
+            UUID.randomUUID(), "Bus shelter roof missing", "Since the storm", "mobility",
+            2, 2, 20, 1, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now(), communityId
+        )));
+    }
+
+    private User account(String username, String roles) {
+        return userRepository.findByUsername(username)
+            .orElseGet(() -> userRepository.save(new User(username, "{noop}pw", username + "@test.dev", roles)));
+    }
+
+    private UUID createCommunity() {
+        Community community = new Community();
+        community.setName("Canvass Ward");
+        community.setSlug("canvass-" + UUID.randomUUID());
+        return communityRepository.save(community).getId();
+    }
+
+    private User createUser() {
+        String username = "signer-" + UUID.randomUUID();
+        User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        user.setEnabled(true);
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,99 @@
+package org.opencivic.signalos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.CivicComment;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.CivicCommentRepository;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CommentKeysetPaginationIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CivicCommentRepository commentRepository;
+
+    @Test
+    @WithMockUser(username = "citizen", roles = {"CITIZEN"})
+    void shouldWalkCommentsOldestFirstWithAuthors() throws Exception {
+        UUID signalId = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Flooded underpass", "Every time it rains", "infrastructure",
+            3, 3, 50, 0, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now()
+        )).getId();
+        User ana = createUser();
+        User ben = createUser();
+        List<UUID> expected = new ArrayList<>();
+        expected.add(commentRepository.save(new CivicComment(signalId, "SIGNAL", ana.getId(), "first")).getId());
+        expected.add(commentRepository.save(new CivicComment(signalId, "SIGNAL", ben.getId(), "second")).getId());
+        expected.add(commentRepository.save(new CivicComment(signalId, "SIGNAL", ana.getId(), "third")).getId());
+
+        String body = mockMvc.perform(get("/api/signals/{id}/comments?cursor=&size=2", signalId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].authorUsername").value(ana.getUsername()))
+            .andExpect(jsonPath("$.content[1].authorUsername").value(ben.getUsername()))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andReturn().getResponse().getContentAsString();
+        List<String> seen = new ArrayList<>(JsonPath.read(body, "$.content[*].id"));
+
+        body = mockMvc.perform(get("/api/signals/{id}/comments", signalId)
+                .param("cursor", JsonPath.<String>read(body, "$.nextCursor"))
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].content").value("third"))
+            .andExpect(jsonPath("$.hasNext").value(false))
+            .andReturn().getResponse().getContentAsString();
+        seen.addAll(JsonPath.read(body, "$.content[*].id"));
+
+        assertEquals(expected.stream().map(UUID::toString).toList(), seen);
+
+        mockMvc.perform(get("/api/signals/{id}/comments", signalId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[2].authorUsername").value(ana.getUsername()));
+    }
+
+    @Test
+    @WithMockUser(username = "citizen", roles = {"CITIZEN"})
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/signals/{id}/comments?cursor=not-a-cursor", UUID.randomUUID()))
+            .andExpect(status().isBadRequest());
+    }
+
+    private User createUser() {
+        String username = "commenter-" + UUID.randomUUID();
+        User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        user.setEnabled(true);
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+}
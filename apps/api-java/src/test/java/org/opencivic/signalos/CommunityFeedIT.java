@@ -0,0 +1,220 @@
+package org.opencivic.signalos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Community;
+import org.opencivic.signalos.domain.CommunityBlogPost;
+import org.opencivic.signalos.domain.CommunityMembership;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.CommunityThread;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.CommunityActivityRepository;
+import org.opencivic.signalos.repository.CommunityBlogPostRepository;
+import org.opencivic.signalos.repository.CommunityMembershipRepository;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.CommunityThreadRepository;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.service.CommunityActivityService;
+import org.opencivic.signalos.service.PrioritizationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Not @Transactional: the rebuild runs in its own transactions and must see the fixtures.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CommunityFeedIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private CommunityBlogPostRepository blogPostRepository;
+
+    @Autowired
+    private CommunityThreadRepository threadRepository;
+
+    @Autowired
+    private CommunityActivityRepository activityRepository;
+
+    @Autowired
+    private CommunityActivityService activityService;
+
+    @Autowired
+    private PrioritizationService prioritizationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID communityId;
+    private UUID newestSignalId;
+    private UUID blogPostId;
+    private UUID threadId;
+    private UUID olderSignalId;
+
+    @BeforeEach
+    void setUp() {
+        User member = userRepository.findByUsername("feed_reader").orElseGet(() -> {
+            User user = new User("feed_reader", "{noop}pw", "feed_reader@test.dev", "ROLE_CITIZEN");
+            user.setEnabled(true);
+            user.setVerified(true);
+            return userRepository.save(user);
+        });
+
+        Community community = new Community();
+        community.setName("Feed District");
+        community.setSlug("feed-" + UUID.randomUUID());
+        communityId = communityRepository.save(community).getId();
+
+        CommunityMembership membership = new CommunityMembership();
+        membership.setCommunityId(communityId);
+        membership.setUserId(member.getId());
+        membership.setRole(CommunityRole.COORDINATOR);
+        membership.setCreatedBy(member.getId());
+        membershipRepository.save(membership);
+
+        LocalDateTime now = LocalDateTime.now();
+        newestSignalId = saveSignal("Newest signal", now.minusHours(1));
+        blogPostId = saveBlogPost(member.getId(), now.minusHours(2));
+        threadId = saveThread(member.getId(), now.minusHours(3));
+        olderSignalId = saveSignal("Older signal", now.minusHours(4));
+        saveSignal("Outside the window", now.minusDays(30));
+    }
+
+    @Test
+    @WithMockUser(username = "feed_reader", roles = {"CITIZEN"})
+    void shouldMergeSourcesNewestFirstAndContinueWithCursor() throws Exception {
+        String body = mockMvc.perform(get("/api/community/feed")
+                .param("communityId", communityId.toString())
+                .param("cursor", "")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(newestSignalId.toString()))
+            .andExpect(jsonPath("$.content[0].type").value("signal"))
+            .andExpect(jsonPath("$.content[1].id").value(blogPostId.toString()))
+            .andExpect(jsonPath("$.content[1].type").value("blog"))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/community/feed")
+                .param("communityId", communityId.toString())
+                .param("cursor", JsonPath.<String>read(body, "$.nextCursor"))
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(threadId.toString()))
+            .andExpect(jsonPath("$.content[0].type").value("thread-update"))
+            .andExpect(jsonPath("$.content[1].id").value(olderSignalId.toString()))
+            .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "feed_reader", roles = {"CITIZEN"})
+    void shouldKeepListResponseWithoutCursor() throws Exception {
+        mockMvc.perform(get("/api/community/feed").param("communityId", communityId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$[0].freshness").value("updated 1h ago"));
+    }
+
+    @Test
+    @WithMockUser(username = "feed_reader", roles = {"CITIZEN"})
+    void shouldRecordSignalCreationAndStatusChanges() throws Exception {
+        UUID signalId = prioritizationService.createSignal(
+            "Fallen tree", "Blocking the bike lane", "infrastructure", 3, 3, 40, "feed_reader", communityId
+        ).getId();
+        prioritizationService.updateStatus(signalId, "IN_PROGRESS", communityId);
+
+        mockMvc.perform(get("/api/community/feed").param("communityId", communityId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(6))
+            .andExpect(jsonPath("$[0].id").value(signalId.toString()))
+            .andExpect(jsonPath("$[0].summary").value("IN_PROGRESS"))
+            .andExpect(jsonPath("$[1].id").value(signalId.toString()))
+            .andExpect(jsonPath("$[1].summary").value("NEW"));
+    }
+
+    @Test
+    @WithMockUser(username = "feed_reader", roles = {"CITIZEN"})
+    void rebuildRestoresTheFeedFromSourceTables() throws Exception {
+        jdbcTemplate.update("DELETE FROM community_activity WHERE community_id = ?", communityId);
+
+        activityService.rebuild();
+
+        mockMvc.perform(get("/api/community/feed").param("communityId", communityId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(jsonPath("$[0].id").value(newestSignalId.toString()))
+            .andExpect(jsonPath("$[1].id").value(blogPostId.toString()))
+            .andExpect(jsonPath("$[2].id").value(threadId.toString()))
+            .andExpect(jsonPath("$[3].id").value(olderSignalId.toString()));
+        assertEquals(5, activityRepository.findAll().stream()
+            .filter(activity -> activity.getCommunityId().equals(communityId))
+            .count());
+    }
+
+    private UUID saveSignal(String title, LocalDateTime createdAt) {
+        Signal signal = signalRepository.save(new Signal(
+            UUID.randomUUID(), title, "Feed fixture", "infrastructure",
+            2, 2, 10, 0, 0.0, null, "NEW", new ArrayList<>(), null, createdAt, communityId
+        ));
+        activityService.recordSignal(signal, createdAt);
+        return signal.getId();
+    }
+
+    private UUID saveBlogPost(UUID authorId, LocalDateTime publishedAt) {
+        CommunityBlogPost post = new CommunityBlogPost();
+        post.setCommunityId(communityId);
+        post.setAuthorId(authorId);
+        post.setTitle("Weekly update");
+        post.setContent("Crews were out on Tuesday");
+        post.setStatusTag("IN_PROGRESS");
+        post.setPublishedAt(publishedAt);
+        post.setUpdatedAt(publishedAt);
+        CommunityBlogPost saved = blogPostRepository.save(post);
+        activityService.recordBlogPost(saved);
+        return saved.getId();
+    }
+
+    private UUID saveThread(UUID createdBy, LocalDateTime updatedAt) {
+        CommunityThread thread = new CommunityThread();
+        thread.setSourceCommunityId(communityId);
+        thread.setTargetCommunityId(communityId);
+        thread.setTitle("Shared flood plan");
+        thread.setCreatedBy(createdBy);
+        thread.setCreatedAt(updatedAt);
+        thread.setUpdatedAt(updatedAt);
+        CommunityThread saved = threadRepository.save(thread);
+        activityService.recordThreadOpened(saved);
+        return saved.getId();
+    }
+}
@@ -0,0 +1,157 @@
+package org.opencivic.signalos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Community;
+import org.opencivic.signalos.domain.CommunityMembership;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.CommunityMembershipRepository;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.service.PrioritizationService;
+import org.opencivic.signalos.service.ScoreRecomputeJob;
+import org.opencivic.signalos.web.dto.TrustPacket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Not @Transactional: the compiled profile is swapped after the update commits.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CommunityScoringProfileIT {
+
+    private static final String PROFILE = "{\"name\":\"impact-first\",\"urgencyWeight\":10,\"impactWeight\":50,"
+        + "\"peopleDivisor\":10,\"peopleCap\":30,\"votesDivisor\":5,\"votesCap\":15}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private PrioritizationService prioritizationService;
+
+    @Autowired
+    private ScoreRecomputeJob scoreRecomputeJob;
+
+    private UUID communityId;
+
+    @BeforeEach
+    void setUp() {
+        Community community = new Community();
+        community.setName("Scoring District");
+        community.setSlug("scoring-" + UUID.randomUUID());
+        communityId = communityRepository.save(community).getId();
+        addMember(userRepository.findByUsername("scoring_coord").orElseGet(() -> createUser("scoring_coord")),
+            CommunityRole.COORDINATOR);
+        addMember(userRepository.findByUsername("scoring_member").orElseGet(() -> createUser("scoring_member")),
+            CommunityRole.MEMBER);
+    }
+
+    @Test
+    @WithMockUser(username = "scoring_coord", roles = {"CITIZEN"})
+    void coordinatorSwapsProfileAndSignalsAreRescored() throws Exception {
+        Signal signal = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Sinkhole by the clinic", "Growing every day", "infrastructure",
+            3, 4, 100, 10, 190.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now(), communityId
+        ));
+
+        mockMvc.perform(get("/api/communities/{id}/scoring-profile", communityId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("default"))
+            .andExpect(jsonPath("$.isDefault").value(true));
+
+        mockMvc.perform(put("/api/communities/{id}/scoring-profile", communityId)
+                .contentType("application/json")
+                .content(PROFILE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("impact-first"))
+            .andExpect(jsonPath("$.formula").value("(Urgency * 10) + (Impact * 50) + min(People/10, 30) + min(Votes/5, 15)"));
+
+        TrustPacket packet = prioritizationService.getTrustPacket(signal.getId());
+        assertEquals("impact-first", packet.scoringProfile());
+        assertEquals("(Urgency * 10) + (Impact * 50) + min(People/10, 30) + min(Votes/5, 15)", packet.prioritizationFormula());
+        assertEquals(30 + 200 + 10 + 2, packet.finalScore());
+
+        scoreRecomputeJob.recomputeOutdatedScores();
+        assertEquals(242.0, awaitRescored(signal.getId()).getPriorityScore());
+
+        mockMvc.perform(delete("/api/communities/{id}/scoring-profile", communityId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.isDefault").value(true));
+        assertEquals("default", prioritizationService.getTrustPacket(signal.getId()).scoringProfile());
+    }
+
+    @Test
+    @WithMockUser(username = "scoring_member", roles = {"CITIZEN"})
+    void memberCannotChangeProfile() throws Exception {
+        mockMvc.perform(put("/api/communities/{id}/scoring-profile", communityId)
+                .contentType("application/json")
+                .content(PROFILE))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "scoring_coord", roles = {"CITIZEN"})
+    void rejectsZeroDivisor() throws Exception {
+        mockMvc.perform(put("/api/communities/{id}/scoring-profile", communityId)
+                .contentType("application/json")
+                .content(PROFILE.replace("\"peopleDivisor\":10", "\"peopleDivisor\":0")))
+            .andExpect(status().isBadRequest());
+    }
+
+    // The background recompute triggered by the update may still hold the batch; wait for it to land.
+    private Signal awaitRescored(UUID signalId) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            Signal stored = signalRepository.findById(signalId).orElseThrow();
+            if (stored.getScoreVersion() != 0) {
+                return stored;
+            }
+            Thread.sleep(100);
+        }
+        return signalRepository.findById(signalId).orElseThrow();
+    }
+
+    private User createUser(String username) {
+        User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        user.setEnabled(true);
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+
+    private void addMember(User user, CommunityRole role) {
+        CommunityMembership membership = new CommunityMembership();
+        membership.setCommunityId(communityId);
+        membership.setUserId(user.getId());
+        membership.setRole(role);
+        membership.setCreatedBy(user.getId());
+        membershipRepository.save(membership);
+    }
+}
@@ -0,0 +1,152 @@
+package org.opencivic.signalos;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Community;
+import org.opencivic.signalos.domain.CommunityMembership;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.CommunityThread;
+import org.opencivic.signalos.domain.CommunityThreadMessage;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.CommunityMembershipRepository;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.CommunityThreadMessageRepository;
+import org.opencivic.signalos.repository.CommunityThreadRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class CommunityThreadPagingIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+
+    @Autowired
+    private CommunityThreadRepository threadRepository;
+
+    @Autowired
+    private CommunityThreadMessageRepository messageRepository;
+
+    private UUID communityId;
+    private UUID busyThreadId;
+    private UUID quietThreadId;
+
+    @BeforeEach
+    void setUp() {
+        User member = createUser("thread_reader");
+        createUser("thread_outsider");
+
+        Community community = new Community();
+        community.setName("Harbour Ward");
+        community.setSlug("harbour-ward");
+        communityId = communityRepository.save(community).getId();
+
+        CommunityMembership membership = new CommunityMembership();
+        membership.setCommunityId(communityId);
+        membership.setUserId(member.getId());
+        membership.setRole(CommunityRole.MEMBER);
+        membership.setCreatedBy(member.getId());
+        membershipRepository.save(membership);
+
+        LocalDateTime start = LocalDateTime.now().minusHours(1);
+        quietThreadId = saveThread("Quiet thread", member.getId(), start.plusMinutes(30));
+        busyThreadId = saveThread("Busy thread", member.getId(), start.plusMinutes(40));
+        saveMessage(busyThreadId, member.getId(), "First", start.plusMinutes(1));
+        saveMessage(busyThreadId, member.getId(), "Second", start.plusMinutes(2));
+        saveMessage(busyThreadId, member.getId(), "x".repeat(200), start.plusMinutes(3));
+    }
+
+    @Test
+    @WithMockUser(username = "thread_reader", roles = {"CITIZEN"})
+    void summariesCarryCountAndLastMessagePreview() throws Exception {
+        mockMvc.perform(get("/api/community/threads/summaries").param("communityId", communityId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(busyThreadId.toString()))
+            .andExpect(jsonPath("$.content[0].messageCount").value(3))
+            .andExpect(jsonPath("$.content[0].lastMessage.preview").value("x".repeat(140) + "…"))
+            .andExpect(jsonPath("$.content[0].messages").doesNotExist())
+            .andExpect(jsonPath("$.content[1].id").value(quietThreadId.toString()))
+            .andExpect(jsonPath("$.content[1].messageCount").value(0))
+            .andExpect(jsonPath("$.content[1].lastMessage").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = "thread_reader", roles = {"CITIZEN"})
+    void messagesArePagedOldestFirst() throws Exception {
+        String body = mockMvc.perform(get("/api/community/threads/{id}/messages", busyThreadId).param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].content").value("First"))
+            .andExpect(jsonPath("$.content[1].content").value("Second"))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/community/threads/{id}/messages", busyThreadId)
+                .param("cursor", JsonPath.<String>read(body, "$.nextCursor"))
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "thread_outsider", roles = {"CITIZEN"})
+    void nonMembersCannotReadMessages() throws Exception {
+        mockMvc.perform(get("/api/community/threads/{id}/messages", busyThreadId))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private UUID saveThread(String title, UUID createdBy, LocalDateTime updatedAt) {
+        CommunityThread thread = new CommunityThread();
+        thread.setSourceCommunityId(communityId);
+        thread.setTargetCommunityId(communityId);
+        thread.setTitle(title);
+        thread.setCreatedBy(createdBy);
+        thread.setCreatedAt(updatedAt);
+        thread.setUpdatedAt(updatedAt);
+        return threadRepository.save(thread).getId();
+    }
+
+    private void saveMessage(UUID threadId, UUID authorId, String content, LocalDateTime createdAt) {
+        CommunityThreadMessage message = new CommunityThreadMessage();
+        message.setThreadId(threadId);
+        message.setAuthorId(authorId);
+        message.setSourceCommunityId(communityId);
+        message.setContent(content);
+        message.setCreatedAt(createdAt);
+        messageRepository.save(message);
+    }
+
+    private User createUser(String username) {
+        User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        user.setEnabled(true);
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+}
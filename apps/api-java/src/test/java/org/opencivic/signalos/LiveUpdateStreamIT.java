@@ -0,0 +1,148 @@
+package org.opencivic.signalos;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Community;
+import org.opencivic.signalos.domain.CommunityMembership;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.CommunityMembershipRepository;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.service.PrioritizationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Not @Transactional: events reach the stream only after the writing transaction commits.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LiveUpdateStreamIT {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+
+    @Autowired
+    private PrioritizationService prioritizationService;
+
+    private UUID communityId;
+
+    @BeforeEach
+    void setUp() {
+        User member = userRepository.findByUsername("stream_reader").orElseGet(() -> {
+            User user = new User("stream_reader", "{noop}pw", "stream_reader@test.dev", "ROLE_CITIZEN");
+            user.setEnabled(true);
+            user.setVerified(true);
+            return userRepository.save(user);
+        });
+
+        Community community = new Community();
+        community.setName("Stream Ward");
+        community.setSlug("stream-" + UUID.randomUUID());
+        communityId = communityRepository.save(community).getId();
+
+        CommunityMembership membership = new CommunityMembership();
+        membership.setCommunityId(communityId);
+        membership.setUserId(member.getId());
+        membership.setRole(CommunityRole.MEMBER);
+        membership.setCreatedBy(member.getId());
+        membershipRepository.save(membership);
+    }
+
+    @Test
+    @WithMockUser(username = "stream_reader", roles = {"CITIZEN"})
+    void pushesCommittedChangesAndReplaysAfterLastEventId() throws Exception {
+        MockHttpServletResponse live = mockMvc.perform(get("/api/community/stream")
+                .param("communityId", communityId.toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+
+        UUID firstId = createSignal("Loose manhole cover");
+        awaitContent(live, "event:signal");
+        String stream = awaitContent(live, "event:feed");
+        assertTrue(stream.contains(firstId.toString()));
+        Matcher matcher = EVENT_ID.matcher(stream);
+        assertTrue(matcher.find());
+        String lastSeen = matcher.group(1);
+        while (matcher.find()) {
+            lastSeen = matcher.group(1);
+        }
+
+        UUID secondId = createSignal("Graffiti on the library");
+        MockHttpServletResponse resumed = mockMvc.perform(get("/api/community/stream")
+                .param("communityId", communityId.toString())
+                .header("Last-Event-ID", lastSeen))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+
+        String replay = awaitContent(resumed, secondId.toString());
+        assertFalse(replay.contains(firstId.toString()));
+    }
+
+    @Test
+    @WithMockUser(username = "stream_reader", roles = {"CITIZEN"})
+    void unknownLastEventIdAsksForReset() throws Exception {
+        MockHttpServletResponse resumed = mockMvc.perform(get("/api/community/stream")
+                .param("communityId", communityId.toString())
+                .header("Last-Event-ID", "stale-42"))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+
+        awaitContent(resumed, "event:reset");
+    }
+
+    @Test
+    @WithMockUser(username = "stream_outsider", roles = {"CITIZEN"})
+    void nonMembersCannotSubscribe() throws Exception {
+        if (userRepository.findByUsername("stream_outsider").isEmpty()) {
+            User user = new User("stream_outsider", "{noop}pw", "stream_outsider@test.dev", "ROLE_CITIZEN");
+            user.setEnabled(true);
+            user.setVerified(true);
+            userRepository.save(user);
+        }
+        mockMvc.perform(get("/api/community/stream").param("communityId", communityId.toString()))
+            .andExpect(status().isUnauthorized());
+    }
+
+    private UUID createSignal(String title) {
+        return prioritizationService.createSignal(
+            title, "Reported from the live stream test", "infrastructure", 2, 2, 20, "stream_reader", communityId
+        ).getId();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(expected), "stream did not deliver " + expected + ": " + content);
+        return content;
+    }
+}
@@ -0,0 +1,97 @@
+package org.opencivic.signalos;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.ScoreBreakdown;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PrioritizedKeysetPaginationIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Test
+    @WithMockUser(username = "citizen", roles = {"CITIZEN"})
+    void shouldWalkPrioritizedFeedWithOpaqueCursor() throws Exception {
+        UUID communityId = communityRepository.findBySlug("rosalistas").orElseThrow().getId();
+        signalRepository.deleteAll(signalRepository.findByCommunityId(communityId));
+
+        UUID top = saveSignal(communityId, 5, 5, 300);
+        UUID middle = saveSignal(communityId, 4, 4, 200);
+        UUID last = saveSignal(communityId, 1, 1, 100);
+
+        String body = mockMvc.perform(get("/api/signals/prioritized?cursor=&size=2")
+                .header("X-Community-Id", communityId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(2))
+            .andExpect(jsonPath("$.content[0].id").value(top.toString()))
+            .andExpect(jsonPath("$.content[1].id").value(middle.toString()))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.totalElements").doesNotExist())
+            .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/api/signals/prioritized")
+                .param("cursor", nextCursor)
+                .param("size", "2")
+                .header("X-Community-Id", communityId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].id").value(last.toString()))
+            .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "citizen", roles = {"CITIZEN"})
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/signals/prioritized?cursor=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private UUID saveSignal(UUID communityId, int urgency, int impact, double storedScore) {
+        UUID id = UUID.randomUUID();
+        signalRepository.save(new Signal(
+            id,
+            "Keyset signal " + storedScore,
+            "Seeded for keyset pagination",
+            "infrastructure",
+            urgency,
+            impact,
+            10,
+            0,
+            storedScore,
+            new ScoreBreakdown(urgency * 30.0, impact * 25.0, 1, 0),
+            "NEW",
+            new ArrayList<>(),
+            UUID.randomUUID(),
+            LocalDateTime.now(),
+            communityId
+        ));
+        return id;
+    }
+}
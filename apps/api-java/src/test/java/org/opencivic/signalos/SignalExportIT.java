@@ -0,0 +1,179 @@
+package org.opencivic.signalos;
+
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SignalExportIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    // The Arrow test's signals predate every other test's, so they are deleted before the next test reads the
+    // export order.
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedSignals() {
+        signalRepository.deleteAllById(created);
+        created.clear();
+    }
+
+    @Test
+    @WithMockUser(username = "superadmin", roles = {"SUPER_ADMIN"})
+    void shouldStreamEverySignalAsCsv() throws Exception {
+        Signal signal = signalRepository.save(new Signal(
+            UUID.randomUUID(),
+            "Flooded underpass, \"again\"",
+            "Water reaches the sidewalk after every storm.",
+            "infrastructure",
+            4,
+            3,
+            200,
+            10,
+            0.0,
+            null,
+            "NEW",
+            new ArrayList<>(),
+            UUID.randomUUID(),
+            LocalDateTime.now()
+        ));
+
+        MvcResult started = mockMvc.perform(get("/api/signals/export/csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = csv.split("\n");
+        assertTrue(lines[0].startsWith("ID,Title,Category,Status,PriorityScore"));
+        assertEquals(signalRepository.count() + 1, lines.length);
+        assertTrue(csv.contains(signal.getId() + ",\"Flooded underpass, \"\"again\"\"\",infrastructure,NEW,217.0,"));
+    }
+
+    @Test
+    @WithMockUser(username = "superadmin", roles = {"SUPER_ADMIN"})
+    void shouldStreamEverySignalAsNdjsonInCreationOrder() throws Exception {
+        Signal older = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Older report", "First", "safety", 2, 2, 10, 0, 0.0, null, "NEW",
+            new ArrayList<>(), UUID.randomUUID(), LocalDateTime.now().minusYears(30)
+        ));
+        Signal newer = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Newer report", "Second", "safety", 2, 2, 10, 0, 0.0, null, "NEW",
+            new ArrayList<>(), UUID.randomUUID(), LocalDateTime.now().minusYears(29)
+        ));
+
+        MvcResult started = mockMvc.perform(get("/api/signals/export/ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(signalRepository.count(), lines.length);
+        assertTrue(lines[0].contains("\"id\":\"" + older.getId() + "\""));
+        assertTrue(lines[1].contains("\"id\":\"" + newer.getId() + "\""));
+    }
+
+    @Test
+    @WithMockUser(username = "superadmin", roles = {"SUPER_ADMIN"})
+    void shouldStreamEverySignalAsArrowInCreationOrder() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.now().minusYears(40).truncatedTo(ChronoUnit.SECONDS);
+        Signal older = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Older arrow report", "First", "safety", 4, 3, 200, 10, 0.0, null, "NEW",
+            new ArrayList<>(), UUID.randomUUID(), createdAt
+        ));
+        Signal newer = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Newer arrow report", null, "safety", 2, 2, 10, 0, 0.0, null, "NEW",
+            new ArrayList<>(), UUID.randomUUID(), createdAt.plusYears(1)
+        ));
+        created.add(older.getId());
+        created.add(newer.getId());
+
+        MvcResult started = mockMvc.perform(get("/api/signals/export/arrow"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] stream = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/vnd.apache.arrow.stream"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        List<String> ids = new ArrayList<>();
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(stream), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            boolean first = true;
+            while (reader.loadNextBatch()) {
+                VarCharVector id = (VarCharVector) root.getVector("id");
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    ids.add(id.getObject(row).toString());
+                }
+                if (first) {
+                    first = false;
+                    assertEquals("Older arrow report", root.getVector("title").getObject(0).toString());
+                    assertTrue(root.getVector("description").isNull(1));
+                    assertEquals(200, ((IntVector) root.getVector("affectedPeople")).get(0));
+                    assertEquals(217.0, ((Float8Vector) root.getVector("priorityScore")).get(0));
+                    assertEquals(createdAt, ((TimeStampMicroVector) root.getVector("createdAt")).getObject(0));
+                }
+            }
+        }
+
+        assertEquals(signalRepository.count(), ids.size());
+        assertEquals(older.getId().toString(), ids.get(0));
+        assertEquals(newer.getId().toString(), ids.get(1));
+    }
+
+    @Test
+    @WithMockUser(username = "superadmin", roles = {"SUPER_ADMIN"})
+    void shouldRejectUnknownExportFormat() throws Exception {
+        mockMvc.perform(get("/api/signals/export/xlsx"))
+            .andExpect(status().isBadRequest());
+    }
+}
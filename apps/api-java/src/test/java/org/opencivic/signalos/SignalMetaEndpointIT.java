@@ -1,19 +1,25 @@
 package org.opencivic.signalos;
 
 import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.service.SignalStats;
 import org.opencivic.signalos.domain.ScoreBreakdown;
 import org.opencivic.signalos.domain.Signal;
 import org.opencivic.signalos.repository.SignalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -29,6 +35,12 @@ public class SignalMetaEndpointIT {
     @Autowired
     private SignalRepository signalRepository;
 
+    @Autowired
+    private SignalStats signalStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void shouldReturnMetaWithCountsAndLastUpdated() throws Exception {
         signalRepository.deleteAll();
@@ -71,6 +83,65 @@ public class SignalMetaEndpointIT {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.totalSignals").value(2))
             .andExpect(jsonPath("$.unresolvedSignals").value(1))
-            .andExpect(jsonPath("$.lastUpdatedAt").exists());
+            .andExpect(jsonPath("$.lastUpdatedAt").exists())
+            .andExpect(jsonPath("$.statusCounts.NEW").value(1))
+            .andExpect(jsonPath("$.statusCounts.RESOLVED").value(1));
+    }
+
+    @Test
+    void countersFollowStatusChangesAndReconcileWritesThatBypassThem() throws Exception {
+        signalRepository.deleteAll();
+        // Other tests may have written around the entity listener; start from counters that match the table.
+        signalStats.reconcile();
+        Signal signal = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Blocked drain", "Water pooling on the corner.", "infrastructure",
+            3, 3, 30, 0, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now()
+        ));
+        signal.setStatus("RESOLVED");
+        signalRepository.save(signal);
+
+        mockMvc.perform(get("/api/signals/meta"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalSignals").value(1))
+            .andExpect(jsonPath("$.unresolvedSignals").value(0))
+            .andExpect(jsonPath("$.statusCounts.NEW").doesNotExist());
+        assertFalse(signalStats.reconcile());
+
+        jdbcTemplate.update("UPDATE signals SET status = 'IN_PROGRESS' WHERE id = ?", signal.getId());
+        assertTrue(signalStats.reconcile());
+
+        mockMvc.perform(get("/api/signals/meta"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalSignals").value(1))
+            .andExpect(jsonPath("$.unresolvedSignals").value(1))
+            .andExpect(jsonPath("$.statusCounts.IN_PROGRESS").value(1));
+    }
+
+    @Test
+    void reconcileCatchesTheNewestSignalBeingDeleted() {
+        signalRepository.deleteAll();
+        signalStats.reconcile();
+        UUID communityId = UUID.randomUUID();
+        LocalDateTime older = LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime newer = older.plusHours(1);
+        saveSignal(communityId, older);
+        Signal newest = saveSignal(communityId, newer);
+        Signal elsewhere = saveSignal(UUID.randomUUID(), newer.plusMinutes(1));
+        assertFalse(signalStats.reconcile());
+
+        signalRepository.delete(newest);
+        signalRepository.delete(elsewhere);
+
+        assertTrue(signalStats.reconcile());
+        assertEquals(older, signalStats.snapshot(communityId).lastUpdatedAt());
+        assertEquals(older, signalStats.snapshot(null).lastUpdatedAt());
+        assertFalse(signalStats.reconcile());
+    }
+
+    private Signal saveSignal(UUID communityId, LocalDateTime createdAt) {
+        return signalRepository.save(new Signal(
+            UUID.randomUUID(), "Fallen tree", "Blocking the bike lane.", "environment",
+            3, 3, 30, 0, 0.0, null, "NEW", new ArrayList<>(), null, createdAt, communityId
+        ));
     }
 }
@@ -0,0 +1,68 @@
+package org.opencivic.signalos;
+
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.service.PrioritizationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TrustPacketBatchIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private PrioritizationService prioritizationService;
+
+    @Test
+    @WithMockUser(username = "citizen", roles = {"CITIZEN"})
+    void shouldReturnPacketsInRequestOrderWithMissingIdsAndMerkleRoot() throws Exception {
+        Signal first = signalRepository.save(signal("Broken bridge railing"));
+        Signal second = signalRepository.save(signal("Blocked storm drain"));
+        UUID missing = UUID.randomUUID();
+
+        String body = String.format("[\"%s\",\"%s\",\"%s\",\"%s\"]", second.getId(), missing, first.getId(), second.getId());
+        mockMvc.perform(post("/api/signals/trust-packets").contentType("application/json").content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.packets.length()").value(2))
+            .andExpect(jsonPath("$.packets[0].signalId").value(second.getId().toString()))
+            .andExpect(jsonPath("$.packets[0].verificationHash")
+                .value(prioritizationService.getTrustPacket(second.getId()).verificationHash()))
+            .andExpect(jsonPath("$.packets[1].signalId").value(first.getId().toString()))
+            .andExpect(jsonPath("$.missingSignalIds[0]").value(missing.toString()))
+            .andExpect(jsonPath("$.merkleRoot").isNotEmpty());
+    }
+
+    @Test
+    @WithMockUser(username = "citizen", roles = {"CITIZEN"})
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/signals/trust-packets").contentType("application/json").content("[]"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static Signal signal(String title) {
+        return new Signal(
+            UUID.randomUUID(), title, "Reported during the audit walk.", "infrastructure",
+            3, 3, 40, 4, 0.0, null, "NEW", new ArrayList<>(), UUID.randomUUID(), LocalDateTime.now()
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package org.opencivic.signalos.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Community;
+import org.opencivic.signalos.domain.CommunityMembership;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.CommunityMembershipRepository;
+import org.opencivic.signalos.repository.CommunityRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.service.CommunityAccessService;
+import org.opencivic.signalos.service.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Not @Transactional: membership changes invalidate cached principals only after they commit.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccessClaimsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+
+    @Autowired
+    private CommunityAccessService accessService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String username;
+    private UUID homeId;
+    private UUID otherId;
+
+    @BeforeEach
+    void setUp() {
+        username = "claims-" + UUID.randomUUID();
+        User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        user.setEnabled(true);
+        user.setVerified(true);
+        UUID userId = userRepository.save(user).getId();
+
+        homeId = createCommunity("Home");
+        otherId = createCommunity("Other");
+
+        CommunityMembership membership = new CommunityMembership();
+        membership.setCommunityId(homeId);
+        membership.setUserId(userId);
+        membership.setRole(CommunityRole.MEMBER);
+        membership.setCreatedBy(userId);
+        membershipRepository.save(membership);
+    }
+
+    @Test
+    void communityChecksAreAnsweredFromTheTokenClaims() throws Exception {
+        String token = accessToken();
+        // The claims are authoritative while the membership version is unchanged: this write bypasses
+        // CommunityService, so the token keeps granting access without a membership lookup.
+        membershipRepository.deleteAll(membershipRepository.findByCommunityId(homeId));
+
+        mockMvc.perform(get("/api/community/feed").param("communityId", homeId.toString()).header("Authorization", token))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/community/feed").param("communityId", otherId.toString()).header("Authorization", token))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void joiningACommunityForcesATokenRefresh() throws Exception {
+        String token = accessToken();
+
+        mockMvc.perform(post("/api/communities/{id}/join", otherId)
+                .header("Authorization", token)
+                .contentType("application/json")
+                .content("{\"role\":\"MEMBER\"}"))
+            .andExpect(status().isOk());
+
+        assertEquals(1, userRepository.findByUsername(username).orElseThrow().getMembershipVersion());
+        mockMvc.perform(get("/api/community/feed").param("communityId", homeId.toString()).header("Authorization", token))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/community/feed").param("communityId", otherId.toString()).header("Authorization", accessToken()))
+            .andExpect(status().isOk());
+    }
+
+    private String accessToken() {
+        User user = userRepository.findByUsername(username).orElseThrow();
+        return "Bearer " + jwtService.generateToken(
+            userDetailsService.loadUserByUsername(username), accessService.accessClaims(user)
+        );
+    }
+
+    private UUID createCommunity(String name) {
+        Community community = new Community();
+        community.setName(name);
+        community.setSlug(name.toLowerCase() + "-" + UUID.randomUUID());
+        return communityRepository.save(community).getId();
+    }
+}
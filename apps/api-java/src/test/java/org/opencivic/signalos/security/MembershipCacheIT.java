@@ -0,0 +1,97 @@
+package org.opencivic.signalos.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.CommunityMembershipRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.service.CommunityAccessService;
+import org.opencivic.signalos.service.CommunityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// The test profile disables the cache; this context turns it on. Not @Transactional: the cache is written through
+// only after membership changes commit.
+@SpringBootTest(properties = "application.community.access-cache.max-size=1000")
+@ActiveProfiles("test")
+class MembershipCacheIT {
+
+    @Autowired
+    private CommunityService communityService;
+
+    @Autowired
+    private CommunityAccessService accessService;
+
+    @Autowired
+    private CommunityMembershipRepository membershipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User coordinator;
+    private User member;
+    private UUID communityId;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = createUser("coordinator-");
+        member = createUser("member-");
+        communityId = communityService.createCommunity(
+            "Cached Ward", "cached-" + UUID.randomUUID(), null, coordinator.getUsername()).getId();
+        communityService.joinCommunity(communityId, CommunityRole.MEMBER, member.getUsername());
+    }
+
+    @Test
+    void roleChangeIsServedOnceItCommits() {
+        assertEquals(Optional.of(CommunityRole.MEMBER), accessService.roleOf(member.getId(), communityId));
+
+        communityService.updateRole(communityId, member.getId(), CommunityRole.MODERATOR, coordinator.getUsername());
+
+        assertEquals(Optional.of(CommunityRole.MODERATOR), accessService.roleOf(member.getId(), communityId));
+    }
+
+    @Test
+    void rolledBackRoleChangeLeavesTheCachedRole() {
+        assertEquals(Optional.of(CommunityRole.MEMBER), accessService.roleOf(member.getId(), communityId));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            communityService.updateRole(communityId, member.getId(), CommunityRole.COORDINATOR, coordinator.getUsername());
+            // The changing transaction sees its own uncommitted role, not the cached one.
+            assertEquals(Optional.of(CommunityRole.COORDINATOR), accessService.roleOf(member.getId(), communityId));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(Optional.of(CommunityRole.MEMBER), accessService.roleOf(member.getId(), communityId));
+    }
+
+    @Test
+    void rolledBackRoleChangeIsNeverCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            communityService.updateRole(communityId, member.getId(), CommunityRole.MODERATOR, coordinator.getUsername());
+            assertEquals(Optional.of(CommunityRole.MODERATOR), accessService.roleOf(member.getId(), communityId));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(Optional.of(CommunityRole.MEMBER), accessService.roleOf(member.getId(), communityId));
+        assertEquals(CommunityRole.MEMBER, membershipRepository
+            .findByUserIdAndCommunityId(member.getId(), communityId).orElseThrow().getRole());
+    }
+
+    private User createUser(String prefix) {
+        String username = prefix + UUID.randomUUID();
+        User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        user.setEnabled(true);
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,105 @@
+package org.opencivic.signalos.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.CommunityMembershipChangedEvent;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.domain.UserChangedEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class MembershipCacheTest {
+
+    private static final long HOUR = 3_600_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UUID ana = UUID.randomUUID();
+    private final UUID community = UUID.randomUUID();
+
+    @Test
+    void cachesRolesAndNonMembershipAndCountsHitsAndMisses() {
+        MembershipCache cache = new MembershipCache(100, HOUR, registry);
+        AtomicInteger loads = new AtomicInteger();
+        UUID other = UUID.randomUUID();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of(CommunityRole.MEMBER), cache.role(ana, community, () -> {
+                loads.incrementAndGet();
+                return Optional.of(CommunityRole.MEMBER);
+            }));
+            assertEquals(Optional.empty(), cache.role(ana, other, () -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            }));
+        }
+
+        assertEquals(2, loads.get());
+        assertEquals(4.0, requests("role", "hit"));
+        assertEquals(2.0, requests("role", "miss"));
+    }
+
+    @Test
+    void committedMembershipChangesAreWrittenThrough() {
+        MembershipCache cache = new MembershipCache(100, HOUR, registry);
+        cache.role(ana, community, Optional::empty);
+
+        cache.onMembershipChanged(new CommunityMembershipChangedEvent(ana, "ana", community, CommunityRole.COORDINATOR));
+
+        assertEquals(Optional.of(CommunityRole.COORDINATOR), cache.role(ana, community, Optional::empty));
+    }
+
+    @Test
+    void rolesLoadedByTheChangingTransactionAreNotCached() {
+        MembershipCache cache = new MembershipCache(100, HOUR, registry);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.onMembershipChanging(new CommunityMembershipChangedEvent(ana, "ana", community, CommunityRole.COORDINATOR));
+            cache.role(ana, community, () -> Optional.of(CommunityRole.COORDINATOR));
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Optional.of(CommunityRole.MEMBER), cache.role(ana, community, () -> Optional.of(CommunityRole.MEMBER)));
+        assertEquals(Optional.of(CommunityRole.MEMBER), cache.role(ana, community, Optional::empty));
+    }
+
+    @Test
+    void userChangesDropTheUsersEntriesAndRacingLoads() {
+        MembershipCache cache = new MembershipCache(100, HOUR, registry);
+        cache.userId("ana", () -> Optional.of(ana));
+        cache.role(ana, community, () -> Optional.of(CommunityRole.MEMBER));
+
+        cache.onUserChanged(new UserChangedEvent(ana, "ana"));
+
+        assertEquals(Optional.of(CommunityRole.MODERATOR), cache.role(ana, community, () -> {
+            // Loaded while a change commits: served once, never cached.
+            cache.onUserChanged(new UserChangedEvent(ana, "ana"));
+            return Optional.of(CommunityRole.MODERATOR);
+        }));
+        assertEquals(Optional.empty(), cache.role(ana, community, Optional::empty));
+        cache.userId("ana", () -> Optional.of(ana));
+        assertEquals(2.0, requests("user", "miss"));
+    }
+
+    @Test
+    void staysWithinItsBound() {
+        MembershipCache cache = new MembershipCache(50, HOUR, registry);
+        for (int i = 0; i < 500; i++) {
+            cache.role(UUID.randomUUID(), community, () -> Optional.of(CommunityRole.MEMBER));
+        }
+        assertTrue(cache.size() <= 50);
+    }
+
+    private double requests(String cache, String result) {
+        return registry.get("signalos.community.access.cache.requests").tag("cache", cache).tag("result", result)
+            .counter().count();
+    }
+}
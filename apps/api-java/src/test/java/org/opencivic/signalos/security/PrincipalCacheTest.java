@@ -0,0 +1,84 @@
+package org.opencivic.signalos.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+class PrincipalCacheTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @Test
+    void cachesVerifiedTokensUntilTheTokenExpires() {
+        PrincipalCache cache = new PrincipalCache(100, HOUR);
+        String key = PrincipalCache.key("token-a");
+
+        PrincipalCache.Entry entry = cache.put(key, claims("ana", 60_000), user("ana"), cache.generation());
+
+        assertEquals(entry, cache.get(key));
+        assertTrue(entry.expiresAtMillis() <= System.currentTimeMillis() + 60_000);
+        cache.put(PrincipalCache.key("token-b"), claims("ben", -1_000), user("ben"), cache.generation());
+        assertNull(cache.get(PrincipalCache.key("token-b")));
+    }
+
+    @Test
+    void invalidationDropsTheUsersTokensAndStalePuts() {
+        PrincipalCache cache = new PrincipalCache(100, HOUR);
+        String anaKey = PrincipalCache.key("ana-token");
+        String benKey = PrincipalCache.key("ben-token");
+        cache.put(anaKey, claims("ana", HOUR), user("ana"), cache.generation());
+        cache.put(benKey, claims("ben", HOUR), user("ben"), cache.generation());
+        long loadedAt = cache.generation();
+
+        cache.invalidate("ana");
+
+        assertNull(cache.get(anaKey));
+        assertNotNull(cache.get(benKey));
+        // Loaded before the invalidation: served once, never cached.
+        assertNotNull(cache.put(anaKey, claims("ana", HOUR), user("ana"), loadedAt));
+        assertNull(cache.get(anaKey));
+    }
+
+    @Test
+    void revokedTokensStayRejectedUntilExpiry() {
+        PrincipalCache cache = new PrincipalCache(100, HOUR);
+        String key = PrincipalCache.key("logged-out");
+        cache.put(key, claims("ana", HOUR), user("ana"), cache.generation());
+
+        cache.revoke(key, new Date(System.currentTimeMillis() + HOUR));
+        cache.revoke(PrincipalCache.key("already-expired"), new Date(System.currentTimeMillis() - 1));
+
+        assertTrue(cache.isRevoked(key));
+        assertNull(cache.get(key));
+        assertFalse(cache.isRevoked(PrincipalCache.key("already-expired")));
+    }
+
+    @Test
+    void staysWithinItsBound() {
+        PrincipalCache cache = new PrincipalCache(50, HOUR);
+        for (int i = 0; i < 500; i++) {
+            cache.put(PrincipalCache.key("token-" + i), claims("user" + i, HOUR), user("user" + i), cache.generation());
+        }
+        assertTrue(cache.size() <= 50);
+    }
+
+    private static Claims claims(String subject, long expiresInMillis) {
+        return Jwts.claims()
+            .subject(subject)
+            .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+            .build();
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("unused").roles("CITIZEN").build();
+    }
+}
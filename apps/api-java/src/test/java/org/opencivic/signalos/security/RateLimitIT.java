@@ -0,0 +1,82 @@
+package org.opencivic.signalos.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+    "application.rate-limit.enabled=true",
+    "application.rate-limit.policies.comment.limit=2",
+    "application.rate-limit.policies.comment.burst=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @WithMockUser(username = "rate_limited", roles = {"CITIZEN"})
+    void commentsBeyondThePolicyAreRejectedWithRetryAfter() throws Exception {
+        userRepository.findByUsername("rate_limited").orElseGet(() -> {
+            User user = new User("rate_limited", "{noop}pw", "rate_limited@test.dev", "ROLE_CITIZEN");
+            user.setEnabled(true);
+            user.setVerified(true);
+            return userRepository.save(user);
+        });
+        UUID signalId = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Broken bench", "In the park", "infrastructure",
+            1, 1, 5, 0, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now()
+        )).getId();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/signals/{id}/comments", signalId)
+                    .contentType("application/json")
+                    .content("{\"content\":\"comment " + i + "\"}"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/api/signals/{id}/comments", signalId)
+                .contentType("application/json")
+                .content("{\"content\":\"one too many\"}"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "30"))
+            .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void repeatedVerificationAttemptsAreThrottled() throws Exception {
+        String body = "{\"username\":\"nobody-" + UUID.randomUUID() + "\",\"code\":\"000000\"}";
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/verify").contentType("application/json").content(body))
+                .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/api/auth/verify").contentType("application/json").content(body))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists("Retry-After"));
+    }
+}
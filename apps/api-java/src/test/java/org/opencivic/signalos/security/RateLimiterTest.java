@@ -0,0 +1,85 @@
+package org.opencivic.signalos.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void allowsTheBurstThenRefillsAtTheSustainedRate() {
+        // 60 per minute: one every second, bursts of 3.
+        RateLimiter limiter = new RateLimiter(60, 60 * SECOND, 3, 100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("ana"));
+        }
+        long wait = limiter.acquire("ana");
+        assertTrue(wait > 0 && wait <= SECOND, "wait was " + wait);
+        assertEquals(0, limiter.acquire("ben"));
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.acquire("ana"));
+        assertTrue(limiter.acquire("ana") > 0);
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTheAllowance() {
+        RateLimiter limiter = new RateLimiter(1, SECOND, 1, 100, clock::get);
+        assertEquals(0, limiter.acquire("ana"));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.acquire("ana") > 0);
+        }
+
+        clock.addAndGet(SECOND);
+
+        assertEquals(0, limiter.acquire("ana"));
+    }
+
+    @Test
+    void resetForgetsTheKey() {
+        RateLimiter limiter = new RateLimiter(5, 60 * SECOND, 5, 100, clock::get);
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("ana");
+        }
+        assertTrue(limiter.acquire("ana") > 0);
+
+        limiter.reset("ana");
+
+        assertEquals(0, limiter.acquire("ana"));
+    }
+
+    @Test
+    void idleKeysAreEvictedAndNewKeysDisplaceTheColdestWhenFull() {
+        // 10 per second, bursts of 3.
+        RateLimiter limiter = new RateLimiter(10, SECOND, 3, 5, clock::get);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, limiter.acquire("cold-" + i));
+        }
+        clock.addAndGet(SECOND / 20);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("hot"));
+        }
+        assertTrue(limiter.acquire("hot") > 0);
+        assertEquals(5, limiter.size());
+
+        // A flood of new keys keeps getting in, and only pushes out keys colder than the one still throttled.
+        for (int i = 0; i < 50; i++) {
+            assertEquals(0, limiter.acquire("newcomer-" + i));
+        }
+        assertEquals(5, limiter.size());
+        assertTrue(limiter.acquire("hot") > 0);
+
+        clock.addAndGet(SECOND);
+        limiter.acquire("late");
+
+        assertEquals(1, limiter.size());
+    }
+}
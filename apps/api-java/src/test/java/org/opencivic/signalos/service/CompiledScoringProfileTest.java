@@ -0,0 +1,67 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.ScoreBreakdown;
+import org.opencivic.signalos.domain.ScoringProfile;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.web.dto.TrustPacket;
+
+class CompiledScoringProfileTest {
+
+    private static final UUID COMMUNITY = UUID.randomUUID();
+
+    @Test
+    void defaultProfileMatchesHistoricalFormula() {
+        CompiledScoringProfile compiled = CompiledScoringProfile.DEFAULT;
+
+        assertEquals(TrustPacket.CURRENT_FORMULA, compiled.formula());
+        assertEquals(new ScoreBreakdown(120, 75, 30, 15), compiled.breakdown(4, 3, 1_000, 500));
+        assertEquals(150 + 125 + 9 + 1.6, compiled.score(5, 5, 90, 8), 1e-9);
+    }
+
+    @Test
+    void scoreEqualsSumOfBreakdown() {
+        CompiledScoringProfile compiled = CompiledScoringProfile.compile(
+            new ScoringProfile("flood-season", 12.5, 40, 4, 50, 2, 25)
+        );
+
+        ScoreBreakdown breakdown = compiled.breakdown(2, 5, 130, 7);
+        assertEquals(new ScoreBreakdown(25, 200, 32.5, 3.5), breakdown);
+        assertEquals(ScoringFormula.total(breakdown), compiled.score(2, 5, 130, 7), 1e-9);
+        assertEquals("(Urgency * 12.5) + (Impact * 40) + min(People/4, 50) + min(Votes/2, 25)", compiled.formula());
+    }
+
+    @Test
+    void swapReplacesOnlyThatCommunitysProfile() {
+        ScoringFormula formula = ScoringFormula.defaults();
+        Signal inCommunity = signal(COMMUNITY);
+        Signal elsewhere = signal(UUID.randomUUID());
+
+        formula.swap(COMMUNITY, new ScoringProfile("impact-first", 10, 50, 10, 30, 5, 15));
+        assertEquals(30 + 150 + 1, formula.score(inCommunity));
+        assertEquals("impact-first", formula.profileName(inCommunity));
+        assertEquals(90 + 75 + 1, formula.score(elsewhere));
+
+        formula.swap(COMMUNITY, null);
+        assertEquals(90 + 75 + 1, formula.score(inCommunity));
+        assertEquals("default", formula.profileName(inCommunity));
+    }
+
+    @Test
+    void rejectsNonPositiveDivisors() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoringProfile("broken", 30, 25, 0, 30, 5, 15));
+    }
+
+    private static Signal signal(UUID communityId) {
+        return new Signal(
+            UUID.randomUUID(), "Blocked drain", "Water pooling", "infrastructure",
+            3, 3, 10, 0, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now(), communityId
+        );
+    }
+}
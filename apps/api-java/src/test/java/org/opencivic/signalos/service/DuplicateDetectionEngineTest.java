@@ -0,0 +1,201 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+
+class DuplicateDetectionEngineTest {
+
+    private static final String[] ISSUES = {
+        "Pothole", "Broken streetlight", "Flooded drain", "Missing crosswalk paint", "Fallen tree", "Garbage pile",
+        "Damaged bench", "Blocked sidewalk", "Graffiti", "Noise"
+    };
+    private static final String[] PLACES = {
+        "Main Street", "Elm Avenue", "Calle 45", "Parque Central", "School Road", "Río Bogotá bridge",
+        "Harbor Lane", "Plaza Mayor"
+    };
+    private static final String[] QUALIFIERS = {
+        "near the school", "since last week", "blocking traffic", "again!", "(urgent)", "at night",
+        "by the bus stop", "for three days"
+    };
+    private static final String[] PREFIXES = {"Huge", "Another", "Dangerous", "URGENT:"};
+    private static final String[] CATEGORIES = {"infrastructure", "safety", "environment", "mobility"};
+
+    @Test
+    void bandingIsDerivedFromTheTargetThreshold() {
+        assertEquals(4, DuplicateDetectionEngine.rowsFor(0.5, 48));
+        assertEquals(48, DuplicateDetectionEngine.ROWS * DuplicateDetectionEngine.BANDS);
+        assertEquals(2, DuplicateDetectionEngine.rowsFor(0.2, 48));
+    }
+
+    @Test
+    void proposesContainedAndOverlappingTitlesWhoseShinglesDiffer() {
+        DuplicateDetectionEngine engine = new DuplicateDetectionEngine(null);
+        Signal shortTitle = signal(1, "Pothole Main Street", "infrastructure");
+        Signal longTitle = signal(2, "Huge pothole on Main Street near the school, by the bus stop, for three days", "infrastructure");
+        Signal contained = signal(3, "streetlight out on Elm", "infrastructure");
+        Signal container = signal(4, "Since Monday the streetlight out on Elm Avenue makes the crossing unsafe", "infrastructure");
+        Signal otherCategory = signal(5, "Pothole Main Street", "safety");
+        List.of(shortTitle, longTitle, contained, container, otherCategory).forEach(engine::index);
+
+        DuplicateDetectionEngine.Candidates candidates = engine.candidates(null);
+
+        assertTrue(candidates.of(shortTitle.getId()).contains(longTitle.getId()));
+        assertTrue(candidates.of(longTitle.getId()).contains(shortTitle.getId()));
+        assertTrue(candidates.of(contained.getId()).contains(container.getId()));
+        assertTrue(candidates.of(container.getId()).contains(contained.getId()));
+        assertFalse(candidates.of(shortTitle.getId()).contains(otherCategory.getId()));
+    }
+
+    @Test
+    void proposesEveryPairTheLegacyRulesAccept() {
+        List<Signal> signals = variedSignals(900, new Random(7));
+        DuplicateDetectionEngine engine = new DuplicateDetectionEngine(null);
+        signals.forEach(engine::index);
+        DuplicateDetectionEngine.Candidates candidates = engine.candidates(null);
+
+        Map<UUID, String> normalized = new HashMap<>();
+        signals.forEach(signal -> normalized.put(signal.getId(), LegacyTitleRules.normalizeTitle(signal.getTitle())));
+        BiPredicate<Signal, Signal> legacy = (a, b) -> a.getCategory().equals(b.getCategory())
+            && LegacyTitleRules.isSimilarNormalized(normalized.get(a.getId()), normalized.get(b.getId()));
+
+        Map<UUID, Set<UUID>> proposed = new HashMap<>();
+        signals.forEach(signal -> proposed.put(signal.getId(), new HashSet<>(candidates.of(signal.getId()))));
+        int similarPairs = 0;
+        for (int i = 0; i < signals.size(); i++) {
+            for (int j = i + 1; j < signals.size(); j++) {
+                Signal a = signals.get(i);
+                Signal b = signals.get(j);
+                if (legacy.test(a, b)) {
+                    similarPairs++;
+                    assertTrue(proposed.get(a.getId()).contains(b.getId()), a.getTitle() + " / " + b.getTitle());
+                    assertTrue(proposed.get(b.getId()).contains(a.getId()), b.getTitle() + " / " + a.getTitle());
+                }
+            }
+        }
+        assertTrue(similarPairs > 500, "corpus should exercise the rules, found " + similarPairs);
+
+        List<Signal> ranked = ranked(signals);
+        assertEquals(allPairs(ranked, legacy), DuplicateDetectionEngine.group(ranked, candidates));
+    }
+
+    @Test
+    void groupsTenThousandSignalsLikeTheAllPairsScan() {
+        List<Signal> signals = templateSignals(10_000, new Random(11));
+        DuplicateDetectionEngine engine = new DuplicateDetectionEngine(null);
+        signals.forEach(engine::index);
+        DuplicateDetectionEngine.Candidates candidates = engine.candidates(null);
+        List<Signal> ranked = ranked(signals);
+
+        Map<UUID, List<Signal>> grouped = DuplicateDetectionEngine.group(ranked, candidates);
+
+        Map<UUID, TitleSimilarity.Fingerprint> fingerprints = new HashMap<>();
+        signals.forEach(signal -> fingerprints.put(signal.getId(), TitleSimilarity.fingerprint(signal)));
+        assertEquals(allPairs(ranked, (a, b) -> TitleSimilarity.isSimilar(fingerprints.get(a.getId()), fingerprints.get(b.getId()))), grouped);
+        assertTrue(grouped.size() > 500);
+
+        // The candidates are a small fraction of the same-category pairs an exhaustive scan compares.
+        long proposedPairs = 0;
+        for (Signal signal : signals) {
+            proposedPairs += candidates.of(signal.getId()).size();
+        }
+        Map<String, Long> perCategory = new HashMap<>();
+        signals.forEach(signal -> perCategory.merge(signal.getCategory(), 1L, Long::sum));
+        long categoryPairs = perCategory.values().stream().mapToLong(count -> count * (count - 1)).sum();
+        assertTrue(proposedPairs * 4 < categoryPairs, proposedPairs / 2 + " of " + categoryPairs / 2 + " pairs proposed");
+    }
+
+    // The pre-index loop: every signal not yet claimed keeps each lower-ranked signal the rule accepts.
+    private static Map<UUID, List<Signal>> allPairs(List<Signal> ranked, BiPredicate<Signal, Signal> similar) {
+        Map<UUID, List<Signal>> duplicates = new HashMap<>();
+        Set<UUID> processed = new HashSet<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            Signal head = ranked.get(i);
+            if (processed.contains(head.getId())) {
+                continue;
+            }
+            List<Signal> dups = new ArrayList<>();
+            for (int j = i + 1; j < ranked.size(); j++) {
+                if (similar.test(head, ranked.get(j))) {
+                    dups.add(ranked.get(j));
+                    processed.add(ranked.get(j).getId());
+                }
+            }
+            if (!dups.isEmpty()) {
+                duplicates.put(head.getId(), dups);
+                processed.add(head.getId());
+            }
+        }
+        return duplicates;
+    }
+
+    private static List<Signal> ranked(List<Signal> signals) {
+        List<Signal> ranked = new ArrayList<>(signals);
+        ranked.sort(Comparator.comparingDouble(Signal::getPriorityScore).reversed().thenComparing(Signal::getId));
+        return ranked;
+    }
+
+    // Reworded, truncated, extended, misspelt and unrelated titles over three categories.
+    private static List<Signal> variedSignals(int count, Random random) {
+        List<Signal> signals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = ISSUES[random.nextInt(ISSUES.length)] + " on " + PLACES[random.nextInt(PLACES.length)];
+            switch (random.nextInt(7)) {
+                case 0 -> title = title + " " + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+                case 1 -> title = PREFIXES[random.nextInt(PREFIXES.length)] + " " + title.toLowerCase()
+                    + " " + QUALIFIERS[random.nextInt(QUALIFIERS.length)] + ", " + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+                case 2 -> title = typo(title, random);
+                case 3 -> title = title.substring(0, Math.max(4, title.length() - random.nextInt(8)));
+                case 4 -> title = title.replace(" on ", " ") + " #" + random.nextInt(40);
+                case 5 -> title = ISSUES[random.nextInt(ISSUES.length)];
+                default -> title = "Report " + Integer.toString(random.nextInt(1 << 20), 36) + " "
+                    + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+            }
+            signals.add(signal(i, title, CATEGORIES[random.nextInt(3)], random.nextDouble()));
+        }
+        return signals;
+    }
+
+    // Generated reports that share most of their words: the shape that made LSH buckets explode.
+    private static List<Signal> templateSignals(int count, Random random) {
+        List<Signal> signals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String title = ISSUES[random.nextInt(ISSUES.length)] + " on " + PLACES[random.nextInt(PLACES.length)]
+                + " #" + (1 + random.nextInt(count / 4)) + " " + QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+            signals.add(signal(i, title, CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextDouble()));
+        }
+        return signals;
+    }
+
+    private static String typo(String title, Random random) {
+        char[] chars = title.toCharArray();
+        int at = random.nextInt(chars.length);
+        chars[at] = chars[at] == 'e' ? 'a' : 'e';
+        return new String(chars);
+    }
+
+    private static Signal signal(long id, String title, String category) {
+        return signal(id, title, category, 0.0);
+    }
+
+    private static Signal signal(long id, String title, String category, double score) {
+        return new Signal(
+            new UUID(0x5167L, id), title, "Indexed by unit test", category,
+            3, 3, 10, 0, score, null, "NEW", new ArrayList<>(), null, LocalDateTime.now()
+        );
+    }
+}
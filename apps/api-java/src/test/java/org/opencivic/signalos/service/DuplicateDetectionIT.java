@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.opencivic.signalos.domain.ScoreBreakdown;
 import org.opencivic.signalos.domain.Signal;
@@ -16,11 +17,11 @@ import org.opencivic.signalos.repository.SignalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.transaction.annotation.Transactional;
 
+// Not @Transactional: the LSH index is fed by committed writes, like in production. The rows are committed too, so
+// each test deletes what it created instead of leaking it into the other ITs sharing the context.
 @SpringBootTest
 @ActiveProfiles("test")
-@Transactional
 class DuplicateDetectionIT {
 
     @Autowired
@@ -29,6 +30,14 @@ class DuplicateDetectionIT {
     @Autowired
     private SignalRepository signalRepository;
 
+    private final List<UUID> created = new ArrayList<>();
+
+    @AfterEach
+    void deleteCreatedSignals() {
+        signalRepository.deleteAllById(created);
+        created.clear();
+    }
+
     @Test
     void shouldDetectNearDuplicateTitlesInSameCategory() {
         signalRepository.deleteAll();
@@ -43,16 +52,49 @@ class DuplicateDetectionIT {
         int totalDuplicates = duplicates.values().stream().mapToInt(List::size).sum();
         assertEquals(1, totalDuplicates);
 
+        // Equal scores: the head is whichever ranks first by id, as in the prioritized feed.
         boolean foundCluster = duplicates.entrySet().stream()
             .anyMatch(entry ->
                 entry.getKey().equals(a.getId()) &&
                 entry.getValue().stream().anyMatch(s -> s.getId().equals(b.getId()))
+                || entry.getKey().equals(b.getId()) &&
+                entry.getValue().stream().anyMatch(s -> s.getId().equals(a.getId()))
             );
         assertTrue(foundCluster);
     }
 
+    @Test
+    void shouldScopeDuplicatesToCommunityAcrossAllOpenSignals() {
+        signalRepository.deleteAll();
+        UUID communityId = UUID.randomUUID();
+
+        Signal a = saveSignal("Broken streetlight on Elm Avenue", "infrastructure", communityId);
+        for (int i = 0; i < 150; i++) {
+            saveSignal("Unrelated report number " + i + " about park benches", "parks", communityId);
+        }
+        Signal b = saveSignal("Broken streetlight at Elm Avenue!", "infrastructure", communityId);
+        Signal elsewhere = saveSignal("Broken streetlight on Elm Avenue", "infrastructure", UUID.randomUUID());
+
+        Map<UUID, List<Signal>> duplicates = prioritizationService.findDuplicates(communityId);
+
+        List<UUID> clustered = duplicates.entrySet().stream()
+            .flatMap(entry -> java.util.stream.Stream.concat(
+                java.util.stream.Stream.of(entry.getKey()),
+                entry.getValue().stream().map(Signal::getId)
+            ))
+            .toList();
+        assertTrue(clustered.contains(a.getId()));
+        assertTrue(clustered.contains(b.getId()));
+        assertFalse(clustered.contains(elsewhere.getId()));
+        assertEquals(2, clustered.stream().filter(id -> id.equals(a.getId()) || id.equals(b.getId())).count());
+    }
+
     private Signal saveSignal(String title, String category) {
-        return signalRepository.save(new Signal(
+        return saveSignal(title, category, null);
+    }
+
+    private Signal saveSignal(String title, String category, UUID communityId) {
+        Signal signal = signalRepository.save(new Signal(
             UUID.randomUUID(),
             title,
             "Reported by integration test",
@@ -66,7 +108,10 @@ class DuplicateDetectionIT {
             "NEW",
             new ArrayList<>(),
             UUID.randomUUID(),
-            LocalDateTime.now().minusMinutes(5)
+            LocalDateTime.now().minusMinutes(5),
+            communityId
         ));
+        created.add(signal.getId());
+        return signal;
     }
 }
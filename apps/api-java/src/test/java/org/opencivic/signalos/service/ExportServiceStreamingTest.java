@@ -0,0 +1,167 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.web.dto.TrustPacket;
+
+class ExportServiceStreamingTest {
+
+    private static final int ROWS = 1_000_000;
+    // Retaining half of the synthetic rows would need well over 100 MB.
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private final PrioritizationServiceImpl prioritizationService = new PrioritizationServiceBuilder().build();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ExportService exportService =
+        new ExportService(null, prioritizationService, null, objectMapper, null, 1, 5000);
+
+    @Test
+    void shouldWriteRowsWithTrustDataFromTheLoadedEntity() throws Exception {
+        Signal plain = signal(1);
+        Signal quoted = signal(2);
+        quoted.setTitle("Flooding, \"again\"\non Calle 45");
+        List<Signal> released = new ArrayList<>();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.writeCsv(Stream.of(plain, quoted), out, released::add);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(List.of(plain, quoted), released);
+        assertEquals(ExportService.CSV_HEADER, lines[0]);
+
+        TrustPacket packet = prioritizationService.getTrustPacket(plain);
+        assertEquals(prioritizationService.calculateScore(plain), packet.finalScore());
+        assertEquals(plain.getId() + ",Signal 1,infrastructure,NEW," + packet.finalScore() + ","
+            + packet.scoreBreakdown().urgency() + "," + packet.scoreBreakdown().impact() + ","
+            + packet.scoreBreakdown().affectedPeople() + "," + packet.scoreBreakdown().communityVotes() + ","
+            + packet.verificationHash() + "," + plain.getCreatedAt(), lines[1]);
+        assertTrue(lines[2].startsWith(quoted.getId() + ",\"Flooding, \"\"again\"\" on Calle 45\","));
+        assertEquals(3, lines.length);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        Signal signal = signal(7);
+        signal.setTitle("Line\nbreak, \"quoted\"");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.writeNdjson(Stream.of(signal, signal(8)), out, released -> { });
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        TrustPacket packet = prioritizationService.getTrustPacket(signal);
+        assertEquals(signal.getId().toString(), first.get("id").asText());
+        assertEquals("Line\nbreak, \"quoted\"", first.get("title").asText());
+        assertEquals(packet.finalScore(), first.get("priorityScore").asDouble());
+        assertEquals(packet.verificationHash(), first.get("verificationHash").asText());
+        assertEquals(packet.scoreBreakdown().urgency(), first.get("scoreBreakdown").get("urgency").asDouble());
+    }
+
+    @Test
+    void shouldPlanPartitionsOfBoundedRowCountOnSkewedCreatedAt() {
+        LocalDateTime burst = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Object[]> keys = new ArrayList<>();
+        keys.add(new Object[] {burst.minusYears(5), new UUID(0, 0)});
+        // Almost every row shares one timestamp: equal-width windows would put them all in one partition.
+        for (long i = 1; i <= 12_000; i++) {
+            keys.add(new Object[] {burst, new UUID(0, i)});
+        }
+
+        List<ExportService.Partition> partitions = ExportService.planPartitions(keys.iterator(), 5000);
+
+        assertEquals(List.of(
+            new ExportService.Partition(burst.minusYears(5), new UUID(0, 0), burst, new UUID(0, 4999)),
+            new ExportService.Partition(burst, new UUID(0, 5000), burst, new UUID(0, 9999)),
+            new ExportService.Partition(burst, new UUID(0, 10_000), burst, new UUID(0, 12_000))
+        ), partitions);
+        assertEquals(List.of(), ExportService.planPartitions(List.<Object[]>of().iterator(), 5000));
+
+        Object[] undated = {null, new UUID(0, 42)};
+        List<ExportService.Partition> single = ExportService.planPartitions(List.<Object[]>of(undated).iterator(), 5000);
+        assertEquals(List.of(new ExportService.Partition(null, new UUID(0, 42), null, new UUID(0, 42))), single);
+        assertTrue(single.get(0).undated());
+    }
+
+    @Test
+    void shouldStreamOneMillionRowsWithBoundedMemory() throws Exception {
+        AtomicLong generated = new AtomicLong();
+        Stream<Signal> synthetic = LongStream.range(0, ROWS).mapToObj(i -> {
+            generated.incrementAndGet();
+            return signal(i);
+        });
+        long baseline = usedHeapAfterGc();
+        MeasuringSink sink = new MeasuringSink(ROWS / 2, generated);
+
+        long rows = exportService.writeCsv(synthetic, sink, signal -> { });
+
+        assertEquals(ROWS, rows);
+        assertEquals(ROWS + 1, sink.lines);
+        // The sink saw the midpoint while rows were still being produced: output is not buffered up front.
+        assertTrue(sink.generatedAtMidpoint < ROWS, "rows reached the sink only after generation finished");
+        long growth = sink.heapAtMidpoint - baseline;
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES, "heap grew by " + growth + " bytes while exporting");
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Signal signal(long i) {
+        return new Signal(
+            new UUID(0x5167L, i), "Signal " + i, "Synthetic export row", "infrastructure",
+            (int) (i % 5) + 1, (int) (i % 3) + 1, (int) (i % 400), (int) (i % 90),
+            0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(i)
+        );
+    }
+
+    // Counts lines and discards bytes, sampling heap usage once the midpoint line is written.
+    private static final class MeasuringSink extends OutputStream {
+        private final long midpoint;
+        private final AtomicLong generated;
+        private long lines;
+        private long heapAtMidpoint = -1;
+        private long generatedAtMidpoint = -1;
+
+        private MeasuringSink(long midpoint, AtomicLong generated) {
+            this.midpoint = midpoint;
+            this.generated = generated;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines == midpoint) {
+                generatedAtMidpoint = generated.get();
+                heapAtMidpoint = usedHeapAfterGc();
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(buffer[i]);
+            }
+        }
+    }
+}
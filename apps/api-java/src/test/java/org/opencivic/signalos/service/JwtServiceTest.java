@@ -0,0 +1,112 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.JwtException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opencivic.signalos.domain.CommunityRole;
+import org.opencivic.signalos.security.AccessClaims;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+class JwtServiceTest {
+
+    private static final String OLD_SECRET = "old-secret-key-at-least-32-characters-long-for-hmac-sha";
+    private static final String NEW_SECRET = "new-secret-key-at-least-32-characters-long-for-hmac-sha";
+
+    private final UserDetails ana = User.withUsername("ana").password("unused").roles("CITIZEN").build();
+
+    @Test
+    void verifiesItsOwnTokensInOneParse() {
+        JwtService service = new JwtService(NEW_SECRET, "");
+
+        VerifiedToken token = service.verify(service.generateToken(ana));
+
+        assertEquals("ana", token.subject());
+        assertEquals(List.of("ROLE_CITIZEN"), token.roles());
+        assertTrue(token.expiresAt().getTime() > System.currentTimeMillis());
+        assertTrue(service.isTokenValid(service.generateToken(ana), ana));
+    }
+
+    @Test
+    void carriesAccessClaimsThroughTheToken() {
+        JwtService service = new JwtService(NEW_SECRET, "");
+        AccessClaims access = new AccessClaims(UUID.randomUUID(), 3, Map.of(UUID.randomUUID(), CommunityRole.COORDINATOR));
+
+        VerifiedToken token = service.verify(service.generateToken(ana, access));
+
+        assertEquals(access, AccessClaims.from(token.claims()));
+        assertEquals(null, AccessClaims.from(service.verify(service.generateRefreshToken(ana)).claims()));
+    }
+
+    @Test
+    void acceptsTokensSignedWithAPreviousSecretDuringRotation() {
+        String issuedBeforeRotation = new JwtService(OLD_SECRET, "").generateToken(ana);
+
+        JwtService rotated = new JwtService(NEW_SECRET, OLD_SECRET);
+
+        assertEquals("ana", rotated.verify(issuedBeforeRotation).subject());
+        assertThrows(JwtException.class, () -> new JwtService(NEW_SECRET, "").verify(issuedBeforeRotation));
+    }
+
+    @Test
+    void picksUpRotatedSecretsFromTheKeyFileWithoutARestart(@TempDir Path dir) throws Exception {
+        Path keyFile = dir.resolve("jwt-keys");
+        Files.writeString(keyFile, "# signing secret first\n" + OLD_SECRET + "\n");
+        JwtService service = new JwtService("", "", keyFile.toString(), 0);
+        String issuedBeforeRotation = service.generateToken(ana);
+
+        assertFalse(service.reloadKeys());
+        rewrite(keyFile, NEW_SECRET + "\n" + OLD_SECRET + "\n", 1);
+        assertTrue(service.reloadKeys());
+
+        String issuedAfterRotation = service.generateToken(ana);
+        assertEquals("ana", service.verify(issuedBeforeRotation).subject());
+        assertEquals("ana", new JwtService(NEW_SECRET, "").verify(issuedAfterRotation).subject());
+
+        rewrite(keyFile, NEW_SECRET + "\n", 2);
+        assertTrue(service.reloadKeys());
+        assertThrows(JwtException.class, () -> service.verify(issuedBeforeRotation));
+        assertEquals("ana", service.verify(issuedAfterRotation).subject());
+    }
+
+    @Test
+    void keepsTheCurrentKeysWhenTheKeyFileIsEmptied(@TempDir Path dir) throws Exception {
+        Path keyFile = dir.resolve("jwt-keys");
+        Files.writeString(keyFile, NEW_SECRET);
+        JwtService service = new JwtService("", "", keyFile.toString(), 0);
+        String token = service.generateToken(ana);
+
+        rewrite(keyFile, "\n", 1);
+
+        assertThrows(IOException.class, service::reloadKeys);
+        assertEquals("ana", service.verify(token).subject());
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        JwtService service = new JwtService(NEW_SECRET, "");
+        String token = service.generateToken(ana);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> service.verify(tampered));
+    }
+
+    // Some file systems keep one-second timestamps; move the clock on explicitly so the change is seen.
+    private static void rewrite(Path keyFile, String content, int seconds) throws Exception {
+        FileTime before = Files.getLastModifiedTime(keyFile);
+        Files.writeString(keyFile, content);
+        Files.setLastModifiedTime(keyFile, FileTime.fromMillis(before.toMillis() + seconds * 1000L));
+    }
+}
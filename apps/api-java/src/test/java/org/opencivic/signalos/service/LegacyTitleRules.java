@@ -0,0 +1,84 @@
+package org.opencivic.signalos.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.opencivic.signalos.domain.Signal;
+
+/**
+ * The duplicate rules as findDuplicates applied them before the fingerprint kernel and the candidate index:
+ * regex normalization, string token sets and a full Levenshtein matrix. Kept as the reference the dedup tests and
+ * TitleSimilarityBenchmark compare against.
+ */
+final class LegacyTitleRules {
+
+    private LegacyTitleRules() {
+    }
+
+    static boolean isSimilar(Signal s1, Signal s2) {
+        if (s1.getCategory() == null || s2.getCategory() == null || !s1.getCategory().equalsIgnoreCase(s2.getCategory())) {
+            return false;
+        }
+        return isSimilarNormalized(normalizeTitle(s1.getTitle()), normalizeTitle(s2.getTitle()));
+    }
+
+    // Same category already established; titles already normalized.
+    static boolean isSimilarNormalized(String t1, String t2) {
+        if (t1.isBlank() || t2.isBlank()) {
+            return false;
+        }
+        if (t1.equals(t2)) {
+            return true;
+        }
+        int minLen = Math.min(t1.length(), t2.length());
+        if (minLen >= 12 && (t1.contains(t2) || t2.contains(t1))) {
+            return true;
+        }
+        double overlap = tokenOverlap(t1, t2);
+        int distance = levenshteinDistance(t1, t2);
+        int adaptiveThreshold = Math.max(3, minLen / 5);
+        return overlap >= 0.75 || (overlap >= 0.55 && distance <= adaptiveThreshold);
+    }
+
+    static String normalizeTitle(String title) {
+        if (title == null) {
+            return "";
+        }
+        String ascii = Normalizer.normalize(title, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return ascii
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("[^a-z0-9\\s]", " ")
+            .replaceAll("\\s+", " ")
+            .trim();
+    }
+
+    private static double tokenOverlap(String t1, String t2) {
+        Set<String> a = Arrays.stream(t1.split(" ")).filter(token -> token.length() >= 3).collect(Collectors.toSet());
+        Set<String> b = Arrays.stream(t2.split(" ")).filter(token -> token.length() >= 3).collect(Collectors.toSet());
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        return (double) intersection.size() / (double) Math.min(a.size(), b.size());
+    }
+
+    private static int levenshteinDistance(String x, String y) {
+        int[][] dp = new int[x.length() + 1][y.length() + 1];
+        for (int i = 0; i <= x.length(); i++) {
+            for (int j = 0; j <= y.length(); j++) {
+                if (i == 0) dp[i][j] = j;
+                else if (j == 0) dp[i][j] = i;
+                else {
+                    dp[i][j] = Math.min(Math.min(dp[i - 1][j - 1]
+                        + (x.charAt(i - 1) == y.charAt(j - 1) ? 0 : 1),
+                        dp[i - 1][j] + 1), dp[i][j - 1] + 1);
+                }
+            }
+        }
+        return dp[x.length()][y.length()];
+    }
+}
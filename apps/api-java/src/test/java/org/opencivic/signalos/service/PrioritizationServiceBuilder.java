@@ -0,0 +1,37 @@
+package org.opencivic.signalos.service;
+
+import org.opencivic.signalos.repository.SignalRepository;
+
+/**
+ * Builds a {@link PrioritizationServiceImpl} outside Spring for unit tests and benchmarks, so they do not spell out
+ * the constructor. Anything not set stays null, except the in-memory index and a formula with the default weights:
+ * a bare {@code build()} can score, attest and export signals.
+ */
+final class PrioritizationServiceBuilder {
+
+    private SignalRepository signalRepository;
+    private DuplicateDetectionEngine duplicateDetectionEngine;
+    private ScoringFormula scoringFormula = ScoringFormula.defaults();
+
+    PrioritizationServiceBuilder signals(SignalRepository signalRepository) {
+        this.signalRepository = signalRepository;
+        return this;
+    }
+
+    PrioritizationServiceBuilder duplicates(DuplicateDetectionEngine duplicateDetectionEngine) {
+        this.duplicateDetectionEngine = duplicateDetectionEngine;
+        return this;
+    }
+
+    PrioritizationServiceBuilder formula(ScoringFormula scoringFormula) {
+        this.scoringFormula = scoringFormula;
+        return this;
+    }
+
+    PrioritizationServiceImpl build() {
+        return new PrioritizationServiceImpl(
+            signalRepository, null, null, null, new PriorityIndex(), duplicateDetectionEngine, scoringFormula,
+            null, null, null
+        );
+    }
+}
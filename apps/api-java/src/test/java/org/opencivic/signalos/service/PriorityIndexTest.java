@@ -0,0 +1,98 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class PriorityIndexTest {
+
+    private final UUID communityId = UUID.randomUUID();
+
+    @Test
+    void shouldServeRankedPagesPerCommunityAndStatus() {
+        PriorityIndex index = new PriorityIndex();
+        index.beginRebuild();
+        List<Signal> signals = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            signals.add(signal(i, i % 5 == 0 ? "FLAGGED" : "NEW", i % 2 == 0 ? communityId : null));
+        }
+        index.completeRebuild(signals);
+
+        Page<Signal> firstPage = index.findPage(null, List.of(), PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(40, firstPage.getTotalElements());
+        assertEquals(49.0, firstPage.getContent().get(0).getPriorityScore());
+        assertTrue(firstPage.getContent().stream().noneMatch(s -> "FLAGGED".equals(s.getStatus())));
+
+        Page<Signal> communityPage = index.findPage(communityId, List.of("NEW"), PageRequest.of(1, 5)).orElseThrow();
+        assertEquals(20, communityPage.getTotalElements());
+        assertEquals(List.of(36.0, 34.0, 32.0, 28.0, 26.0),
+            communityPage.getContent().stream().map(Signal::getPriorityScore).toList());
+    }
+
+    @Test
+    void shouldMoveSignalBetweenPartitionsOnUpdateAndRemove() {
+        PriorityIndex index = new PriorityIndex();
+        index.beginRebuild();
+        Signal signal = signal(10, "NEW", communityId);
+        index.completeRebuild(List.of(signal, signal(5, "NEW", communityId)));
+
+        Signal resolved = signal.detachedCopy();
+        resolved.setStatus("RESOLVED");
+        resolved.setPriorityScore(100);
+        index.upsert(resolved);
+
+        Page<Signal> merged = index.findPage(communityId, List.of("NEW", "RESOLVED"), PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(List.of(100.0, 5.0), merged.getContent().stream().map(Signal::getPriorityScore).toList());
+        assertEquals(1, index.findPage(communityId, List.of("NEW"), PageRequest.of(0, 10)).orElseThrow().getTotalElements());
+
+        index.remove(signal.getId());
+        assertEquals(1, index.findPage(communityId, List.of(), PageRequest.of(0, 10)).orElseThrow().getTotalElements());
+    }
+
+    @Test
+    void shouldDeferToDatabaseForOtherOrderingsOrBeforeWarmup() {
+        PriorityIndex index = new PriorityIndex();
+        assertTrue(index.findPage(null, List.of(), PageRequest.of(0, 10)).isEmpty());
+
+        index.beginRebuild();
+        index.completeRebuild(List.of());
+        assertTrue(index.findPage(null, List.of(), PageRequest.of(0, 10, Sort.by("createdAt"))).isEmpty());
+    }
+
+    @Test
+    void shouldBreakScoreTiesInTheDatabaseUuidOrder() {
+        // The high bit set on the first id makes signed and unsigned comparison disagree.
+        UUID high = UUID.fromString("f0000000-0000-4000-8000-000000000000");
+        UUID low = UUID.fromString("10000000-0000-4000-8000-000000000000");
+        UUID lowerHalf = UUID.fromString("10000000-0000-4000-f000-000000000000");
+        PriorityIndex index = new PriorityIndex();
+        index.beginRebuild();
+        index.completeRebuild(List.of(signal(high, 7), signal(lowerHalf, 7), signal(low, 7)));
+
+        Page<Signal> page = index.findPage(null, List.of(), PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(List.of(low, lowerHalf, high), page.getContent().stream().map(Signal::getId).toList());
+    }
+
+    private Signal signal(UUID id, double score) {
+        return new Signal(
+            id, "Signal " + score, "Indexed by unit test", "infrastructure",
+            3, 3, 10, 0, score, null, "NEW", new ArrayList<>(), UUID.randomUUID(), LocalDateTime.now(), communityId
+        );
+    }
+
+    private Signal signal(double score, String status, UUID community) {
+        return new Signal(
+            UUID.randomUUID(), "Signal " + score, "Indexed by unit test", "infrastructure",
+            3, 3, 10, 0, score, null, status, new ArrayList<>(), UUID.randomUUID(), LocalDateTime.now(), community
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.exception.ResourceNotFoundException;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReactionCounterIT {
+
+    private static final int REACTIONS = 500;
+
+    @Autowired
+    private CivicEngagementService engagementService;
+
+    @Autowired
+    private ReactionCounter reactionCounter;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelReactionsAreAllCounted() throws Exception {
+        Signal signal = saveSignal();
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REACTIONS; i++) {
+                String type = i % 5 == 0 ? "concerned" : "support";
+                futures.add(executor.submit(() -> engagementService.react(signal.getId(), "SIGNAL", type)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(Map.of("concerned", 100, "support", 400), reactionCounter.counts(ReactionCounter.Target.SIGNAL, signal.getId()));
+        Map<UUID, Map<String, Integer>> batch = reactionCounter.counts(
+            ReactionCounter.Target.SIGNAL, List.of(signal.getId(), UUID.randomUUID())
+        );
+        assertEquals(1, batch.size());
+        assertEquals(400, batch.get(signal.getId()).get("support"));
+    }
+
+    @Test
+    void rejectsUnknownParentAndMissingType() {
+        UUID signalId = saveSignal().getId();
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> reactionCounter.react(ReactionCounter.Target.SIGNAL, UUID.randomUUID(), "support"));
+        assertThrows(IllegalArgumentException.class,
+            () -> reactionCounter.react(ReactionCounter.Target.SIGNAL, signalId, " "));
+        assertEquals(Map.of(), reactionCounter.counts(ReactionCounter.Target.SIGNAL, signalId));
+    }
+
+    @Test
+    void coalescedReactionsAreVisibleBeforeAndAfterFlush() {
+        ReactionCounter buffered = new ReactionCounter(jdbcTemplate, transactionManager, 3_600_000);
+        try {
+            UUID signalId = saveSignal().getId();
+            buffered.react(ReactionCounter.Target.SIGNAL, signalId, "support");
+            assertEquals(Map.of("support", 2), buffered.react(ReactionCounter.Target.SIGNAL, signalId, "support"));
+            assertEquals(Map.of(), reactionCounter.counts(ReactionCounter.Target.SIGNAL, signalId));
+
+            assertEquals(2, buffered.flush());
+            assertEquals(Map.of("support", 2), reactionCounter.counts(ReactionCounter.Target.SIGNAL, signalId));
+            assertEquals(Map.of("support", 2), buffered.counts(ReactionCounter.Target.SIGNAL, signalId));
+        } finally {
+            buffered.shutdown();
+        }
+    }
+
+    private Signal saveSignal() {
+        return signalRepository.save(new Signal(
+            UUID.randomUUID(), "Broken swing", "Chain snapped", "parks",
+            1, 1, 10, 0, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now()
+        ));
+    }
+}
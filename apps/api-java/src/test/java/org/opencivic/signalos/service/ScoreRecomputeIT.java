@@ -0,0 +1,77 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.ScoreBreakdown;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.web.dto.TrustPacket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScoreRecomputeIT {
+
+    @Autowired
+    private ScoreRecomputeJob scoreRecomputeJob;
+
+    @Autowired
+    private PrioritizationService prioritizationService;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldServeStoredScoreUntilRecomputedToCurrentVersion() {
+        signalRepository.deleteAll();
+        // Stored under an older formula: score and breakdown do not match the current weights.
+        Signal stale = signalRepository.save(new Signal(
+            UUID.randomUUID(), "Collapsed retaining wall", "Debris on the footpath", "infrastructure",
+            4, 3, 200, 50, 1.0, new ScoreBreakdown(1, 0, 0, 0), "NEW", new ArrayList<>(),
+            UUID.randomUUID(), LocalDateTime.now()
+        ));
+
+        assertEquals(1.0, prioritizationService.getSignalById(stale.getId()).orElseThrow().getPriorityScore());
+        TrustPacket packet = prioritizationService.getTrustPacket(stale.getId());
+        assertEquals(120 + 75 + 20 + 10, packet.finalScore());
+
+        assertEquals(1, scoreRecomputeJob.recomputeOutdatedScores());
+
+        Signal rescored = signalRepository.findById(stale.getId()).orElseThrow();
+        assertEquals(ScoringFormula.VERSION, rescored.getScoreVersion());
+        assertEquals(225.0, rescored.getPriorityScore());
+        assertEquals(120.0, rescored.getScoreBreakdown().urgency());
+        assertEquals(0, signalRepository.countByScoreVersionNot(ScoringFormula.VERSION));
+        assertEquals(0, scoreRecomputeJob.recomputeOutdatedScores());
+    }
+
+    @Test
+    void shouldMaterializeScoreOnCreate() {
+        String username = "scorer-" + UUID.randomUUID();
+        User author = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        author.setEnabled(true);
+        author.setVerified(true);
+        userRepository.save(author);
+
+        Signal created = prioritizationService.createSignal(
+            "Unlit pedestrian tunnel", "Lights out for a week", "safety", 5, 4, 100, username
+        );
+
+        Signal stored = signalRepository.findById(created.getId()).orElseThrow();
+        assertEquals(ScoringFormula.VERSION, stored.getScoreVersion());
+        assertEquals(150 + 100 + 10, stored.getPriorityScore());
+        assertTrue(stored.getScoreBreakdown() != null);
+    }
+}
@@ -0,0 +1,54 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TrustHashesTest {
+
+    @Test
+    void shouldHashEmptyAndSingleLeafTreesPerRfc6962() throws Exception {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+            HexFormat.of().formatHex(TrustHashes.merkleRoot(List.of())));
+
+        byte[] leaf = leaf("a");
+        assertEquals(hex(sha256(new byte[] {0x00}, leaf)), hex(TrustHashes.merkleRoot(List.of(leaf))));
+    }
+
+    @Test
+    void shouldSplitAtLargestPowerOfTwoWithoutDuplicatingLeaves() throws Exception {
+        byte[] a = leaf("a");
+        byte[] b = leaf("b");
+        byte[] c = leaf("c");
+        byte[] ha = sha256(new byte[] {0x00}, a);
+        byte[] hb = sha256(new byte[] {0x00}, b);
+        byte[] hc = sha256(new byte[] {0x00}, c);
+        byte[] expected = sha256(new byte[] {0x01}, sha256(new byte[] {0x01}, ha, hb), hc);
+
+        assertEquals(hex(expected), hex(TrustHashes.merkleRoot(List.of(a, b, c))));
+        assertFalse(Arrays.equals(TrustHashes.merkleRoot(List.of(a, b, c)), TrustHashes.merkleRoot(List.of(b, a, c))));
+        assertFalse(Arrays.equals(TrustHashes.merkleRoot(List.of(a, b, c)), TrustHashes.merkleRoot(List.of(a, b, c, c))));
+    }
+
+    private static byte[] leaf(String value) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] sha256(byte[]... parts) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
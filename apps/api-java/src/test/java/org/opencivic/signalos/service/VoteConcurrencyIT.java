@@ -0,0 +1,116 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.exception.ConflictException;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.opencivic.signalos.repository.VoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VoteConcurrencyIT {
+
+    private static final int VOTERS = 2_000;
+    private static final int ATTEMPTS_PER_VOTER = 2;
+
+    @Autowired
+    private PrioritizationService prioritizationService;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Test
+    void parallelVotesCountEachDistinctVoterExactlyOnce() throws Exception {
+        Signal signal = saveSignal(0);
+        List<User> voters = new ArrayList<>(VOTERS);
+        for (int i = 0; i < VOTERS; i++) {
+            String username = "crowd-" + UUID.randomUUID();
+            User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+            user.setEnabled(true);
+            user.setVerified(true);
+            voters.add(user);
+        }
+        userRepository.saveAll(voters);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int attempt = 0; attempt < ATTEMPTS_PER_VOTER; attempt++) {
+                for (User voter : voters) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            prioritizationService.voteForSignal(signal.getId(), voter.getUsername());
+                            accepted.incrementAndGet();
+                        } catch (ConflictException e) {
+                            rejected.incrementAndGet();
+                        }
+                        // Flushing while votes are still arriving exercises the batch against live increments.
+                        if (accepted.get() % 250 == 0) {
+                            voteCounter.flush();
+                        }
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        voteCounter.flush();
+
+        assertEquals(VOTERS, accepted.get());
+        assertEquals(VOTERS * (ATTEMPTS_PER_VOTER - 1), rejected.get());
+        assertEquals(VOTERS, voteRepository.countBySignalId(signal.getId()));
+        Signal stored = signalRepository.findById(signal.getId()).orElseThrow();
+        assertEquals(VOTERS, stored.getCommunityVotes());
+        assertEquals(15.0, stored.getScoreBreakdown().communityVotes());
+        assertEquals(90 + 75 + 1 + 15.0, stored.getPriorityScore(), 1e-9);
+    }
+
+    @Test
+    void mergeAddsDuplicateVotesInPlace() {
+        Signal target = saveSignal(10);
+        Signal duplicate = saveSignal(25);
+
+        Signal merged = prioritizationService.mergeSignals(target.getId(), List.of(duplicate.getId()));
+
+        assertEquals(35, merged.getCommunityVotes());
+        Signal stored = signalRepository.findById(target.getId()).orElseThrow();
+        assertEquals(35, stored.getCommunityVotes());
+        assertEquals(7.0, stored.getScoreBreakdown().communityVotes(), 1e-9);
+        assertEquals(90 + 75 + 1 + 7.0, stored.getPriorityScore(), 1e-9);
+        assertEquals(List.of(duplicate.getId()), merged.getMergedFrom());
+    }
+
+    private Signal saveSignal(int votes) {
+        Signal signal = new Signal(
+            UUID.randomUUID(), "Overflowing bins on market day", "Every Saturday", "environment",
+            3, 3, 10, votes, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now()
+        );
+        return signalRepository.save(ScoringFormula.defaults().materialize(signal));
+    }
+}
@@ -0,0 +1,124 @@
+package org.opencivic.signalos.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.opencivic.signalos.domain.Signal;
+import org.opencivic.signalos.domain.User;
+import org.opencivic.signalos.exception.ConflictException;
+import org.opencivic.signalos.repository.SignalRepository;
+import org.opencivic.signalos.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Not @Transactional: votes are counted after their transaction commits.
+@SpringBootTest
+@ActiveProfiles("test")
+class VoteCounterIT {
+
+    @Autowired
+    private PrioritizationService prioritizationService;
+
+    @Autowired
+    private VoteCounter voteCounter;
+
+    @Autowired
+    private SignalRepository signalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void pendingVotesAreVisibleBeforeFlushAndAppliedInOneBatch() {
+        Signal signal = scoredSignal();
+        for (int i = 0; i < 12; i++) {
+            Signal view = prioritizationService.voteForSignal(signal.getId(), createUser().getUsername());
+            assertEquals(i + 1, view.getCommunityVotes());
+        }
+
+        assertEquals(0, signalRepository.findById(signal.getId()).orElseThrow().getCommunityVotes());
+        Signal beforeFlush = prioritizationService.getSignalById(signal.getId()).orElseThrow();
+        assertEquals(12, beforeFlush.getCommunityVotes());
+        assertEquals(90 + 75 + 1 + 2.4, beforeFlush.getPriorityScore(), 1e-9);
+
+        assertEquals(12, voteCounter.flush());
+
+        Signal stored = signalRepository.findById(signal.getId()).orElseThrow();
+        assertEquals(12, stored.getCommunityVotes());
+        assertEquals(2.4, stored.getScoreBreakdown().communityVotes(), 1e-9);
+        assertEquals(90 + 75 + 1 + 2.4, stored.getPriorityScore(), 1e-9);
+        assertEquals(0, voteCounter.pendingVotes(signal.getId()));
+        assertEquals(12, prioritizationService.getSignalById(signal.getId()).orElseThrow().getCommunityVotes());
+    }
+
+    @Test
+    void duplicateVoteIsRejectedAndNotCounted() {
+        Signal signal = scoredSignal();
+        String username = createUser().getUsername();
+        prioritizationService.voteForSignal(signal.getId(), username);
+
+        assertThrows(ConflictException.class, () -> prioritizationService.voteForSignal(signal.getId(), username));
+        assertEquals(1, voteCounter.pendingVotes(signal.getId()));
+        voteCounter.flush();
+        assertEquals(1, signalRepository.findById(signal.getId()).orElseThrow().getCommunityVotes());
+    }
+
+    @Test
+    void flushedSignalsAreNoLongerTracked() {
+        Signal signal = scoredSignal();
+        prioritizationService.voteForSignal(signal.getId(), createUser().getUsername());
+        assertTrue(voteCounter.tracks(signal.getId()));
+
+        voteCounter.flush();
+
+        assertFalse(voteCounter.tracks(signal.getId()));
+        prioritizationService.voteForSignal(signal.getId(), createUser().getUsername());
+        assertEquals(1, voteCounter.pendingVotes(signal.getId()));
+        voteCounter.flush();
+        assertEquals(2, signalRepository.findById(signal.getId()).orElseThrow().getCommunityVotes());
+    }
+
+    @Test
+    void mergeMovesFlushedAndPendingVotesOnce() {
+        Signal target = scoredSignal();
+        Signal duplicate = scoredSignal();
+        for (int i = 0; i < 3; i++) {
+            prioritizationService.voteForSignal(duplicate.getId(), createUser().getUsername());
+        }
+        voteCounter.flush();
+        for (int i = 0; i < 2; i++) {
+            prioritizationService.voteForSignal(duplicate.getId(), createUser().getUsername());
+        }
+
+        Signal merged = prioritizationService.mergeSignals(target.getId(), List.of(duplicate.getId()));
+
+        assertEquals(5, merged.getCommunityVotes());
+        assertFalse(voteCounter.tracks(duplicate.getId()));
+        voteCounter.flush();
+        assertEquals(5, signalRepository.findById(target.getId()).orElseThrow().getCommunityVotes());
+    }
+
+    private Signal scoredSignal() {
+        Signal signal = new Signal(
+            UUID.randomUUID(), "Broken swing in the park", "Chain snapped", "safety",
+            3, 3, 10, 0, 0.0, null, "NEW", new ArrayList<>(), null, LocalDateTime.now()
+        );
+        return signalRepository.save(ScoringFormula.defaults().materialize(signal));
+    }
+
+    private User createUser() {
+        String username = "voter-" + UUID.randomUUID();
+        User user = new User(username, "{noop}pw", username + "@test.dev", "ROLE_CITIZEN");
+        user.setEnabled(true);
+        user.setVerified(true);
+        return userRepository.save(user);
+    }
+}
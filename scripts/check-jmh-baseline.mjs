@@ -0,0 +1,103 @@
+#!/usr/bin/env node
+
+import fs from "node:fs";
+import os from "node:os";
+import path from "node:path";
+
+const root = process.cwd();
+const args = process.argv.slice(2);
+const update = args.includes("--update");
+const resultArg = args.find((arg) => arg.startsWith("--result="));
+const resultPath = resultArg
+  ? path.resolve(root, resultArg.slice("--result=".length))
+  : path.join(root, "apps", "api-java", "target", "jmh-result.json");
+const baselinePath = path.join(root, "apps", "api-java", "src", "jmh", "baseline", "jmh-baseline.json");
+
+if (!fs.existsSync(resultPath)) {
+  console.error(`Missing JMH result: ${path.relative(root, resultPath)}`);
+  console.error("Run: (cd apps/api-java && mvn -Pbenchmarks test-compile exec:exec)");
+  process.exit(1);
+}
+
+const results = JSON.parse(fs.readFileSync(resultPath, "utf8"));
+if (!Array.isArray(results) || results.length === 0) {
+  console.error(`JMH result has no benchmark runs: ${path.relative(root, resultPath)}`);
+  process.exit(1);
+}
+
+const baseline = fs.existsSync(baselinePath)
+  ? JSON.parse(fs.readFileSync(baselinePath, "utf8"))
+  : { tolerance: 0.25, environment: null, benchmarks: {} };
+
+// Same key shape as the baseline: fully qualified method, then sorted @Param values.
+const keyOf = (run) => {
+  const params = Object.entries(run.params ?? {})
+    .sort(([a], [b]) => a.localeCompare(b))
+    .map(([name, value]) => `${name}=${value}`);
+  return params.length > 0 ? `${run.benchmark}[${params.join(",")}]` : run.benchmark;
+};
+
+if (update) {
+  for (const run of results) {
+    baseline.benchmarks[keyOf(run)] = {
+      score: Number(run.primaryMetric.score.toPrecision(4)),
+      unit: run.primaryMetric.scoreUnit
+    };
+  }
+  baseline.environment = {
+    jdk: results[0]?.jdkVersion ?? null,
+    vm: results[0]?.vmName ?? null,
+    os: `${os.type()} ${os.release()} ${os.arch()}`,
+    cpus: os.cpus().length,
+    recordedAt: new Date().toISOString().slice(0, 10)
+  };
+  baseline.benchmarks = Object.fromEntries(Object.entries(baseline.benchmarks).sort(([a], [b]) => a.localeCompare(b)));
+  fs.mkdirSync(path.dirname(baselinePath), { recursive: true });
+  fs.writeFileSync(baselinePath, `${JSON.stringify(baseline, null, 2)}\n`);
+  console.log(`Baseline updated with ${results.length} benchmark(s): ${path.relative(root, baselinePath)}`);
+  process.exit(0);
+}
+
+// A gate without recorded numbers passes everything, so a missing baseline is a failure, not a skip.
+if (!fs.existsSync(baselinePath) || !baseline.environment) {
+  console.error(`No JMH baseline recorded: ${path.relative(root, baselinePath)}`);
+  console.error("Record one on the reference machine with: npm run bench:java:baseline");
+  process.exit(1);
+}
+
+const tolerance = Number(baseline.tolerance ?? 0.25);
+const issues = [];
+
+for (const run of results) {
+  const key = keyOf(run);
+  const expected = baseline.benchmarks[key];
+  const actual = run.primaryMetric.score;
+  const unit = run.primaryMetric.scoreUnit;
+  if (!expected || typeof expected.score !== "number") {
+    issues.push(`${key}: no baseline score recorded`);
+    continue;
+  }
+  if (expected.unit !== unit) {
+    issues.push(`${key}: unit changed from ${expected.unit} to ${unit}`);
+    continue;
+  }
+  // All benchmarks report average time, so higher is slower.
+  const ratio = actual / expected.score;
+  const line = `${key}: ${actual.toFixed(3)} ${unit} (baseline ${expected.score} ${unit}, ${((ratio - 1) * 100).toFixed(1)}%)`;
+  if (ratio > 1 + tolerance) {
+    issues.push(line);
+  } else {
+    console.log(`ok   ${line}`);
+  }
+}
+
+if (issues.length > 0) {
+  console.error(`JMH regressions beyond ${(tolerance * 100).toFixed(0)}% or benchmarks without a baseline:`);
+  for (const issue of issues) {
+    console.error(`- ${issue}`);
+  }
+  process.exit(1);
+}
+
+const recorded = baseline.environment;
+console.log(`JMH results are within the baseline recorded ${recorded.recordedAt} on ${recorded.jdk} (${recorded.os}, ${recorded.cpus} cpus).`);
@@ -1,11 +1,22 @@
 import { readFileSync, writeFileSync } from "node:fs";
 
-function calculateBreakdown(signal) {
+// Mirrors ScoringProfile.DEFAULT in the API; communities may override it server-side.
+const DEFAULT_PROFILE = {
+  name: "default",
+  urgencyWeight: 30,
+  impactWeight: 25,
+  peopleDivisor: 10,
+  peopleCap: 30,
+  votesDivisor: 5,
+  votesCap: 15
+};
+
+function calculateBreakdown(signal, profile = DEFAULT_PROFILE) {
   return {
-    urgency: signal.urgency * 30,
-    impact: signal.impact * 25,
-    affectedPeople: Math.min(signal.affectedPeople / 10, 30),
-    communityVotes: Math.min(signal.communityVotes / 5, 15)
+    urgency: signal.urgency * profile.urgencyWeight,
+    impact: signal.impact * profile.impactWeight,
+    affectedPeople: Math.min(signal.affectedPeople / profile.peopleDivisor, profile.peopleCap),
+    communityVotes: Math.min(signal.communityVotes / profile.votesDivisor, profile.votesCap)
   };
 }
 